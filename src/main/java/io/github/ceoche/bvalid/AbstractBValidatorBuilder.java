@@ -16,6 +16,7 @@
 package io.github.ceoche.bvalid;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * This class contains the common logic for all BValidatorBuilders
@@ -36,6 +37,16 @@ public abstract class AbstractBValidatorBuilder<T> implements BValidatorBuilder<
      */
     protected String businessObjectName = "";
 
+    /**
+     * Registry holding the validators that can be reused while building, null if none.
+     */
+    BValidatorRegistry registry;
+
+    /**
+     * True to build the validators of the members on first encounter of their type.
+     */
+    boolean lazy;
+
     /**
      * Constructor of AbstractBValidatorBuilder
      *
@@ -49,7 +60,7 @@ public abstract class AbstractBValidatorBuilder<T> implements BValidatorBuilder<
      * {@inheritDoc}
      */
     public boolean isEmpty() {
-        return getRules().isEmpty() && getMembers().isEmpty();
+        return getRules().isEmpty() && getMembers().isEmpty() && getProperties().stream().allMatch(PropertyRulesBuilder::isEmpty);
     }
 
     /**
@@ -73,30 +84,74 @@ public abstract class AbstractBValidatorBuilder<T> implements BValidatorBuilder<
         return this;
     }
 
+    /**
+     * Reuse the validators already built by the given registry for the annotated members of the graph, instead of
+     * building them again. Sub-builders without a registry of their own use this one while building, they are not
+     * modified.
+     *
+     * @param registry registry of the validators to reuse, null to build the whole graph.
+     * @return this instance of BValidatorBuilder.
+     */
+    public AbstractBValidatorBuilder<T> setRegistry(BValidatorRegistry registry) {
+        this.registry = registry;
+        return this;
+    }
+
+    /**
+     * <p>Build the validators of the members only when a value of their type is validated for the first time,
+     * instead of building the whole graph of validators up front. Startup time and memory then depend on the part
+     * of the model that is actually validated. Validators built on first encounter are shared by all the validations
+     * of the built validator, and can be used concurrently. Sub-builders are built in lazy mode while building this
+     * one, they are not modified.</p>
+     * <p>Note that in lazy mode, a member type that cannot be validated is only reported when a value of this type is
+     * first validated.</p>
+     *
+     * @param lazy true to build the validators of the members on first encounter, false to build them all at once.
+     * @return this instance of BValidatorBuilder.
+     */
+    public AbstractBValidatorBuilder<T> setLazy(boolean lazy) {
+        this.lazy = lazy;
+        return this;
+    }
+
     abstract Set<BusinessRuleObject<T>> getRules();
 
     abstract Set<BusinessMemberBuilder<T, ?>> getMembers();
 
-    final BValidator<T> build(Map<AbstractBValidatorBuilder<?>, BValidator<?>> visitedBuilders) {
+    List<PropertyRulesBuilder<T, ?>> getProperties() {
+        return Collections.emptyList();
+    }
+
+    /**
+     * Build the validator of the whole graph, with the given registry if this builder has none. The builders of the
+     * graph are not modified, the registry and the lazy mode are only handed down to the sub-builders while building.
+     *
+     * @param inheritedRegistry registry to use if this builder has none, may be null.
+     * @return the validator of the graph.
+     */
+    final BValidator<T> buildGraph(BValidatorRegistry inheritedRegistry) {
+        BValidatorRegistry graphRegistry = registry != null ? registry : inheritedRegistry;
+        GraphBuild graph = new GraphBuild(graphRegistry != null ? graphRegistry.getRuleGroups() : new RuleGroups());
+        return build(graph, inheritedRegistry, false);
+    }
+
+    private BValidator<T> build(GraphBuild graph, BValidatorRegistry inheritedRegistry, boolean inheritedLazy) {
         if (type == null) {
             throw new IllegalStateException("Type is not set");
         }
+        final BValidatorRegistry graphRegistry = registry != null ? registry : inheritedRegistry;
+        final boolean graphLazy = lazy || inheritedLazy;
         Set<BusinessMemberObject<T, ?>> businessMemberObjects = new LinkedHashSet<>();
-        BValidator<T> validator = new BValidator<>(getRules(), businessMemberObjects, getBusinessObjectName());
-        visitedBuilders.put(this, validator);
+        BValidator<T> validator = new BValidator<>(getRules(), getPropertyRules(graph.ruleGroups), businessMemberObjects, getBusinessObjectName(), graph.ruleGroups);
+        graph.validators.put(this, validator);
         for (BusinessMemberBuilder<T, ?> businessMemberBuilder : getMembers()) {
-            if (!allBuildersAreEmpty(businessMemberBuilder.getValidatorBuilders())) {
-                AbstractBValidatorBuilder<?>[] subValidatorBuilders = Arrays
-                        .stream(businessMemberBuilder.getValidatorBuilders())
-                        .map(bValidatorBuilder -> (AbstractBValidatorBuilder<?>) bValidatorBuilder)
-                        .toArray(AbstractBValidatorBuilder[]::new);
-                BusinessMemberObject<T, Object> businessMemberObject = new BusinessMemberObject<>(businessMemberBuilder.getName(), businessMemberBuilder.getGetter(), new HashMap<>());
-                for (AbstractBValidatorBuilder<?> subValidatorBuilder : subValidatorBuilders) {
-                    if (!visitedBuilders.containsKey(subValidatorBuilder)) {
-                        businessMemberObject.addValidator(subValidatorBuilder.type, subValidatorBuilder.build(visitedBuilders));
-                    } else {
-                        businessMemberObject.addValidator(subValidatorBuilder.type, visitedBuilders.get(subValidatorBuilder));
-                    }
+            if (graphLazy) {
+                businessMemberObjects.add(buildLazyMember(businessMemberBuilder, graph, graphRegistry));
+            } else if (!allBuildersAreEmpty(businessMemberBuilder.getValidatorBuilders())) {
+                BusinessMemberObject<T, Object> businessMemberObject = new BusinessMemberObject<>(businessMemberBuilder.getName(), businessMemberBuilder.getGetter(), businessMemberBuilder.isMapKeys(), new HashMap<>());
+                for (BValidatorBuilder<?> bValidatorBuilder : businessMemberBuilder.getValidatorBuilders()) {
+                    AbstractBValidatorBuilder<?> subValidatorBuilder = (AbstractBValidatorBuilder<?>) bValidatorBuilder;
+                    businessMemberObject.addValidator(subValidatorBuilder.type, buildSubValidator(subValidatorBuilder, graph, graphRegistry, false));
                 }
                 businessMemberObjects.add(businessMemberObject);
 
@@ -109,13 +164,53 @@ public abstract class AbstractBValidatorBuilder<T> implements BValidatorBuilder<
     }
 
 
+    private static BValidator<?> buildSubValidator(AbstractBValidatorBuilder<?> subValidatorBuilder, GraphBuild graph,
+                                                   BValidatorRegistry registry, boolean lazy) {
+        BValidator<?> registeredValidator = registry != null ? registry.peek(subValidatorBuilder, graph.ruleGroups) : null;
+        if (registeredValidator != null) {
+            return registeredValidator;
+        } else if (!graph.validators.containsKey(subValidatorBuilder)) {
+            return subValidatorBuilder.build(graph, registry, lazy);
+        } else {
+            return graph.validators.get(subValidatorBuilder);
+        }
+    }
+
+    // sub-validators are built on first encounter, under the lock of the graph built by the root build. Each
+    // supplier is dropped by the member once resolved, the builders are released when all of them are.
+    private static <T> BusinessMemberObject<T, Object> buildLazyMember(BusinessMemberBuilder<T, ?> businessMemberBuilder, GraphBuild graph,
+                                                                       BValidatorRegistry registry) {
+        BusinessMemberObject<T, Object> businessMemberObject = new BusinessMemberObject<>(businessMemberBuilder.getName(), businessMemberBuilder.getGetter(), businessMemberBuilder.isMapKeys(), new ConcurrentHashMap<>());
+        Class<?>[] types = businessMemberBuilder.getValidatorTypes();
+        for (int i = 0; i < types.length; i++) {
+            int position = i;
+            businessMemberObject.addValidatorSupplier(types[i], () -> {
+                synchronized (graph) {
+                    AbstractBValidatorBuilder<?> subValidatorBuilder = (AbstractBValidatorBuilder<?>) businessMemberBuilder.getValidatorBuilders().get(position);
+                    return buildSubValidator(subValidatorBuilder, graph, registry, true);
+                }
+            });
+        }
+        return businessMemberObject;
+    }
+
+    private List<PropertyRulesObject<T, ?>> getPropertyRules(RuleGroups ruleGroups) {
+        List<PropertyRulesObject<T, ?>> propertyRules = new ArrayList<>();
+        for (PropertyRulesBuilder<T, ?> property : getProperties()) {
+            if (!property.isEmpty()) {
+                propertyRules.add(property.build(ruleGroups));
+            }
+        }
+        return propertyRules;
+    }
+
     private void assertBuilderNotEmpty() {
         if (isEmpty()) {
             throw new IllegalBusinessObjectException("Rules or members must be provided to build a validator.");
         }
     }
 
-    private boolean allBuildersAreEmpty(BValidatorBuilder<?>[] bValidatorBuilders) {
+    private boolean allBuildersAreEmpty(List<? extends BValidatorBuilder<?>> bValidatorBuilders) {
         for (BValidatorBuilder<?> bValidatorBuilder : bValidatorBuilders) {
             if (!bValidatorBuilder.isEmpty()) {
                 return false;
@@ -124,5 +219,18 @@ public abstract class AbstractBValidatorBuilder<T> implements BValidatorBuilder<
         return true;
     }
 
+    /**
+     * State shared by all the validators of a graph while it is built: the validators already built per builder, to
+     * stop on cycles, and the rule groups declared by the graph.
+     */
+    private static final class GraphBuild {
+
+        private final Map<AbstractBValidatorBuilder<?>, BValidator<?>> validators = new HashMap<>();
+
+        private final RuleGroups ruleGroups;
 
+        private GraphBuild(RuleGroups ruleGroups) {
+            this.ruleGroups = ruleGroups;
+        }
+    }
 }
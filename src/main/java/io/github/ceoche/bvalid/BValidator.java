@@ -17,6 +17,9 @@
 package io.github.ceoche.bvalid;
 
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * The {@link BValidator} provides method to validate business rules and members of POJO business
@@ -27,19 +30,206 @@ import java.util.*;
  */
 public class BValidator<T> {
 
-    private final Set<BusinessRuleObject<T>> rules;
+    // marker of a missing element in a container, elements may be null
+    private static final Object NOT_FOUND = new Object();
+
+    private final BusinessRuleObject<T>[] rules;
+
+    private final BatchRuleObject<T>[] batchRules;
+
+    private final RuleGroups ruleGroups;
+
+    // groups of each rule and of each batch rule, as masks of the rule groups of the graph
+    private final long[] ruleMasks;
+
+    private final long[] batchRuleMasks;
+
+    // largest chunk size of the batch rules, 0 without batch rules
+    private final int batchWindow;
+
+    // positions of the prerequisites of each batch rule among the batch rules, null if one of them is not a batch rule
+    private final int[][] batchPrerequisites;
+
+    // positions of the prerequisites of each rule, null if no rule has prerequisites
+    private final int[][] prerequisites;
+
+    private final PropertyRulesObject<T, ?>[] properties;
 
     private final Set<BusinessMemberObject<T, ?>> members;
 
     private final String businessObjectName;
 
+    private final ResultRetention retention;
+
+    // names of the selected groups, null to select all the rules
+    private final String[] selectedGroupNames;
+
+    private final boolean failFast;
+
+    private final boolean adaptive;
+
+    private final RuleScheduler scheduler;
+
+    private volatile BusinessMemberObject<T, ?>[] memberTable;
+
     /**
      * Hidden constructor. Use {@link BValidatorManualBuilder} or {@link BValidatorAnnotationBuilder} can create a {@link BValidator}.
      */
-    BValidator(Set<BusinessRuleObject<T>> rules, Set<BusinessMemberObject<T, ?>> members, String businessObjectName) {
+    @SuppressWarnings("unchecked")
+    BValidator(Set<BusinessRuleObject<T>> rules, List<PropertyRulesObject<T, ?>> properties, Set<BusinessMemberObject<T, ?>> members, String businessObjectName, RuleGroups ruleGroups) {
         this.businessObjectName = businessObjectName;
-        this.rules = rules;
+        // the array only holds the rules of the set, all of type BusinessRuleObject<T>
+        this.rules = sortByPrerequisites((BusinessRuleObject<T>[]) rules.toArray(new BusinessRuleObject<?>[0]));
+        this.prerequisites = getPrerequisitePositions(this.rules);
+        this.batchRules = Arrays.stream(this.rules).filter(BatchRuleObject.class::isInstance).toArray(BatchRuleObject[]::new);
+        this.batchPrerequisites = getBatchPrerequisites(this.rules, this.prerequisites, this.batchRules.length);
+        this.ruleGroups = ruleGroups;
+        this.ruleMasks = new long[this.rules.length];
+        for (int position = 0; position < this.rules.length; position++) {
+            this.ruleMasks[position] = ruleGroups.declare(this.rules[position].getGroups());
+        }
+        this.batchRuleMasks = new long[this.batchRules.length];
+        for (int position = 0; position < this.batchRules.length; position++) {
+            this.batchRuleMasks[position] = ruleGroups.declare(this.batchRules[position].getGroups());
+        }
+        this.batchWindow = Arrays.stream(this.batchRules).mapToInt(BatchRuleObject::getChunkSize).max().orElse(0);
+        this.properties = (PropertyRulesObject<T, ?>[]) properties.toArray(new PropertyRulesObject<?, ?>[0]);
         this.members = members;
+        this.retention = ResultRetention.all();
+        this.selectedGroupNames = null;
+        this.failFast = false;
+        this.adaptive = false;
+        this.scheduler = new RuleScheduler(this.rules);
+    }
+
+    private BValidator(BValidator<T> validator, ResultRetention retention, String[] selectedGroupNames, boolean failFast, boolean adaptive) {
+        this.businessObjectName = validator.businessObjectName;
+        this.rules = validator.rules;
+        this.prerequisites = validator.prerequisites;
+        this.batchRules = validator.batchRules;
+        this.ruleGroups = validator.ruleGroups;
+        this.ruleMasks = validator.ruleMasks;
+        this.batchRuleMasks = validator.batchRuleMasks;
+        this.batchWindow = validator.batchWindow;
+        this.batchPrerequisites = validator.batchPrerequisites;
+        this.properties = validator.properties;
+        this.members = validator.members;
+        this.retention = retention;
+        this.selectedGroupNames = selectedGroupNames;
+        this.failFast = failFast;
+        this.adaptive = adaptive;
+        this.scheduler = validator.scheduler;
+    }
+
+    String getBusinessObjectName() {
+        return businessObjectName;
+    }
+
+    Set<BusinessMemberObject<T, ?>> getMembers() {
+        return members;
+    }
+
+    RuleGroups getRuleGroups() {
+        return ruleGroups;
+    }
+
+    /**
+     * Get the groups of the rules of this validator and of all the validators reachable from its members.
+     *
+     * @param visitedValidators validators already visited, to stop on cycles.
+     * @return the mask of the groups, {@link RuleGroups#ALL} if some member validators are not built yet.
+     */
+    long collectGroups(Set<BValidator<?>> visitedValidators) {
+        long groups = 0;
+        for (long ruleMask : ruleMasks) {
+            groups |= ruleMask;
+        }
+        for (PropertyRulesObject<T, ?> property : properties) {
+            groups |= property.getGroups();
+        }
+        for (BusinessMemberObject<T, ?> member : members) {
+            groups |= member.collectGroups(visitedValidators);
+        }
+        return groups;
+    }
+
+    /**
+     * Get a view of this validator that applies the given {@link ResultRetention} by default. Rules and members are
+     * shared with this validator.
+     *
+     * @param retention policy defining which rule results are kept in the reports.
+     * @return a validator using the given retention policy.
+     * @throws NullPointerException if the retention policy is null.
+     */
+    public BValidator<T> withRetention(final ResultRetention retention) {
+        return new BValidator<>(this, Objects.requireNonNull(retention, "Retention policy must not be null"), selectedGroupNames, failFast, adaptive);
+    }
+
+    /**
+     * Get a view of this validator that only runs the rules of the given groups, in this object and in its members.
+     * Members holding no rule of these groups are skipped entirely: their getter is not even called. Rules declared
+     * without group belong to {@link BusinessRule#DEFAULT_GROUP}. Rules and members are shared with this validator.
+     *
+     * @param groups the groups of the rules to run.
+     * @return a validator running only the rules of the given groups.
+     * @throws IllegalArgumentException if no group is given, or if a group is null.
+     * @see #validate(Object, String...)
+     */
+    public BValidator<T> forGroups(final String... groups) {
+        if (groups == null || groups.length == 0) {
+            throw new IllegalArgumentException("At least one group must be selected");
+        }
+        for (String group : groups) {
+            if (group == null) {
+                throw new IllegalArgumentException("Selected group must not be null");
+            }
+        }
+        return new BValidator<>(this, retention, groups.clone(), failFast, adaptive);
+    }
+
+    /**
+     * Get a view of this validator that stops at the first invalid rule, for instance to reject a request as soon as
+     * possible. The result only holds the rules run until then. Rules of each object are run by increasing cost
+     * hint, members and elements are then validated in order.
+     *
+     * @return a validator stopping at the first failure.
+     * @see #failFast(boolean)
+     * @see BusinessRule#cost()
+     */
+    public BValidator<T> failFast() {
+        return failFast(false);
+    }
+
+    /**
+     * Get a view of this validator that stops at the first invalid rule. In adaptive mode, the cost and the failure
+     * rate of the rules are sampled on the validations, and the rules of each object are reordered so that cheap and
+     * often invalid rules run first. Cost hints give the order until statistics are available. A rule with
+     * prerequisites keeps its place in this order, its prerequisites not run yet are run just before it. Statistics
+     * are shared by all the views of the validator. To keep measuring the rules ordered after frequent failures, some
+     * sampled validations also run the rules after the first failure, without reporting them. Batch rules and property
+     * rules are not measured: batch rules are ordered by their cost hint among the measured rules, and property rules
+     * are always run by increasing cost hint.
+     *
+     * @param adaptive true to order the rules with sampled statistics, false to order them by cost hint only.
+     * @return a validator stopping at the first failure.
+     * @see BusinessRule#cost()
+     */
+    public BValidator<T> failFast(final boolean adaptive) {
+        return new BValidator<>(this, retention, selectedGroupNames, true, adaptive);
+    }
+
+    /**
+     * Verify if an object is valid, running only the rules of the given groups. For instance, a draft may only be
+     * checked against structural rules while a submission is checked against all of them.
+     *
+     * @param object business object to validate.
+     * @param groups the groups of the rules to run.
+     * @return an {@link ObjectResult} that hold the results of the rules of the given groups.
+     * @throws IllegalArgumentException if no group is given, or if a group is null.
+     * @see #forGroups(String...)
+     */
+    public ObjectResult validate(final T object, final String... groups) {
+        return forGroups(groups).validate(object);
     }
 
     /**
@@ -59,7 +249,27 @@ public class BValidator<T> {
      */
 
     public ObjectResult validate(final T object) {
-        return this.validate(object, businessObjectName, new HashSet<>());
+        return this.validate(object, retention);
+    }
+
+    /**
+     * Verify if an object of type T is valid, keeping in the {@link ObjectResult} only the rule results
+     * allowed by the given {@link ResultRetention}.
+     *
+     * @param object    business object to validate.
+     * @param retention policy defining which rule results are kept in the report.
+     * @return an {@link ObjectResult} that hold the retained business rule and member results.
+     * @throws InvocationException            if an exception is raised while invoking a
+     *                                        {@link java.util.function.Predicate} or a {@link java.util.function.Function}.
+     *                                        function. The original exception will be wrapped as cause.
+     * @throws IllegalBusinessObjectException if an error occurs while validating a member (Wrong return type,...)
+     * @throws NullPointerException           if the given object is null.
+     * @see #validate(Object)
+     */
+    public ObjectResult validate(final T object, final ResultRetention retention) {
+        ObjectResultCollector collector = new ObjectResultCollector(retention);
+        this.validate(object, businessObjectName, -1, selectGroups(), collector, prepare(new ValidationState()));
+        return collector.getResults().get(0);
     }
 
 
@@ -79,7 +289,98 @@ public class BValidator<T> {
      * @throws NullPointerException           if the given object is null.
      */
     public List<ObjectResult> validate(final Collection<T> collection) {
-        return this.validate(collection, businessObjectName, new HashSet<>());
+        return this.validate(collection, retention);
+    }
+
+    /**
+     * Verify if a collection of objects is valid, keeping in the {@link ObjectResult} only the rule results
+     * allowed by the given {@link ResultRetention}. A bounded retention applies to the whole collection.
+     *
+     * @param collection collection of business objects to validate.
+     * @param retention  policy defining which rule results are kept in the reports.
+     * @return an {@link ObjectResult} per element that hold the retained business rule and member results.
+     * @throws InvocationException            if an exception is raised while invoking a
+     *                                        {@link java.util.function.Predicate} or a {@link java.util.function.Function}.
+     *                                        function. The original exception will be wrapped as cause.
+     * @throws IllegalBusinessObjectException if an error occurs while validating a member (Wrong return type,...)
+     * @throws NullPointerException           if the given object is null.
+     * @see #validate(Collection)
+     */
+    public List<ObjectResult> validate(final Collection<T> collection, final ResultRetention retention) {
+        ObjectResultCollector collector = new ObjectResultCollector(retention);
+        this.validate(collection, businessObjectName, selectGroups(), collector, prepare(new ValidationState()));
+        return collector.getResults();
+    }
+
+    /**
+     * Verify if a collection of objects is valid and hand over the {@link ObjectResult} of each element to the
+     * given consumer as soon as the element is validated. Results are not kept by the validator, so a large
+     * collection can be validated and reported incrementally.
+     *
+     * @param collection collection of business objects to validate.
+     * @param consumer   receiver of the result of each element, in the iteration order of the collection.
+     * @throws InvocationException            if an exception is raised while invoking a
+     *                                        {@link java.util.function.Predicate} or a {@link java.util.function.Function}.
+     *                                        function. The original exception will be wrapped as cause.
+     * @throws IllegalBusinessObjectException if an error occurs while validating a member (Wrong return type,...)
+     * @throws NullPointerException           if the given object or consumer is null.
+     * @see #validate(Collection)
+     */
+    public void validate(final Collection<T> collection, final Consumer<ObjectResult> consumer) {
+        ObjectResultCollector collector = new ObjectResultCollector(retention, Objects.requireNonNull(consumer));
+        this.validate(collection, businessObjectName, selectGroups(), collector, prepare(new ValidationState()));
+    }
+
+    /**
+     * Verify if an object of type T is valid and record the outcomes in the given {@link ValidationSummary}
+     * instead of building an {@link ObjectResult}. The summary can be shared by several threads.
+     *
+     * @param object  business object to validate.
+     * @param summary accumulator of the validation statistics.
+     * @throws InvocationException            if an exception is raised while invoking a
+     *                                        {@link java.util.function.Predicate} or a {@link java.util.function.Function}.
+     *                                        function. The original exception will be wrapped as cause.
+     * @throws IllegalBusinessObjectException if an error occurs while validating a member (Wrong return type,...)
+     * @throws NullPointerException           if the given object or summary is null.
+     */
+    public void validate(final T object, final ValidationSummary summary) {
+        this.validate(object, businessObjectName, -1, selectGroups(), summary.collector(), prepare(new ValidationState()));
+    }
+
+    /**
+     * Verify if a collection of objects is valid and record the outcomes in the given {@link ValidationSummary}
+     * instead of building {@link ObjectResult}. Each element counts as a validation.
+     *
+     * @param collection collection of business objects to validate.
+     * @param summary    accumulator of the validation statistics.
+     * @throws InvocationException            if an exception is raised while invoking a
+     *                                        {@link java.util.function.Predicate} or a {@link java.util.function.Function}.
+     *                                        function. The original exception will be wrapped as cause.
+     * @throws IllegalBusinessObjectException if an error occurs while validating a member (Wrong return type,...)
+     * @throws NullPointerException           if the given object or summary is null.
+     */
+    public void validate(final Collection<T> collection, final ValidationSummary summary) {
+        this.validate(collection, businessObjectName, selectGroups(), summary.collector(), prepare(new ValidationState()));
+    }
+
+    /**
+     * Verify if an object is valid and record the verdict and the violations in the given {@link ValidationScratch},
+     * which is reset first. The scratch is filled in place, so once warmed up, validating a valid object does not
+     * allocate anything. Intended for hot loops, with one scratch per thread.
+     *
+     * @param object  business object to validate.
+     * @param scratch reusable holder of the outcomes.
+     * @return the given scratch, holding the outcomes of this validation.
+     * @throws InvocationException            if an exception is raised while invoking a
+     *                                        {@link java.util.function.Predicate} or a {@link java.util.function.Function}.
+     *                                        function. The original exception will be wrapped as cause.
+     * @throws IllegalBusinessObjectException if an error occurs while validating a member (Wrong return type,...)
+     * @throws NullPointerException           if the given object or scratch is null.
+     */
+    public ValidationScratch validate(final T object, final ValidationScratch scratch) {
+        scratch.reset();
+        this.validate(object, businessObjectName, -1, selectGroups(), scratch.collector(), prepare(scratch.state()));
+        return scratch;
     }
 
     /**
@@ -98,148 +399,757 @@ public class BValidator<T> {
      * @throws NullPointerException           if the given object is null.
      */
     public List<ObjectResult> validate(final T[] array) {
-        return this.validate(array, businessObjectName, new HashSet<>());
+        return this.validate(Arrays.asList(array));
+    }
+
+    /**
+     * Verify if a collection of objects is valid and store the outcomes in a memory-compact
+     * {@link CompactResults}. Rule outcomes are kept as bits indexed against the rule table of each
+     * validator, {@link ObjectResult} and {@link RuleResult} are only materialized when accessed.
+     * Prefer this method over {@link #validate(Collection)} for massive batches.
+     *
+     * @param collection collection of business objects to validate.
+     * @return a {@link CompactResults} holding one result per element of the collection.
+     * @throws InvocationException            if an exception is raised while invoking a
+     *                                        {@link java.util.function.Predicate} or a {@link java.util.function.Function}.
+     *                                        function. The original exception will be wrapped as cause.
+     * @throws IllegalBusinessObjectException if an error occurs while validating a member (Wrong return type,...)
+     * @throws NullPointerException           if the given object is null.
+     */
+    public CompactResults validateCompact(final Collection<T> collection) {
+        CompactResults results = new CompactResults();
+        this.validate(collection, businessObjectName, selectGroups(), results.collector(), prepare(new ValidationState()));
+        return results.trim();
+    }
+
+    /**
+     * Verify if an array of objects is valid and store the outcomes in a memory-compact {@link CompactResults}.
+     *
+     * @param array array of business objects to validate.
+     * @return a {@link CompactResults} holding one result per element of the array.
+     * @throws InvocationException            if an exception is raised while invoking a
+     *                                        {@link java.util.function.Predicate} or a {@link java.util.function.Function}.
+     *                                        function. The original exception will be wrapped as cause.
+     * @throws IllegalBusinessObjectException if an error occurs while validating a member (Wrong return type,...)
+     * @throws NullPointerException           if the given object is null.
+     * @see #validateCompact(Collection)
+     */
+    public CompactResults validateCompact(final T[] array) {
+        return this.validateCompact(Arrays.asList(array));
+    }
+
+    /**
+     * Verify if an object is valid and only keep its violations, grouped by rule and by path pattern. A rule
+     * failing on many elements of a collection is reported once, with the indexes of the failing elements.
+     * No {@link ObjectResult} is built, the memory footprint depends on the number of distinct violations.
+     *
+     * @param object business object to validate.
+     * @return the groups of violations, empty if the object is valid.
+     * @throws InvocationException            if an exception is raised while invoking a
+     *                                        {@link java.util.function.Predicate} or a {@link java.util.function.Function}.
+     *                                        function. The original exception will be wrapped as cause.
+     * @throws IllegalBusinessObjectException if an error occurs while validating a member (Wrong return type,...)
+     * @throws NullPointerException           if the given object is null.
+     * @see ObjectResult#getViolationGroups()
+     */
+    public List<ViolationGroup> validateAggregated(final T object) {
+        ViolationAggregator aggregator = new ViolationAggregator();
+        this.validate(object, businessObjectName, -1, selectGroups(), aggregator, prepare(new ValidationState()));
+        return aggregator.getGroups();
+    }
+
+    /**
+     * Verify if a collection of objects is valid and only keep the violations, grouped by rule and by path pattern.
+     * The elements of the collection are grouped as well, for instance under {@code person[*]}.
+     *
+     * @param collection collection of business objects to validate.
+     * @return the groups of violations, empty if all the objects are valid.
+     * @throws InvocationException            if an exception is raised while invoking a
+     *                                        {@link java.util.function.Predicate} or a {@link java.util.function.Function}.
+     *                                        function. The original exception will be wrapped as cause.
+     * @throws IllegalBusinessObjectException if an error occurs while validating a member (Wrong return type,...)
+     * @throws NullPointerException           if the given object is null.
+     * @see #validateAggregated(Object)
+     */
+    public List<ViolationGroup> validateAggregated(final Collection<T> collection) {
+        ViolationAggregator aggregator = new ViolationAggregator();
+        this.validate(collection, businessObjectName, selectGroups(), aggregator, prepare(new ValidationState()));
+        return aggregator.getGroups();
+    }
+
+    /**
+     * Validate only the member designated by a path, for instance {@code order.items[42]}, without walking the rest
+     * of the object graph. The path is written as in the reports: it starts with the name of the business object,
+     * followed by member names and by the indexes, or the map keys, of the elements. The last segment may also name a
+     * property grouped with {@link BValidatorManualBuilder#forProperty(String, java.util.function.Function)}.
+     * The result is anchored at the path: its name is the path itself.
+     *
+     * @param root       business object holding the member to validate.
+     * @param memberPath path of the member to validate.
+     * @return an {@link ObjectResult} that hold the results of the designated member only.
+     * @throws IllegalArgumentException       if the path is malformed or does not lead to a business object or a
+     *                                        property of the given object.
+     * @throws InvocationException            if an exception is raised while invoking a
+     *                                        {@link java.util.function.Predicate} or a {@link java.util.function.Function}.
+     *                                        function. The original exception will be wrapped as cause.
+     * @throws IllegalBusinessObjectException if an error occurs while validating a member (Wrong return type,...)
+     * @throws NullPointerException           if the given object is null.
+     * @see #validatePath(Object, String, boolean)
+     */
+    public ObjectResult validatePath(final T root, final String memberPath) {
+        return validatePath(root, memberPath, false);
+    }
+
+    /**
+     * Validate only the member designated by a path and, if asked, the business rules of its ancestors, for instance
+     * to revalidate a line item of an order and the rules of the order itself after an edition. Only the rules of the
+     * ancestors are run, not the ones of their other members or properties. With ancestor rules, the result is
+     * anchored at the root business object and holds a single chain of member results down to the designated
+     * member, otherwise it is anchored at the path.
+     *
+     * @param root              business object holding the member to validate.
+     * @param memberPath        path of the member to validate.
+     * @param withAncestorRules true to also run the rules of the objects along the path, false otherwise.
+     * @return an {@link ObjectResult} that hold the results of the designated member, and of its ancestors if asked.
+     * @throws IllegalArgumentException       if the path is malformed or does not lead to a business object or a
+     *                                        property of the given object.
+     * @throws InvocationException            if an exception is raised while invoking a
+     *                                        {@link java.util.function.Predicate} or a {@link java.util.function.Function}.
+     *                                        function. The original exception will be wrapped as cause.
+     * @throws IllegalBusinessObjectException if an error occurs while validating a member (Wrong return type,...)
+     * @throws NullPointerException           if the given object is null.
+     * @see #validatePath(Object, String)
+     */
+    public ObjectResult validatePath(final T root, final String memberPath, final boolean withAncestorRules) {
+        if (root == null) {
+            throw new NullPointerException("The object to validate cannot be null");
+        }
+        MemberPath path = MemberPath.parse(memberPath);
+        MemberPath.Segment rootSegment = path.get(0);
+        if (!rootSegment.getName().equals(businessObjectName) || !rootSegment.getKeys().isEmpty()) {
+            throw new IllegalArgumentException("Member path '" + path + "' must start with the business object name '" +
+                    businessObjectName + "'");
+        }
+        if (path.size() == 1) {
+            return validate(root);
+        }
+        ObjectResultCollector collector = new ObjectResultCollector(retention);
+        this.validatePath(root, path, 1, businessObjectName, withAncestorRules, selectGroups(), collector, prepare(new ValidationState()));
+        return collector.getResults().get(0);
+    }
+
+    // go down to the member at the given position of the path, running the rules of the ancestors if asked
+    @SuppressWarnings("unchecked")
+    private void validatePath(final T object, final MemberPath path, final int position, final String name, final boolean withAncestorRules, final long groups, ResultCollector collector, ValidationState state) {
+        state.enter(object);
+        if (withAncestorRules) {
+            collector.startObject(object, name, -1, rules);
+            this.validateBusinessRules(object, groups, collector, state);
+        }
+        final MemberPath.Segment segment = path.get(position);
+        final boolean last = position == path.size() - 1;
+        final String resultName = withAncestorRules ? segment.getText() : path.prefix(position + 1);
+        final BusinessMemberObject<T, ?> member = findMember(segment.getName());
+        if (member == null) {
+            final PropertyRulesObject<T, ?> property = last && segment.getKeys().isEmpty() ? findProperty(segment.getName()) : null;
+            if (property == null) {
+                throw new IllegalArgumentException("Member path '" + path + "': no member '" + segment.getName() +
+                        "' in '" + path.prefix(position) + "'");
+            }
+            if (!state.isStopped()) {
+                property.validate(object, resultName, groups, collector, state);
+            }
+        } else {
+            final Object value = getPathElement(object, member, path, position);
+            final BusinessMemberObject.Dispatch dispatch = member.getDispatch(value.getClass());
+            if (dispatch.isContainer()) {
+                throw new IllegalArgumentException("Member path '" + path + "': '" + path.prefix(position + 1) +
+                        "' is a group of business objects, the index of an element is expected");
+            }
+            if (dispatch.getValidator() == null) {
+                throw new IllegalBusinessObjectException("No validator found for type " + value.getClass().getName());
+            }
+            // in fail-fast mode, an invalid ancestor rule stops the validation before the member
+            if (!state.isStopped() && last) {
+                ((BValidator<Object>) dispatch.getValidator()).validate(value, resultName, -1, groups, collector, state);
+            } else if (!state.isStopped()) {
+                ((BValidator<Object>) dispatch.getValidator()).validatePath(value, path, position + 1, segment.getText(),
+                        withAncestorRules, groups, collector, state);
+            }
+        }
+        state.leave();
+        if (withAncestorRules) {
+            collector.endObject();
+        }
+    }
+
+    // value of the member, then element of each index or key of the segment, optionals being transparent
+    private Object getPathElement(final T object, final BusinessMemberObject<T, ?> member, final MemberPath path, final int position) {
+        Object value;
+        try {
+            value = getMemberValue(object, member);
+        } catch (final Throwable e) {
+            throw new InvocationException(e);
+        }
+        for (String key : path.get(position).getKeys()) {
+            value = unwrapOptional(value);
+            if (value == null || !member.getDispatch(value.getClass()).isContainer()) {
+                throw new IllegalArgumentException("Member path '" + path + "': '" + path.prefix(position) + "." +
+                        path.get(position).getName() + "' has no element [" + key + "]");
+            }
+            value = getContainerElement(value, key);
+            if (value == NOT_FOUND) {
+                throw new IllegalArgumentException("Member path '" + path + "': no element [" + key + "] in '" +
+                        path.prefix(position) + "." + path.get(position).getName() + "'");
+            }
+        }
+        value = unwrapOptional(value);
+        if (value == null) {
+            throw new IllegalArgumentException("Member path '" + path + "': no value at '" + path.prefix(position + 1) + "'");
+        }
+        return value;
+    }
+
+    private static Object unwrapOptional(final Object value) {
+        return value instanceof Optional ? ((Optional<?>) value).orElse(null) : value;
+    }
+
+    // element of a container by index, or by the string value of its key for a map
+    private static Object getContainerElement(final Object container, final String key) {
+        if (container instanceof Map) {
+            Map<?, ?> map = (Map<?, ?>) container;
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                if (key.equals(String.valueOf(entry.getKey()))) {
+                    return entry.getValue();
+                }
+            }
+            return NOT_FOUND;
+        }
+        final int index;
+        try {
+            index = Integer.parseInt(key);
+        } catch (NumberFormatException e) {
+            return NOT_FOUND;
+        }
+        if (index < 0) {
+            return NOT_FOUND;
+        }
+        if (container instanceof List) {
+            List<?> list = (List<?>) container;
+            return index < list.size() ? list.get(index) : NOT_FOUND;
+        }
+        if (container instanceof Object[]) {
+            Object[] array = (Object[]) container;
+            return index < array.length ? array[index] : NOT_FOUND;
+        }
+        Iterator<?> iterator = container instanceof Stream ? ((Stream<?>) container).iterator() : ((Iterable<?>) container).iterator();
+        for (int position = 0; iterator.hasNext(); position++) {
+            Object element = iterator.next();
+            if (position == index) {
+                return element;
+            }
+        }
+        return NOT_FOUND;
+    }
+
+    private BusinessMemberObject<T, ?> findMember(final String name) {
+        for (BusinessMemberObject<T, ?> member : getMemberTable()) {
+            if (member.getName().equals(name)) {
+                return member;
+            }
+        }
+        return null;
+    }
+
+    private PropertyRulesObject<T, ?> findProperty(final String name) {
+        for (PropertyRulesObject<T, ?> property : properties) {
+            if (property.getName().equals(name)) {
+                return property;
+            }
+        }
+        return null;
+    }
+
+    // configure the state of a new validation with the mode of this validator
+    private ValidationState prepare(final ValidationState state) {
+        state.setFailFast(failFast, adaptive);
+        state.setGroups(ruleGroups, selectedGroupNames);
+        return state;
     }
 
-    private ObjectResult validate(T object, String name, Set<Object> visitedObjects) {
+    // mask of the selected groups, only looked up so that selecting a group never declares it
+    private long selectGroups() {
+        return selectedGroupNames == null ? RuleGroups.ALL : ruleGroups.select(selectedGroupNames);
+    }
+
+    private void validate(T object, String name, int index, long groups, ResultCollector collector, ValidationState state) {
+        this.validate(object, name, null, index, groups, collector, state);
+    }
+
+    // validate an object named by a string, or by the name of an element of a member when not null
+    private void validate(T object, String name, ElementName elementName, int index, long groups, ResultCollector collector, ValidationState state) {
         if (object == null) {
             throw new NullPointerException("The object to validate cannot be null");
         }
-        final ObjectResult result = new ObjectResult(name);
-        List<RuleResult> ruleResults = this.validateBusinessRules(object);
-        List<ObjectResult> memberResults = this.validateBusinessMembers(object, visitedObjects);
-        result.addRuleResults(ruleResults);
-        result.addMemberResults(memberResults);
-        return result;
+        if (groups != RuleGroups.ALL && (groups & RuleGroups.UNRESOLVED) != 0) {
+            // selected groups may have been declared since by validators built on first encounter
+            groups = state.resolveGroups();
+        }
+        if (elementName != null) {
+            collector.startObject(object, elementName, index, rules);
+        } else {
+            collector.startObject(object, name, index, rules);
+        }
+        state.enter(object);
+        this.validateBusinessRules(object, groups, collector, state);
+        for (int position = 0; position < properties.length && !state.isStopped(); position++) {
+            properties[position].validate(object, groups, collector, state);
+        }
+        if (!state.isStopped()) {
+            this.validateBusinessMembers(object, groups, collector, state);
+        }
+        state.leave();
+        collector.endObject();
     }
 
-    private List<ObjectResult> validate(Collection<T> collection, String name, Set<Object> visitedObjects) {
-        List<ObjectResult> results = new ArrayList<>();
-        int index = -1;
-        for (T object : collection) {
-            results.add(this.validate(object, name + "[" + ++index + "]", visitedObjects));
+    private void validate(Collection<T> collection, String name, long groups, ResultCollector collector, ValidationState state) {
+        if (groups != RuleGroups.ALL && (groups & RuleGroups.UNRESOLVED) != 0) {
+            groups = state.resolveGroups();
+        }
+        final BatchWindow window = batchRules.length > 0 ? BatchWindow.of(collection, this, groups) : null;
+        if (collection instanceof RandomAccess && collection instanceof List) {
+            List<T> list = (List<T>) collection;
+            for (int index = 0, size = list.size(); index < size && !state.isStopped(); index++) {
+                if (window != null) {
+                    window.advance(state);
+                }
+                this.validate(list.get(index), name, index, groups, collector, state);
+            }
+        } else {
+            int index = -1;
+            for (T object : collection) {
+                if (state.isStopped()) {
+                    break;
+                }
+                if (window != null) {
+                    window.advance(state);
+                }
+                this.validate(object, name, ++index, groups, collector, state);
+            }
+        }
+        if (window != null) {
+            window.close(state);
         }
-        return results;
     }
 
-    private List<ObjectResult> validate(T[] array, String name, Set<Object> visitedObjects) {
-        return validate(Arrays.asList(array), name, visitedObjects);
+    @SuppressWarnings("unchecked")
+    private void validateMember(final Object object, final BValidator<?> validator, final ElementName name, final int index, final long groups, ResultCollector collector, ValidationState state) {
+        ((BValidator<Object>) validator).validate(object, null, name, index, groups, collector, state);
     }
 
-    private <R, F extends R> ObjectResult validateMember(final F object, final BValidator<? extends R> validator, final String memberName, Set<Object> visitedObjects) {
-        return ((BValidator<F>) validator).validate(object, memberName, visitedObjects);
+    // validate a member value or element, with the validator of its type or by traversing it if it is a container
+    private void validateElement(final Object element, final BusinessMemberObject<T, ?> member, final ElementName name, final int index, final long groups, ResultCollector collector, ValidationState state) {
+        BusinessMemberObject.Dispatch dispatch = member.getDispatch(element.getClass());
+        if (dispatch.isContainer()) {
+            if (element instanceof Optional) {
+                // an optional is transparent: its value takes its place
+                Optional<?> optional = (Optional<?>) element;
+                if (optional.isPresent()) {
+                    validateElement(optional.get(), member, name, index, groups, collector, state);
+                }
+            } else if (index < 0) {
+                validateContainer(element, member, name, groups, collector, state);
+            } else {
+                name.pushIndex(index);
+                validateContainer(element, member, name, groups, collector, state);
+                name.pop();
+            }
+        } else if (dispatch.getValidator() != null) {
+            validateMember(element, dispatch.getValidator(), name, index, groups, collector, state);
+        } else {
+            throw new IllegalBusinessObjectException("No validator found for type " + element.getClass().getName());
+        }
     }
 
-    private <R, F extends R> List<ObjectResult> validateMemberCollection(final Collection<F> collection, final Map<Class<? extends R>, BValidator<? extends R>> validators, final String memberName, Set<Object> visitedObjects) {
-        List<ObjectResult> results = new ArrayList<>();
-        int index = -1;
-        for (F object : collection) {
-            results.add(((BValidator<F>) getValidatorByType(validators, object)).validate(object, memberName + "[" + ++index + "]", visitedObjects));
+    // containers are iterated in place, elements are named after their index, or their key in maps
+    private void validateContainer(final Object container, final BusinessMemberObject<T, ?> member, final ElementName name, final long groups, ResultCollector collector, ValidationState state) {
+        // streams can only be consumed once, their batch rules are called per element
+        final BatchWindow window = member.hasBatchRules() && !(container instanceof Stream) ? BatchWindow.of(container, member, groups) : null;
+        if (container instanceof RandomAccess && container instanceof List) {
+            // index loop: no iterator allocated for array lists
+            List<?> list = (List<?>) container;
+            for (int index = 0, size = list.size(); index < size && !state.isStopped(); index++) {
+                if (window != null) {
+                    window.advance(state);
+                }
+                validateElement(list.get(index), member, name, index, groups, collector, state);
+            }
+        } else if (container instanceof Object[]) {
+            Object[] array = (Object[]) container;
+            for (int index = 0; index < array.length && !state.isStopped(); index++) {
+                if (window != null) {
+                    window.advance(state);
+                }
+                validateElement(array[index], member, name, index, groups, collector, state);
+            }
+        } else if (container instanceof Map) {
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) container).entrySet()) {
+                if (state.isStopped()) {
+                    break;
+                }
+                if (window != null) {
+                    window.advance(state);
+                }
+                if (member.isMapKeys() && entry.getKey() != null) {
+                    name.pushMapKey(entry.getKey());
+                    validateElement(entry.getKey(), member, name, -1, groups, collector, state);
+                    name.pop();
+                }
+                if (entry.getValue() != null && !state.isStopped()) {
+                    name.pushKey(entry.getKey());
+                    validateElement(entry.getValue(), member, name, -1, groups, collector, state);
+                    name.pop();
+                }
+            }
+        } else if (container instanceof Stream) {
+            Iterator<?> iterator = ((Stream<?>) container).iterator();
+            for (int index = 0; iterator.hasNext() && !state.isStopped(); index++) {
+                validateElement(iterator.next(), member, name, index, groups, collector, state);
+            }
+        } else {
+            int index = -1;
+            for (Object element : (Iterable<?>) container) {
+                if (state.isStopped()) {
+                    break;
+                }
+                if (window != null) {
+                    window.advance(state);
+                }
+                validateElement(element, member, name, ++index, groups, collector, state);
+            }
+        }
+        if (window != null) {
+            window.close(state);
         }
-        return results;
     }
 
-    private <R> List<ObjectResult> validateMemberArray(final R[] array, final Map<Class<? extends R>, BValidator<? extends R>> validators, final String memberName, Set<Object> visitedObjects) {
-        return validateMemberCollection(Arrays.asList(array), validators, memberName, visitedObjects);
+    boolean hasBatchRules() {
+        return batchRules.length > 0;
     }
 
+    int getBatchWindow() {
+        return batchWindow;
+    }
 
-    private List<RuleResult> validateBusinessRules(final T object) {
-        final List<RuleResult> results = new ArrayList<>();
-        for (final BusinessRuleObject<T> rule : rules) {
+    // evaluate ahead the batch rules of the selected groups, their outcomes are taken back by validateBusinessRules
+    // A batch rule with prerequisites is only evaluated for the objects whose prerequisites are valid, which requires
+    // them to be batch rules evaluated ahead too. Otherwise, it is verified alone once its prerequisites are valid.
+    void evaluateBatchRules(final List<T> objects, final long groups, ValidationState state) {
+        if (objects.isEmpty()) {
+            return;
+        }
+        for (int position = 0; position < batchRules.length; position++) {
+            if ((batchRuleMasks[position] & groups) == 0 || batchPrerequisites[position] == null) {
+                continue;
+            }
+            final List<T> ready = batchPrerequisites[position].length == 0
+                    ? objects : withValidBatchPrerequisites(objects, batchPrerequisites[position], groups, state);
+            if (!ready.isEmpty()) {
+                batchRules[position].evaluate(ready, state);
+            }
+        }
+    }
+
+    // batch prerequisites are placed before their rules, their outcomes are already evaluated, or missing if skipped
+    private List<T> withValidBatchPrerequisites(final List<T> objects, final int[] positions, final long groups, ValidationState state) {
+        final List<T> ready = new ArrayList<>(objects.size());
+        for (T object : objects) {
+            boolean valid = true;
+            for (int i = 0; i < positions.length && valid; i++) {
+                valid = (batchRuleMasks[positions[i]] & groups) == 0
+                        || Boolean.TRUE.equals(state.peekBatchOutcome(batchRules[positions[i]], object));
+            }
+            if (valid) {
+                ready.add(object);
+            }
+        }
+        return ready;
+    }
+
+    // forget the outcomes evaluated ahead that were not taken back, once the objects are validated
+    void discardBatchOutcomes(final List<T> objects, final long groups, ValidationState state) {
+        for (int position = 0; position < batchRules.length; position++) {
+            if ((batchRuleMasks[position] & groups) != 0) {
+                batchRules[position].discard(objects, state);
+            }
+        }
+    }
+
+    private void validateBusinessRules(final T object, final long groups, ResultCollector collector, ValidationState state) {
+        if (state.isFailFast()) {
+            this.validateBusinessRulesFailFast(object, groups, collector, state);
+            return;
+        }
+        // rules that failed or were skipped, when rules have prerequisites
+        final long[] failedRules = prerequisites != null ? state.ruleBits(rules.length) : null;
+        for (int position = 0; position < rules.length; position++) {
+            final BusinessRuleObject<T> rule = rules[position];
+            if ((ruleMasks[position] & groups) == 0) {
+                continue;
+            }
+            if (failedRules != null && anyFailed(failedRules, prerequisites[position])) {
+                failedRules[position >>> 6] |= 1L << position;
+                collector.ruleSkipped(rule, position);
+                continue;
+            }
             try {
-                results.add(new RuleResult(rule.getId(), rule.getDescription(), rule.apply(object)));
+                final boolean valid = rule.apply(object, state);
+                if (!valid && failedRules != null) {
+                    failedRules[position >>> 6] |= 1L << position;
+                }
+                collector.ruleResult(rule, position, valid);
             } catch (InvocationException e) {
                 throw new InvocationException(e.getCause());
             }
         }
-        return results;
     }
 
-    private List<ObjectResult> validateBusinessMembers(final T object, Set<Object> visitedObjects) {
-        final List<ObjectResult> results = new ArrayList<>();
-        for (final BusinessMemberObject<T, ?> member : members) {
-            try {
-                final Object memberValue = getMemberValue(object, member);
-                if (!isObjectAlreadyVisited(memberValue, visitedObjects)) {
-                    visitedObjects.add(memberValue);
-                    results.addAll(validateAnyMember(memberValue, member.getValidators(), member.getName(), visitedObjects));
+    // run the rules in the order of the scheduler, until the first failure. A rule with prerequisites is run once its
+    // prerequisites not run yet are, in their own order: as the validation stops at the first failure, they are valid.
+    private void validateBusinessRulesFailFast(final T object, final long groups, ResultCollector collector, ValidationState state) {
+        final boolean sampled = state.isAdaptive() && scheduler.sample();
+        final long[] runRules = prerequisites != null || sampled ? state.ruleBits(rules.length) : null;
+        for (int position : state.isAdaptive() ? scheduler.getOrder() : scheduler.getHintOrder()) {
+            final int failure = runRules != null
+                    ? this.runWithPrerequisites(position, object, groups, sampled, runRules, collector, state)
+                    : this.run(position, object, groups, false, collector, state) ? -1 : position;
+            if (failure >= 0) {
+                state.stop();
+                if (sampled && scheduler.explore()) {
+                    runRules[failure >>> 6] &= ~(1L << failure);
+                    this.measureRemaining(object, groups, runRules, state);
                 }
-            } catch (IllegalArgumentException e) {
-                throw new IllegalBusinessObjectException(
-                        "Method '" + member.getName() + "' does not respect BusinessMember " +
-                                "method format (should be public with no arguments and return an object " +
-                                "value that is a BusinessObject or a group of BusinessObject).", e);
-            } catch (ClassCastException e) {
-                throw new IllegalBusinessObjectException("Wrong member type", e);
-            } catch (final Throwable e) {
-                if (e.getCause() != null)
-                    throw new InvocationException(e.getCause());
-                throw new InvocationException(e);
+                return;
             }
         }
-        return results;
     }
 
-    // O(1) complexity for hashset
-    private boolean isObjectAlreadyVisited(Object memberValue, Set<Object> visitedObjects) {
-        if (memberValue == null) {
-            return false;
+    // returns the position of the invalid rule, -1 if the rule and its prerequisites are valid
+    private int runWithPrerequisites(final int position, final T object, final long groups, final boolean sampled, final long[] runRules, ResultCollector collector, ValidationState state) {
+        if ((runRules[position >>> 6] & (1L << position)) != 0) {
+            return -1;
         }
-        return visitedObjects.contains(memberValue);
+        runRules[position >>> 6] |= 1L << position;
+        if (prerequisites != null) {
+            for (int prerequisite : prerequisites[position]) {
+                final int failure = this.runWithPrerequisites(prerequisite, object, groups, sampled, runRules, collector, state);
+                if (failure >= 0) {
+                    return failure;
+                }
+            }
+        }
+        return this.run(position, object, groups, sampled, collector, state) ? -1 : position;
     }
 
+    // measure the rules not run after the first failure, without reporting them, so that they keep statistics. A rule
+    // is only measured if its prerequisites were run and valid, prerequisites being placed before their rules.
+    private void measureRemaining(final T object, final long groups, final long[] runRules, ValidationState state) {
+        for (int position = 0; position < rules.length; position++) {
+            if ((runRules[position >>> 6] & (1L << position)) != 0
+                    || prerequisites != null && !allRun(runRules, prerequisites[position])) {
+                continue;
+            }
+            if ((ruleMasks[position] & groups) == 0) {
+                runRules[position >>> 6] |= 1L << position;
+                continue;
+            }
+            final boolean valid;
+            try {
+                final long start = System.nanoTime();
+                valid = rules[position].apply(object, state);
+                scheduler.record(position, System.nanoTime() - start, valid);
+            } catch (InvocationException e) {
+                throw new InvocationException(e.getCause());
+            }
+            if (valid) {
+                runRules[position >>> 6] |= 1L << position;
+            }
+        }
+    }
 
-    private Object getMemberValue(final T object, final BusinessMemberObject<T, ?> member) throws Throwable {
+    private static boolean allRun(final long[] runRules, final int[] positions) {
+        for (int position : positions) {
+            if ((runRules[position >>> 6] & (1L << position)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // run a rule of the selected groups, returns false only if it is invalid
+    private boolean run(final int position, final T object, final long groups, final boolean sampled, ResultCollector collector, ValidationState state) {
+        if ((ruleMasks[position] & groups) == 0) {
+            return true;
+        }
+        final BusinessRuleObject<T> rule = rules[position];
+        final boolean valid;
         try {
-            return member.getMemberValue(object);
-        } catch (final InvocationException e) {
-            throw e.getCause();
+            if (sampled) {
+                final long start = System.nanoTime();
+                valid = rule.apply(object, state);
+                scheduler.record(position, System.nanoTime() - start, valid);
+            } else {
+                valid = rule.apply(object, state);
+            }
+        } catch (InvocationException e) {
+            throw new InvocationException(e.getCause());
         }
+        collector.ruleResult(rule, position, valid);
+        return valid;
     }
 
+    static boolean anyFailed(final long[] failedRules, final int[] positions) {
+        for (int position : positions) {
+            if ((failedRules[position >>> 6] & (1L << position)) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
 
-    @SuppressWarnings("unchecked")
-    private <R> List<ObjectResult> validateAnyMember(final Object memberValue, Map<Class<? extends R>, BValidator<? extends R>> validators, String name, Set<Object> visitedObjects) {
-        final List<ObjectResult> results = new ArrayList<>();
-        if (memberValue == null) {
-            return Collections.emptyList();
+    private static int[][] getBatchPrerequisites(final BusinessRuleObject<?>[] rules, final int[][] prerequisites, final int nbOfBatchRules) {
+        final int[] batchPositions = new int[rules.length];
+        for (int position = 0, batchPosition = 0; position < rules.length; position++) {
+            batchPositions[position] = rules[position] instanceof BatchRuleObject ? batchPosition++ : -1;
         }
-        if (isValidCollection(memberValue)) {
-            if (!((Collection<?>) memberValue).isEmpty()) {
-                results.addAll(this.validateMemberCollection((Collection<R>) memberValue, validators, name, visitedObjects));
+        final int[][] positions = new int[nbOfBatchRules][];
+        for (int position = 0; position < rules.length; position++) {
+            if (batchPositions[position] < 0) {
+                continue;
             }
-        } else if (isValidArray(memberValue)) {
-            if (((Object[]) memberValue).length > 0) {
-                results.addAll(this.validateMemberArray((R[]) memberValue, validators, name, visitedObjects));
+            final int[] rulePrerequisites = prerequisites != null ? prerequisites[position] : new int[0];
+            int[] batchRulePrerequisites = new int[rulePrerequisites.length];
+            for (int i = 0; i < rulePrerequisites.length && batchRulePrerequisites != null; i++) {
+                batchRulePrerequisites[i] = batchPositions[rulePrerequisites[i]];
+                if (batchRulePrerequisites[i] < 0) {
+                    batchRulePrerequisites = null;
+                }
             }
-        } else {
-            results.add(this.validateMember(memberValue, getValidatorByType(validators, memberValue), name, visitedObjects));
+            positions[batchPositions[position]] = batchRulePrerequisites;
         }
-        return results;
+        return positions;
     }
 
-    private boolean isValidCollection(Object memberValue) {
-        return (memberValue instanceof Collection);
+    // stable topological order: each rule comes after its prerequisites, otherwise rules keep their declaration order
+    static <T> BusinessRuleObject<T>[] sortByPrerequisites(final BusinessRuleObject<T>[] rules) {
+        if (Arrays.stream(rules).allMatch(rule -> rule.getPrerequisites().length == 0)) {
+            return rules;
+        }
+        final Map<String, List<BusinessRuleObject<T>>> rulesById = getRulesById(rules);
+        final BusinessRuleObject<T>[] sorted = rules.clone();
+        final Set<BusinessRuleObject<T>> placed = Collections.newSetFromMap(new IdentityHashMap<>());
+        while (placed.size() < rules.length) {
+            BusinessRuleObject<T> next = null;
+            for (int position = 0; position < rules.length && next == null; position++) {
+                if (!placed.contains(rules[position]) && arePlaced(rules[position], rulesById, placed)) {
+                    next = rules[position];
+                }
+            }
+            if (next == null) {
+                throw new IllegalBusinessObjectException("Cycle in the prerequisites of the rules " +
+                        Arrays.stream(rules).filter(rule -> !placed.contains(rule))
+                                .map(BusinessRuleObject::getId).collect(Collectors.joining("', '", "'", "'")));
+            }
+            sorted[placed.size()] = next;
+            placed.add(next);
+        }
+        return sorted;
     }
 
-    private boolean isValidArray(Object memberValue) {
-        return (memberValue instanceof Object[]);
+    private static <T> boolean arePlaced(final BusinessRuleObject<T> rule, final Map<String, List<BusinessRuleObject<T>>> rulesById, final Set<BusinessRuleObject<T>> placed) {
+        for (String prerequisite : rule.getPrerequisites()) {
+            List<BusinessRuleObject<T>> prerequisiteRules = rulesById.get(prerequisite);
+            if (prerequisiteRules == null) {
+                throw new IllegalBusinessObjectException("Rule '" + rule.getId() + "' requires the unknown rule '" +
+                        prerequisite + "'");
+            }
+            if (!placed.containsAll(prerequisiteRules)) {
+                return false;
+            }
+        }
+        return true;
     }
 
-    private <R> BValidator<? extends R> getValidatorByType(Map<Class<? extends R>, BValidator<? extends R>> validators, Object object) {
-        Class<?> clazz = object.getClass();
-        String className = clazz.getName();
-        do {
-            if (validators.containsKey(clazz)) {
-                return validators.get(clazz);
+    static int[][] getPrerequisitePositions(final BusinessRuleObject<?>[] rules) {
+        if (Arrays.stream(rules).allMatch(rule -> rule.getPrerequisites().length == 0)) {
+            return null;
+        }
+        final Map<String, List<Integer>> positionsById = new HashMap<>();
+        for (int position = 0; position < rules.length; position++) {
+            positionsById.computeIfAbsent(rules[position].getId(), id -> new ArrayList<>()).add(position);
+        }
+        final int[][] positions = new int[rules.length][];
+        for (int position = 0; position < rules.length; position++) {
+            positions[position] = Arrays.stream(rules[position].getPrerequisites())
+                    .flatMap(id -> positionsById.get(id).stream()).mapToInt(Integer::intValue).toArray();
+        }
+        return positions;
+    }
+
+    private static <T> Map<String, List<BusinessRuleObject<T>>> getRulesById(final BusinessRuleObject<T>[] rules) {
+        final Map<String, List<BusinessRuleObject<T>>> rulesById = new HashMap<>();
+        for (BusinessRuleObject<T> rule : rules) {
+            rulesById.computeIfAbsent(rule.getId(), id -> new ArrayList<>()).add(rule);
+        }
+        return rulesById;
+    }
+
+    private void validateBusinessMembers(final T object, final long groups, ResultCollector collector, ValidationState state) {
+        for (final BusinessMemberObject<T, ?> member : getMemberTable()) {
+            if (state.isStopped()) {
+                return;
+            }
+            if (groups != RuleGroups.ALL && (member.getReachableGroups() & groups) == 0) {
+                // no rule of the selected groups below this member, do not even get its value
+                continue;
+            }
+            try {
+                final Object memberValue = getMemberValue(object, member);
+                if (memberValue != null && state.visit(memberValue)) {
+                    validateElement(memberValue, member, state.elementName(member.getName()), -1, groups, collector, state);
+                }
+            } catch (IllegalArgumentException e) {
+                throw new IllegalBusinessObjectException(
+                        "Method '" + member.getName() + "' does not respect BusinessMember " +
+                                "method format (should be public with no arguments and return an object " +
+                                "value that is a BusinessObject or a group of BusinessObject).", e);
+            } catch (ClassCastException e) {
+                throw new IllegalBusinessObjectException("Wrong member type", e);
+            } catch (final Throwable e) {
+                if (e.getCause() != null)
+                    throw new InvocationException(e.getCause());
+                throw new InvocationException(e);
             }
-            clazz = clazz.getSuperclass();
         }
-        while (clazz != null);
+    }
 
-        throw new IllegalBusinessObjectException("No validator found for type " + className);
+    // members are all added before the validator is used, snapshot them in a table to iterate without iterator
+    @SuppressWarnings("unchecked")
+    private BusinessMemberObject<T, ?>[] getMemberTable() {
+        BusinessMemberObject<T, ?>[] table = memberTable;
+        if (table == null) {
+            table = (BusinessMemberObject<T, ?>[]) members.toArray(new BusinessMemberObject<?, ?>[0]);
+            memberTable = table;
+        }
+        return table;
     }
 
+    private Object getMemberValue(final T object, final BusinessMemberObject<T, ?> member) throws Throwable {
+        try {
+            return member.getMemberValue(object);
+        } catch (final InvocationException e) {
+            throw e.getCause();
+        }
+    }
 
 }
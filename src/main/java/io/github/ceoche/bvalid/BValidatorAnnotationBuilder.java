@@ -15,12 +15,25 @@
  */
 package io.github.ceoche.bvalid;
 
+import java.lang.reflect.GenericArrayType;
 import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 /**
  * Build a {@link BValidator} from a {@link BusinessObject} annotated class.
@@ -34,13 +47,36 @@ public class BValidatorAnnotationBuilder<T> extends AbstractBValidatorBuilder<T>
 
     private final Set<BusinessMemberBuilder<T, ?>> members;
 
+    private final boolean useIndex;
+
+    // builders of the classes reachable from the root builder, shared so that each class is scanned once
+    private final Map<Class<?>, BValidatorAnnotationBuilder<?>> graph;
+
     /**
      * Constructor of a BValidatorBuilder for class annotated with BusinessObject.
      *
      * @param clazz Root class of a model to create a validator for.
      */
     public BValidatorAnnotationBuilder(Class<T> clazz) {
+        this(clazz, true);
+    }
+
+    /**
+     * Constructor of a BValidatorBuilder that may ignore the compile-time index of the class.
+     *
+     * @param clazz    Root class of a model to create a validator for.
+     * @param useIndex true to read the rules and members from the index written by
+     *                 {@link BusinessObjectIndexProcessor} when available, false to always scan the class.
+     */
+    BValidatorAnnotationBuilder(Class<T> clazz, boolean useIndex) {
+        this(clazz, useIndex, new ConcurrentHashMap<>());
+    }
+
+    private BValidatorAnnotationBuilder(Class<T> clazz, boolean useIndex, Map<Class<?>, BValidatorAnnotationBuilder<?>> graph) {
         super(clazz);
+        this.useIndex = useIndex;
+        this.graph = graph;
+        graph.putIfAbsent(clazz, this);
         BusinessObject businessObject = clazz.getAnnotation(BusinessObject.class);
         if (businessObject != null) {
             businessObjectName = businessObject.name();
@@ -49,8 +85,14 @@ public class BValidatorAnnotationBuilder<T> extends AbstractBValidatorBuilder<T>
             }
         }
         Class<T> assertedClass = (Class<T>) assertBusinessObjectClass(clazz);
-        this.rules = getRules(assertedClass);
-        this.members = getMembers(assertedClass);
+        if (useIndex) {
+            this.rules = new LinkedHashSet<>();
+            this.members = new LinkedHashSet<>();
+            readHierarchy(assertedClass, rules, members);
+        } else {
+            this.rules = getRules(assertedClass);
+            this.members = getMembers(assertedClass);
+        }
     }
 
     @Override
@@ -72,6 +114,24 @@ public class BValidatorAnnotationBuilder<T> extends AbstractBValidatorBuilder<T>
         return this;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BValidatorAnnotationBuilder<T> setRegistry(BValidatorRegistry registry) {
+        super.setRegistry(registry);
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BValidatorAnnotationBuilder<T> setLazy(boolean lazy) {
+        super.setLazy(lazy);
+        return this;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -81,15 +141,151 @@ public class BValidatorAnnotationBuilder<T> extends AbstractBValidatorBuilder<T>
                 .addAllMembers(members)
                 .addAllRules(rules)
                 .setBusinessObjectName(businessObjectName)
+                .setRegistry(registry)
+                .setLazy(lazy)
                 .build();
     }
 
+    // read the methods declared by each type of the hierarchy, from its index or by reflection, like getMethods()
+    private void readHierarchy(Class<T> clazz, Set<BusinessRuleObject<T>> rulesResult,
+                               Set<BusinessMemberBuilder<T, ?>> membersResult) {
+        Set<String> overridden = new HashSet<>();
+        for (Class<?> type : getHierarchy(clazz)) {
+            Method[] declaredMethods = type.getDeclaredMethods();
+            BusinessObjectIndex index = BusinessObjectIndex.load(type);
+            Set<BusinessRuleObject<T>> typeRules = new LinkedHashSet<>();
+            Set<BusinessMemberBuilder<T, ?>> typeMembers = new LinkedHashSet<>();
+            if (index == null || !index.matches(declaredMethods)
+                    || !readIndex(type, index, declaredMethods, overridden, typeRules, typeMembers)) {
+                typeRules.clear();
+                typeMembers.clear();
+                scanDeclaredMethods(declaredMethods, overridden, typeRules, typeMembers);
+            }
+            rulesResult.addAll(typeRules);
+            membersResult.addAll(typeMembers);
+            for (Method method : declaredMethods) {
+                if (BusinessObjectIndex.isIndexable(method) && method.getParameterCount() == 0) {
+                    overridden.add(method.getName());
+                }
+            }
+        }
+    }
+
+    // the class, its superclasses, then all their interfaces
+    private static List<Class<?>> getHierarchy(Class<?> clazz) {
+        List<Class<?>> hierarchy = new ArrayList<>();
+        for (Class<?> type = clazz; type != null && !Object.class.equals(type); type = type.getSuperclass()) {
+            hierarchy.add(type);
+        }
+        Set<Class<?>> interfaces = new LinkedHashSet<>();
+        for (int i = 0, size = hierarchy.size(); i < size; i++) {
+            addInterfaces(hierarchy.get(i), interfaces);
+        }
+        hierarchy.addAll(interfaces);
+        return hierarchy;
+    }
+
+    private static void addInterfaces(Class<?> type, Set<Class<?>> interfaces) {
+        for (Class<?> implemented : type.getInterfaces()) {
+            if (interfaces.add(implemented)) {
+                addInterfaces(implemented, interfaces);
+            }
+        }
+    }
+
+    // false if an entry does not match the declared methods, the fingerprint being checked before
+    private boolean readIndex(Class<?> type, BusinessObjectIndex index, Method[] declaredMethods, Set<String> overridden,
+                              Set<BusinessRuleObject<T>> rulesResult, Set<BusinessMemberBuilder<T, ?>> membersResult) {
+        try {
+            for (BusinessObjectIndex.Entry entry : index.getEntries()) {
+                Method method = findGetter(declaredMethods, entry.getMethod());
+                if (method == null) {
+                    return false;
+                }
+                if (overridden.contains(method.getName())) {
+                    continue;
+                }
+                switch (entry.getKind()) {
+                    case BusinessObjectIndex.RULE:
+                        if (!method.isAnnotationPresent(BusinessRule.class)) {
+                            return false;
+                        }
+                        addRule(method, rulesResult);
+                        break;
+                    case BusinessObjectIndex.CONSTRAINT:
+                        if (!ConstraintRules.hasConstraints(method)) {
+                            return false;
+                        }
+                        ConstraintRules.addRules(method, rulesResult);
+                        break;
+                    case BusinessObjectIndex.MEMBER:
+                        if (!method.isAnnotationPresent(BusinessMember.class)) {
+                            return false;
+                        }
+                        String[] typeNames = entry.getValue().split(",");
+                        Class<?>[] elementTypes = new Class<?>[typeNames.length];
+                        for (int i = 0; i < typeNames.length; i++) {
+                            elementTypes[i] = Class.forName(typeNames[i], false, type.getClassLoader());
+                        }
+                        addMember(method, elementTypes, membersResult);
+                        break;
+                    default:
+                        return false;
+                }
+            }
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    private static Method findGetter(Method[] declaredMethods, String name) {
+        for (Method method : declaredMethods) {
+            if (method.getName().equals(name) && method.getParameterCount() == 0 && BusinessObjectIndex.isIndexable(method)) {
+                return method;
+            }
+        }
+        return null;
+    }
+
+    private void scanDeclaredMethods(Method[] declaredMethods, Set<String> overridden, Set<BusinessRuleObject<T>> rulesResult,
+                                     Set<BusinessMemberBuilder<T, ?>> membersResult) {
+        for (Method method : declaredMethods) {
+            if (!BusinessObjectIndex.isIndexable(method)
+                    || method.getParameterCount() == 0 && overridden.contains(method.getName())) {
+                continue;
+            }
+            if (method.isAnnotationPresent(BusinessRule.class)) {
+                addRule(method, rulesResult);
+            }
+            if (ConstraintRules.hasConstraints(method)) {
+                ConstraintRules.addRules(method, rulesResult);
+            }
+            if (method.isAnnotationPresent(BusinessMember.class)) {
+                addMember(method, getElementTypes(method, method.getAnnotation(BusinessMember.class).mapKeys()), membersResult);
+            }
+        }
+    }
+
+    private void addRule(Method method, Set<BusinessRuleObject<T>> rulesResult) {
+        BusinessRule businessRule = method.getAnnotation(BusinessRule.class);
+        rulesResult.add(new BusinessRuleObject<>(businessRule.id(), getPredicate(method), businessRule.description(),
+                businessRule.groups(), businessRule.requires(), businessRule.cost()));
+    }
+
+    private void addMember(Method method, Class<?>[] elementTypes, Set<BusinessMemberBuilder<T, ?>> membersResult) {
+        BusinessMember businessMember = method.getAnnotation(BusinessMember.class);
+        membersResult.add(createMemberBuilder(businessMember.name(), method, businessMember.mapKeys(), elementTypes));
+    }
+
     private Set<BusinessRuleObject<T>> getRules(Class<T> clazz) {
         Set<BusinessRuleObject<T>> rulesResult = new LinkedHashSet<>();
         for (Method method : clazz.getMethods()) {
             if (method.isAnnotationPresent(BusinessRule.class)) {
-                BusinessRule businessRule = method.getAnnotation(BusinessRule.class);
-                rulesResult.add(new BusinessRuleObject<>(businessRule.id(), getPredicate(method), businessRule.description()));
+                addRule(method, rulesResult);
+            }
+            if (ConstraintRules.hasConstraints(method)) {
+                ConstraintRules.addRules(method, rulesResult);
             }
         }
         return rulesResult;
@@ -99,8 +295,8 @@ public class BValidatorAnnotationBuilder<T> extends AbstractBValidatorBuilder<T>
         Set<BusinessMemberBuilder<T, ?>> memberBuilderList = new LinkedHashSet<>();
         for (Method method : clazz.getMethods()) {
             if (method.isAnnotationPresent(BusinessMember.class)) {
-                BusinessMember businessMember = method.getAnnotation(BusinessMember.class);
-                memberBuilderList.add(new BusinessMemberBuilder<>(businessMember.name(), getFunction(method), getValidatorBuilderSupplier(method)));
+                addMember(method, getElementTypes(method, method.getAnnotation(BusinessMember.class).mapKeys()),
+                        memberBuilderList);
             }
         }
         return memberBuilderList;
@@ -126,35 +322,83 @@ public class BValidatorAnnotationBuilder<T> extends AbstractBValidatorBuilder<T>
         };
     }
 
-    private BValidatorBuilder<?> getValidatorBuilderSupplier(Method method) throws InvocationException {
-        Class<?> clazz = getRealType(method);
-        return new BValidatorAnnotationBuilder<>(clazz);
+    // the builder of the member type is created when the validator is built, or on first encounter in lazy mode
+    private BusinessMemberBuilder<T, ?> createMemberBuilder(String name, Method method, boolean mapKeys, Class<?>[] memberTypes) {
+        return new BusinessMemberBuilder<>(name, getFunction(method), mapKeys, memberTypes, this::getSubBuilder);
     }
 
-    private Class<?> getRealType(Method method) {
-        Class<?> clazz = method.getReturnType();
-        if (clazz.isArray()) {
-            return clazz.getComponentType();
-        } else if (Collection.class.isAssignableFrom(clazz)) {
-            return getGenericTypeParameter(method);
-        } else {
-            return clazz;
+    private BValidatorBuilder<?> getSubBuilder(Class<?> memberType) {
+        BValidatorAnnotationBuilder<?> builder = graph.get(memberType);
+        if (builder == null) {
+            builder = new BValidatorAnnotationBuilder<>(memberType, useIndex, graph);
         }
+        return builder;
     }
 
-    private Class<?> getGenericTypeParameter(Method method) {
-        String genericType = method.getGenericReturnType().getTypeName();
-        if (genericType.contains("<") && genericType.contains(">")) {
-            String className = genericType.substring(genericType.indexOf("<") + 1, genericType.indexOf(">"));
-            try {
-                return Class.forName(className);
-            } catch (ClassNotFoundException e) {
-                throw new RuntimeException(e);
+    // validated types of a member: its return type, or the element types of a container, possibly nested
+    private Class<?>[] getElementTypes(Method method, boolean mapKeys) {
+        Set<Class<?>> types = new LinkedHashSet<>();
+        addElementTypes(method, method.getGenericReturnType(), mapKeys, types);
+        return types.toArray(new Class<?>[0]);
+    }
+
+    private void addElementTypes(Method method, Type type, boolean mapKeys, Set<Class<?>> types) {
+        if (type instanceof Class) {
+            Class<?> clazz = (Class<?>) type;
+            if (clazz.isArray()) {
+                addElementTypes(method, clazz.getComponentType(), mapKeys, types);
+            } else if (isContainer(clazz)) {
+                addElementTypes(method, getContainerSupertype(method, clazz), mapKeys, types);
+            } else {
+                types.add(clazz);
+            }
+        } else if (type instanceof ParameterizedType) {
+            Class<?> clazz = (Class<?>) ((ParameterizedType) type).getRawType();
+            Type[] arguments = ((ParameterizedType) type).getActualTypeArguments();
+            if (!isContainer(clazz)) {
+                types.add(clazz);
+            } else if (!clazz.getName().startsWith("java.")) {
+                addElementTypes(method, getContainerSupertype(method, clazz), mapKeys, types);
+            } else if (Map.class.isAssignableFrom(clazz)) {
+                if (mapKeys) {
+                    addElementTypes(method, arguments[0], false, types);
+                }
+                addElementTypes(method, arguments[1], mapKeys, types);
+            } else {
+                addElementTypes(method, arguments[0], mapKeys, types);
             }
+        } else if (type instanceof GenericArrayType) {
+            addElementTypes(method, ((GenericArrayType) type).getGenericComponentType(), mapKeys, types);
+        } else if (type instanceof WildcardType) {
+            addElementTypes(method, ((WildcardType) type).getUpperBounds()[0], mapKeys, types);
+        } else if (type instanceof TypeVariable) {
+            addElementTypes(method, ((TypeVariable<?>) type).getBounds()[0], mapKeys, types);
+        } else {
+            throw new IllegalBusinessObjectException("Cannot find generic type for method " + method.getName());
         }
-        throw new RuntimeException("Cannot find generic type for method " + method.getName());
     }
 
+    // collections are always traversed, other containers unless they are business objects themselves
+    private boolean isContainer(Class<?> clazz) {
+        return Collection.class.isAssignableFrom(clazz) || !isBusinessObject(clazz)
+                && (Iterable.class.isAssignableFrom(clazz) || Map.class.isAssignableFrom(clazz)
+                || Optional.class.equals(clazz) || Stream.class.isAssignableFrom(clazz));
+    }
+
+    // the container type a custom container class derives from, with its type arguments
+    private Type getContainerSupertype(Method method, Class<?> clazz) {
+        if (!clazz.getName().startsWith("java.")) {
+            List<Type> supertypes = new ArrayList<>(Arrays.asList(clazz.getGenericInterfaces()));
+            supertypes.add(0, clazz.getGenericSuperclass());
+            for (Type supertype : supertypes) {
+                Type raw = supertype instanceof ParameterizedType ? ((ParameterizedType) supertype).getRawType() : supertype;
+                if (raw instanceof Class && isContainer((Class<?>) raw)) {
+                    return supertype;
+                }
+            }
+        }
+        throw new IllegalBusinessObjectException("Cannot find generic type for method " + method.getName());
+    }
 
     private Class<?> assertBusinessObjectClass(Class<?> clazz) {
         if (!Object.class.equals(clazz) && (isBusinessObject(clazz) || hasASuperClassBusinessObject(clazz.getSuperclass()))) {
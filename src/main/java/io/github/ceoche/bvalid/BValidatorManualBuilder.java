@@ -15,12 +15,8 @@
  */
 package io.github.ceoche.bvalid;
 
-import java.util.HashMap;
-import java.util.LinkedHashSet;
-import java.util.Map;
-import java.util.Set;
-import java.util.function.Function;
-import java.util.function.Predicate;
+import java.util.*;
+import java.util.function.*;
 
 /**
  * Programmatic builder for a {@link BValidator}.
@@ -29,10 +25,17 @@ import java.util.function.Predicate;
  */
 public class BValidatorManualBuilder<T> extends AbstractBValidatorBuilder<T> {
 
+    /**
+     * Default maximum number of business objects given to a {@link BatchRule} in a single call.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 500;
+
     private final Set<BusinessRuleObject<T>> rules = new LinkedHashSet<>();
 
     private final Set<BusinessMemberBuilder<T, ?>> members = new LinkedHashSet<>();
 
+    private final List<PropertyRulesBuilder<T, ?>> properties = new ArrayList<>();
+
 
     /**
      * Constructor of BValidatorManualBuilder
@@ -53,6 +56,7 @@ public class BValidatorManualBuilder<T> extends AbstractBValidatorBuilder<T> {
         super(type);
         builder.rules.forEach(rule -> rules.add((BusinessRuleObject<T>) rule));
         builder.members.forEach(member -> members.add((BusinessMemberBuilder<T, ?>) member));
+        builder.properties.forEach(property -> properties.add(property.copyFor(this)));
     }
 
     /**
@@ -64,6 +68,24 @@ public class BValidatorManualBuilder<T> extends AbstractBValidatorBuilder<T> {
         return this;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BValidatorManualBuilder<T> setRegistry(BValidatorRegistry registry) {
+        super.setRegistry(registry);
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BValidatorManualBuilder<T> setLazy(boolean lazy) {
+        super.setLazy(lazy);
+        return this;
+    }
+
     @Override
     public Set<BusinessRuleObject<T>> getRules() {
         return rules;
@@ -74,6 +96,11 @@ public class BValidatorManualBuilder<T> extends AbstractBValidatorBuilder<T> {
         return members;
     }
 
+    @Override
+    List<PropertyRulesBuilder<T, ?>> getProperties() {
+        return properties;
+    }
+
     /**
      * Add a rule in form of Java Predicate {@link Predicate<T>} to the validator.
      *
@@ -84,13 +111,46 @@ public class BValidatorManualBuilder<T> extends AbstractBValidatorBuilder<T> {
      * @throws IllegalArgumentException if the rule is null
      */
     public BValidatorManualBuilder<T> addRule(String id, Predicate<T> rule, String description) {
+        return addRule(id, rule, description, RuleOptions.defaults());
+    }
+
+    /**
+     * Add a rule with the given options: its groups, its prerequisites and its cost hint.
+     *
+     * @param id          the requirement id of the rule
+     * @param rule        the rule to add
+     * @param description the description of the rule
+     * @param options     the options of the rule
+     * @return the builder
+     * @throws IllegalArgumentException if the rule or the options are null
+     * @see RuleOptions
+     */
+    public BValidatorManualBuilder<T> addRule(String id, Predicate<T> rule, String description, RuleOptions options) {
         if (rule == null) {
             throw new IllegalArgumentException("Rule predicate must not be null");
         }
-        rules.add(new BusinessRuleObject<>(id, rule, description));
+        rules.add(new BusinessRuleObject<>(id, rule, description, requireOptions(options)));
         return this;
     }
 
+    /**
+     * Add a rule belonging to the given groups on the validator. Only the rules of the selected groups are run by
+     * {@link BValidator#validate(Object, String...)}.
+     *
+     * @param id          the requirement id of the rule
+     * @param rule        the rule to add
+     * @param description the description of the rule
+     * @param groups      the groups of the rule, none for {@link BusinessRule#DEFAULT_GROUP}
+     * @return the builder
+     * @throws IllegalArgumentException if the rule or one of the groups is null
+     */
+    public BValidatorManualBuilder<T> addRule(String id, Predicate<T> rule, String description, String... groups) {
+        if (rule == null) {
+            throw new IllegalArgumentException("Rule predicate must not be null");
+        }
+        return addRule(id, rule, description, RuleOptions.defaults().inGroups(groups));
+    }
+
     /**
      * Add a rule in form of Java Predicate {@link Predicate<T>} to the validator.
      *
@@ -104,9 +164,311 @@ public class BValidatorManualBuilder<T> extends AbstractBValidatorBuilder<T> {
         return this;
     }
 
+    /**
+     * Add a rule with a hint of its cost relative to the other rules of the validator, for instance 1 for a null
+     * check and 100 for a lookup. In fail-fast mode, the cheapest rules are run first until statistics are available.
+     *
+     * @param id          the requirement id of the rule
+     * @param rule        the rule to add
+     * @param description the description of the rule
+     * @param cost        the relative cost of the rule, at least 1
+     * @return the builder
+     * @throws IllegalArgumentException if the rule is null or if the cost is not positive
+     * @see BValidator#failFast(boolean)
+     */
+    public BValidatorManualBuilder<T> addRule(String id, Predicate<T> rule, String description, int cost) {
+        if (rule == null) {
+            throw new IllegalArgumentException("Rule predicate must not be null");
+        }
+        return addRule(id, rule, description, RuleOptions.defaults().withCost(cost));
+    }
+
+    /**
+     * Add a rule that is only run if the rules of the given ids are valid, for instance a rule on the format of a
+     * postcode that requires the country to be defined. Otherwise, the rule is reported as skipped. Rules are run after
+     * their prerequisites, which must be rules of this validator, declared before or after this rule.
+     *
+     * @param id            the requirement id of the rule
+     * @param rule          the rule to add
+     * @param description   the description of the rule
+     * @param prerequisites the ids of the rules that must be valid to run this rule
+     * @return the builder
+     * @throws IllegalArgumentException if the rule is null, or if no prerequisite is given or one of them is empty
+     * @see BusinessRule#requires()
+     */
+    public BValidatorManualBuilder<T> addDependentRule(String id, Predicate<T> rule, String description, String... prerequisites) {
+        if (rule == null) {
+            throw new IllegalArgumentException("Rule predicate must not be null");
+        }
+        if (prerequisites == null || prerequisites.length == 0) {
+            throw new IllegalArgumentException("At least one prerequisite must be given");
+        }
+        return addRule(id, rule, description, RuleOptions.defaults().requires(prerequisites));
+    }
+
+    /**
+     * Add a rule that is also given the {@link ValidationContext} of the validation, to share values derived by
+     * several rules or for several objects during the same validation, and to access the business objects holding
+     * the validated one.
+     *
+     * @param id          the requirement id of the rule
+     * @param rule        the rule to add
+     * @param description the description of the rule
+     * @return the builder
+     * @throws IllegalArgumentException if the rule is null
+     */
+    public BValidatorManualBuilder<T> addContextRule(String id, BiPredicate<T, ValidationContext> rule, String description) {
+        return addContextRule(id, rule, description, RuleOptions.defaults());
+    }
+
+    /**
+     * Add a rule that is also given the {@link ValidationContext} of the validation, with the given options.
+     *
+     * @param id          the requirement id of the rule
+     * @param rule        the rule to add
+     * @param description the description of the rule
+     * @param options     the options of the rule
+     * @return the builder
+     * @throws IllegalArgumentException if the rule or the options are null
+     * @see #addContextRule(String, BiPredicate, String)
+     */
+    public BValidatorManualBuilder<T> addContextRule(String id, BiPredicate<T, ValidationContext> rule, String description, RuleOptions options) {
+        if (rule == null) {
+            throw new IllegalArgumentException("Rule predicate must not be null");
+        }
+        rules.add(new ContextRuleObject<>(id, rule, description, requireOptions(options)));
+        return this;
+    }
+
+    /**
+     * Add a rule evaluated on many business objects in a single call, for instance to verify them against an
+     * external reference. When a collection, or a member holding a group of business objects, is validated, the rule
+     * is called once per chunk of {@value #DEFAULT_BATCH_SIZE} objects at most.
+     *
+     * @param id          the requirement id of the rule
+     * @param rule        the batch rule to add
+     * @param description the description of the rule
+     * @return the builder
+     * @throws IllegalArgumentException if the rule is null
+     * @see #addBatchRule(String, BatchRule, String, int)
+     */
+    public BValidatorManualBuilder<T> addBatchRule(String id, BatchRule<T> rule, String description) {
+        return addBatchRule(id, rule, description, DEFAULT_BATCH_SIZE);
+    }
 
     /**
-     * Add a member to the validator.
+     * Add a rule evaluated on many business objects in a single call, for instance to verify them against an
+     * external reference. When a collection, or a member holding a group of business objects, is validated, the
+     * objects validated with this validator are gathered and the rule is called once per chunk of objects. An object
+     * validated alone is given to the rule in a list of one element.
+     *
+     * @param id          the requirement id of the rule
+     * @param rule        the batch rule to add
+     * @param description the description of the rule
+     * @param chunkSize   the maximum number of objects given to the rule in a single call
+     * @return the builder
+     * @throws IllegalArgumentException if the rule is null or if the chunk size is not positive
+     */
+    public BValidatorManualBuilder<T> addBatchRule(String id, BatchRule<T> rule, String description, int chunkSize) {
+        return addBatchRule(id, rule, description, chunkSize, RuleOptions.defaults());
+    }
+
+    /**
+     * Add a rule evaluated on many business objects in a single call, with the given options. A batch rule with
+     * prerequisites is only given the objects whose prerequisites are valid: if they are all batch rules, it is still
+     * evaluated per chunk, otherwise it is evaluated for each object once its prerequisites are verified.
+     *
+     * @param id          the requirement id of the rule
+     * @param rule        the batch rule to add
+     * @param description the description of the rule
+     * @param chunkSize   the maximum number of objects given to the rule in a single call
+     * @param options     the options of the rule
+     * @return the builder
+     * @throws IllegalArgumentException if the rule or the options are null, or if the chunk size is not positive
+     * @see #addBatchRule(String, BatchRule, String, int)
+     */
+    public BValidatorManualBuilder<T> addBatchRule(String id, BatchRule<T> rule, String description, int chunkSize, RuleOptions options) {
+        if (rule == null) {
+            throw new IllegalArgumentException("Batch rule must not be null");
+        }
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive");
+        }
+        rules.add(new BatchRuleObject<>(id, rule, description, chunkSize, requireOptions(options)));
+        return this;
+    }
+
+
+    /**
+     * Add a rule on an int property of the business object. The property is read with a {@link ToIntFunction} and
+     * tested with an {@link IntPredicate}, so the value is never boxed.
+     *
+     * @param id          the requirement id of the rule
+     * @param getter      the getter of the int property
+     * @param rule        the predicate to apply on the property
+     * @param description the description of the rule
+     * @return the builder
+     * @throws IllegalArgumentException if the getter or the rule is null
+     */
+    public BValidatorManualBuilder<T> addIntRule(String id, ToIntFunction<T> getter, IntPredicate rule, String description) {
+        return addIntRule(id, getter, rule, description, RuleOptions.defaults());
+    }
+
+    /**
+     * Add a rule on an int property of the business object, without boxing, with the given options.
+     *
+     * @param id          the requirement id of the rule
+     * @param getter      the getter of the int property
+     * @param rule        the predicate to apply on the property
+     * @param description the description of the rule
+     * @param options     the options of the rule
+     * @return the builder
+     * @throws IllegalArgumentException if the getter, the rule or the options are null
+     * @see #addIntRule(String, ToIntFunction, IntPredicate, String)
+     */
+    public BValidatorManualBuilder<T> addIntRule(String id, ToIntFunction<T> getter, IntPredicate rule, String description, RuleOptions options) {
+        assertPrimitiveRule(getter, rule);
+        return addRule(id, object -> rule.test(getter.applyAsInt(object)), description, options);
+    }
+
+    /**
+     * Add a rule on an int property of the business object, without boxing.
+     *
+     * @param getter      the getter of the int property
+     * @param rule        the predicate to apply on the property
+     * @param description the description of the rule
+     * @return the builder
+     * @throws IllegalArgumentException if the getter or the rule is null
+     * @see #addIntRule(String, ToIntFunction, IntPredicate, String)
+     */
+    public BValidatorManualBuilder<T> addIntRule(ToIntFunction<T> getter, IntPredicate rule, String description) {
+        return addIntRule("", getter, rule, description);
+    }
+
+    /**
+     * Add a rule on a long property of the business object. The property is read with a {@link ToLongFunction} and
+     * tested with a {@link LongPredicate}, so the value is never boxed.
+     *
+     * @param id          the requirement id of the rule
+     * @param getter      the getter of the long property
+     * @param rule        the predicate to apply on the property
+     * @param description the description of the rule
+     * @return the builder
+     * @throws IllegalArgumentException if the getter or the rule is null
+     */
+    public BValidatorManualBuilder<T> addLongRule(String id, ToLongFunction<T> getter, LongPredicate rule, String description) {
+        return addLongRule(id, getter, rule, description, RuleOptions.defaults());
+    }
+
+    /**
+     * Add a rule on a long property of the business object, without boxing, with the given options.
+     *
+     * @param id          the requirement id of the rule
+     * @param getter      the getter of the long property
+     * @param rule        the predicate to apply on the property
+     * @param description the description of the rule
+     * @param options     the options of the rule
+     * @return the builder
+     * @throws IllegalArgumentException if the getter, the rule or the options are null
+     * @see #addLongRule(String, ToLongFunction, LongPredicate, String)
+     */
+    public BValidatorManualBuilder<T> addLongRule(String id, ToLongFunction<T> getter, LongPredicate rule, String description, RuleOptions options) {
+        assertPrimitiveRule(getter, rule);
+        return addRule(id, object -> rule.test(getter.applyAsLong(object)), description, options);
+    }
+
+    /**
+     * Add a rule on a long property of the business object, without boxing.
+     *
+     * @param getter      the getter of the long property
+     * @param rule        the predicate to apply on the property
+     * @param description the description of the rule
+     * @return the builder
+     * @throws IllegalArgumentException if the getter or the rule is null
+     * @see #addLongRule(String, ToLongFunction, LongPredicate, String)
+     */
+    public BValidatorManualBuilder<T> addLongRule(ToLongFunction<T> getter, LongPredicate rule, String description) {
+        return addLongRule("", getter, rule, description);
+    }
+
+    /**
+     * Add a rule on a double property of the business object. The property is read with a {@link ToDoubleFunction}
+     * and tested with a {@link DoublePredicate}, so the value is never boxed.
+     *
+     * @param id          the requirement id of the rule
+     * @param getter      the getter of the double property
+     * @param rule        the predicate to apply on the property
+     * @param description the description of the rule
+     * @return the builder
+     * @throws IllegalArgumentException if the getter or the rule is null
+     */
+    public BValidatorManualBuilder<T> addDoubleRule(String id, ToDoubleFunction<T> getter, DoublePredicate rule, String description) {
+        return addDoubleRule(id, getter, rule, description, RuleOptions.defaults());
+    }
+
+    /**
+     * Add a rule on a double property of the business object, without boxing, with the given options.
+     *
+     * @param id          the requirement id of the rule
+     * @param getter      the getter of the double property
+     * @param rule        the predicate to apply on the property
+     * @param description the description of the rule
+     * @param options     the options of the rule
+     * @return the builder
+     * @throws IllegalArgumentException if the getter, the rule or the options are null
+     * @see #addDoubleRule(String, ToDoubleFunction, DoublePredicate, String)
+     */
+    public BValidatorManualBuilder<T> addDoubleRule(String id, ToDoubleFunction<T> getter, DoublePredicate rule, String description, RuleOptions options) {
+        assertPrimitiveRule(getter, rule);
+        return addRule(id, object -> rule.test(getter.applyAsDouble(object)), description, options);
+    }
+
+    /**
+     * Add a rule on a double property of the business object, without boxing.
+     *
+     * @param getter      the getter of the double property
+     * @param rule        the predicate to apply on the property
+     * @param description the description of the rule
+     * @return the builder
+     * @throws IllegalArgumentException if the getter or the rule is null
+     * @see #addDoubleRule(String, ToDoubleFunction, DoublePredicate, String)
+     */
+    public BValidatorManualBuilder<T> addDoubleRule(ToDoubleFunction<T> getter, DoublePredicate rule, String description) {
+        return addDoubleRule("", getter, rule, description);
+    }
+
+    /**
+     * Start a group of rules on a property of the business object. The getter is called once per validated object,
+     * and its value is given to every rule of the group. Call {@link PropertyRulesBuilder#end()} to go back to this
+     * builder:
+     * <pre>
+     * new BValidatorManualBuilder&lt;&gt;(Person.class)
+     *       .forProperty("postcode", person -&gt; person.getAddress().getPostcode())
+     *          .addRule(BasicRules::isDefined, "postcode must be defined")
+     *          .addRule(postcode -&gt; postcode == null || postcode.length() == 5, "postcode must have 5 digits")
+     *       .end()
+     *       .build();
+     * </pre>
+     *
+     * @param name   the name of the property, used in reporting
+     * @param getter the getter of the property in form of a Java Function {@link Function}
+     * @param <V>    the type of the property
+     * @return the group of rules of the property
+     * @throws IllegalArgumentException if the name or the getter is null
+     */
+    public <V> PropertyRulesBuilder<T, V> forProperty(String name, Function<T, V> getter) {
+        if (name == null || getter == null) {
+            throw new IllegalArgumentException("Name and getter must not be null");
+        }
+        PropertyRulesBuilder<T, V> property = new PropertyRulesBuilder<>(this, name, getter);
+        properties.add(property);
+        return property;
+    }
+
+    /**
+     * Add a member to the validator. The member value can be a business object, or a container of business objects:
+     * collection, array, values of a map, iterable, optional or stream, possibly nested. Containers are traversed in
+     * place, their elements are reported with their index, or their key for maps.
      *
      * @param name               the name of the field
      * @param getter             the getter of the field in form of a Java Function {@link Function}
@@ -117,10 +479,47 @@ public class BValidatorManualBuilder<T> extends AbstractBValidatorBuilder<T> {
      */
     @SafeVarargs
     public final <R> BValidatorManualBuilder<T> addMember(String name, Function<T, ?> getter, BValidatorBuilder<? extends R>... bValidatorBuilders) {
-        if (name == null || getter == null || isThereNullBuilder(bValidatorBuilders)) {
+        if (name == null || getter == null || bValidatorBuilders == null) {
+            throw new IllegalArgumentException("Name, getter and bValidatorBuilders must not be null");
+        }
+        // copied element by element, the array itself does not escape
+        List<BValidatorBuilder<? extends R>> builders = new ArrayList<>(bValidatorBuilders.length);
+        for (BValidatorBuilder<? extends R> bValidatorBuilder : bValidatorBuilders) {
+            if (bValidatorBuilder == null) {
+                throw new IllegalArgumentException("Name, getter and bValidatorBuilders must not be null");
+            }
+            builders.add(bValidatorBuilder);
+        }
+        members.add(new BusinessMemberBuilder<>(name, getter, false, builders));
+        return this;
+    }
+
+    /**
+     * Add a member holding maps, whose keys are validated in addition to their values. Keys are reported as
+     * {@code name.keys[key]} and values as {@code name[key]}. The builders must cover the types of both the keys and
+     * the values.
+     *
+     * @param name               the name of the field
+     * @param getter             the getter of the field in form of a Java Function {@link Function}
+     * @param bValidatorBuilders All the validators builders of the possible subtypes of the keys and values
+     * @param <R>                the type of the keys and values
+     * @return the builder
+     * @throws IllegalArgumentException if the name, getter or bValidatorBuilders are null
+     * @see #addMember(String, Function, BValidatorBuilder[])
+     */
+    @SafeVarargs
+    public final <R> BValidatorManualBuilder<T> addMemberWithMapKeys(String name, Function<T, ?> getter, BValidatorBuilder<? extends R>... bValidatorBuilders) {
+        if (name == null || getter == null || bValidatorBuilders == null) {
             throw new IllegalArgumentException("Name, getter and bValidatorBuilders must not be null");
         }
-        members.add(new BusinessMemberBuilder<>(name, getter, bValidatorBuilders));
+        List<BValidatorBuilder<? extends R>> builders = new ArrayList<>(bValidatorBuilders.length);
+        for (BValidatorBuilder<? extends R> bValidatorBuilder : bValidatorBuilders) {
+            if (bValidatorBuilder == null) {
+                throw new IllegalArgumentException("Name, getter and bValidatorBuilders must not be null");
+            }
+            builders.add(bValidatorBuilder);
+        }
+        members.add(new BusinessMemberBuilder<>(name, getter, true, builders));
         return this;
     }
 
@@ -158,18 +557,21 @@ public class BValidatorManualBuilder<T> extends AbstractBValidatorBuilder<T> {
      */
     @Override
     public BValidator<T> build() {
-        Map<AbstractBValidatorBuilder<?>, BValidator<?>> visitedBuilders = new HashMap<>();
-        return build(visitedBuilders);
+        return buildGraph(null);
     }
 
 
-    private boolean isThereNullBuilder(BValidatorBuilder<?>... bValidatorBuilders) {
-        for (BValidatorBuilder<?> bValidatorBuilder : bValidatorBuilders) {
-            if (bValidatorBuilder == null) {
-                return true;
-            }
+    static RuleOptions requireOptions(RuleOptions options) {
+        if (options == null) {
+            throw new IllegalArgumentException("Rule options must not be null");
+        }
+        return options;
+    }
+
+    private void assertPrimitiveRule(Object getter, Object rule) {
+        if (getter == null || rule == null) {
+            throw new IllegalArgumentException("Rule getter and predicate must not be null");
         }
-        return false;
     }
 
 }
@@ -0,0 +1,190 @@
+/*
+ * Copyright 2022-2023 Cédric Eoche-Duval
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * ou may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.ceoche.bvalid;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * <p>Thread-safe registry of {@link BValidator} keyed by the class of the validated business object. Building a
+ * validator scans and wraps the whole business object graph, so validators should be built once and shared: a
+ * registry builds the validator of each class at most once, even when several threads ask for it concurrently, and
+ * then always returns the same instance. The only exception is a builder supplier asking for other validators: such
+ * nested requests never wait for another thread, which could be waiting for them in turn, they build a validator
+ * themselves if needed and the first one registered wins.</p>
+ * <pre>
+ * BValidator&lt;Book&gt; bookValidator = BValidatorRegistry.getDefault().getValidator(Book.class);
+ * </pre>
+ * <p>Validators are attached to their class through a {@link ClassValue}, so a registry does not prevent the classes
+ * of an application from being unloaded. While building a validator, the registry lets the builder reuse the
+ * validators it already holds for the annotated members of the graph.</p>
+ *
+ * @author ceoche
+ * @see AbstractBValidatorBuilder#setRegistry(BValidatorRegistry)
+ */
+public final class BValidatorRegistry {
+
+    private static final BValidatorRegistry DEFAULT = new BValidatorRegistry();
+
+    // number of validators being built by the current thread
+    private static final ThreadLocal<int[]> BUILD_DEPTH = ThreadLocal.withInitial(() -> new int[1]);
+
+    // groups of the rules of all the validators built with this registry, so that they can be reused in any graph
+    private final RuleGroups ruleGroups = new RuleGroups();
+
+    private final ClassValue<Entry<?>> entries = new ClassValue<Entry<?>>() {
+        @Override
+        protected Entry<?> computeValue(Class<?> type) {
+            return new Entry<>();
+        }
+    };
+
+    /**
+     * Constructor of an empty registry. Prefer {@link #getDefault()} unless validators must be isolated.
+     */
+    public BValidatorRegistry() {
+        // empty registry
+    }
+
+    /**
+     * Get the registry shared by the whole application.
+     *
+     * @return the default registry.
+     */
+    public static BValidatorRegistry getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Get the validator of a class annotated with {@link BusinessObject}, building it with a
+     * {@link BValidatorAnnotationBuilder} the first time.
+     *
+     * @param type the class of the business object.
+     * @param <T>  the type of the business object.
+     * @return the validator of the class, always the same instance for this registry.
+     * @throws IllegalBusinessObjectException if the class is not a valid business object.
+     * @throws NullPointerException           if the type is null.
+     */
+    public <T> BValidator<T> getValidator(Class<T> type) {
+        return getValidator(type, () -> new BValidatorAnnotationBuilder<>(type));
+    }
+
+    /**
+     * Get the validator of a class, building it with a builder from the given supplier the first time. Once a
+     * validator is registered for a class, the supplier is not used anymore.
+     *
+     * @param type            the class of the business object.
+     * @param builderSupplier supplier of the builder to use if no validator is registered yet for the class.
+     * @param <T>             the type of the business object.
+     * @return the validator of the class, always the same instance for this registry.
+     * @throws NullPointerException if the type or the supplier is null.
+     */
+    public <T> BValidator<T> getValidator(Class<T> type, Supplier<? extends BValidatorBuilder<T>> builderSupplier) {
+        Objects.requireNonNull(builderSupplier, "Builder supplier must not be null");
+        return getEntry(type).get(this, builderSupplier);
+    }
+
+    /**
+     * Verify whether a validator has already been built for the given class.
+     *
+     * @param type the class of the business object.
+     * @return true if a validator is registered for the class, false otherwise.
+     */
+    public boolean contains(Class<?> type) {
+        return getEntry(type).registration.get() != null;
+    }
+
+    RuleGroups getRuleGroups() {
+        return ruleGroups;
+    }
+
+    /**
+     * Get the registered validator that the given builder would build, without building anything. Only validators
+     * built from annotations can be substituted: the builder must be a {@link BValidatorAnnotationBuilder} with the
+     * same business object name, and the validator must share the rule groups of the graph being built.
+     */
+    BValidator<?> peek(AbstractBValidatorBuilder<?> builder, RuleGroups graphGroups) {
+        if (!(builder instanceof BValidatorAnnotationBuilder)) {
+            return null;
+        }
+        Registration<?> registration = getEntry(builder.type).registration.get();
+        if (registration != null && registration.fromAnnotations && registration.validator.getRuleGroups() == graphGroups
+                && Objects.equals(registration.validator.getBusinessObjectName(), builder.getBusinessObjectName())) {
+            return registration.validator;
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Entry<T> getEntry(Class<T> type) {
+        return (Entry<T>) entries.get(Objects.requireNonNull(type, "Type must not be null"));
+    }
+
+    /**
+     * Validator registered for a class, with the kind of builder that built it.
+     */
+    private static class Registration<T> {
+
+        private final BValidator<T> validator;
+
+        private final boolean fromAnnotations;
+
+        private Registration(BValidator<T> validator, boolean fromAnnotations) {
+            this.validator = validator;
+            this.fromAnnotations = fromAnnotations;
+        }
+    }
+
+    /**
+     * Memoized validator of a class.
+     */
+    private static class Entry<T> {
+
+        private final AtomicReference<Registration<T>> registration = new AtomicReference<>();
+
+        private BValidator<T> get(BValidatorRegistry registry, Supplier<? extends BValidatorBuilder<T>> builderSupplier) {
+            Registration<T> result = registration.get();
+            if (result != null) {
+                return result.validator;
+            }
+            if (BUILD_DEPTH.get()[0] > 0) {
+                // asked by a builder supplier: the thread building this class may be waiting for the current one
+                return build(registry, builderSupplier);
+            }
+            synchronized (this) {
+                result = registration.get();
+                return result != null ? result.validator : build(registry, builderSupplier);
+            }
+        }
+
+        private BValidator<T> build(BValidatorRegistry registry, Supplier<? extends BValidatorBuilder<T>> builderSupplier) {
+            int[] depth = BUILD_DEPTH.get();
+            depth[0]++;
+            Registration<T> built;
+            try {
+                BValidatorBuilder<T> builder = builderSupplier.get();
+                BValidator<T> validator = builder instanceof AbstractBValidatorBuilder
+                        ? ((AbstractBValidatorBuilder<T>) builder).buildGraph(registry)
+                        : builder.build();
+                built = new Registration<>(validator, builder instanceof BValidatorAnnotationBuilder);
+            } finally {
+                depth[0]--;
+            }
+            return registration.compareAndSet(null, built) ? built.validator : registration.get().validator;
+        }
+    }
+}
@@ -15,8 +15,14 @@
  */
 package io.github.ceoche.bvalid;
 
-import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.SortedSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 /**
@@ -27,6 +33,19 @@ import java.util.regex.Pattern;
  */
 public class BasicRules {
 
+   /**
+    * Maximum number of compiled patterns kept by {@link #matches(String, String)}. Business rules usually use a
+    * handful of constant expressions, the bound only protects against rules building expressions dynamically.
+    */
+   static final int PATTERN_CACHE_SIZE = 256;
+
+   private static final ConcurrentMap<String, Pattern> PATTERN_CACHE = new ConcurrentHashMap<>();
+
+   // small direct-mapped table of matchers per thread, indexed by pattern identity
+   private static final int MATCHER_CACHE_SIZE = 16;
+
+   private static final ThreadLocal<Matcher[]> MATCHER_CACHE = ThreadLocal.withInitial(() -> new Matcher[MATCHER_CACHE_SIZE]);
+
    private BasicRules() {
    }
 
@@ -37,7 +56,19 @@ public class BasicRules {
     * @return true if the attribute is not null and not blank (trimmed and not empty)
     */
    public static boolean isDefined(String attributeValue) {
-      return attributeValue != null && !attributeValue.trim().isEmpty();
+      return attributeValue != null && !isBlank(attributeValue);
+   }
+
+   /**
+    * Verify whether a character sequence attribute, for instance a {@link StringBuilder} or a
+    * {@link java.nio.CharBuffer}, is defined, aka not null nor blank. The sequence is scanned in place, without
+    * being converted to a String.
+    *
+    * @param attributeValue to verify
+    * @return true if the attribute is not null and not blank (trimmed and not empty)
+    */
+   public static boolean isDefined(CharSequence attributeValue) {
+      return attributeValue != null && !isBlank(attributeValue);
    }
 
    /**
@@ -61,7 +92,18 @@ public class BasicRules {
     * otherwise
     */
    public static boolean isDefinedIfPresent(String attributeValue) {
-      return attributeValue == null || !attributeValue.trim().isEmpty();
+      return attributeValue == null || !isBlank(attributeValue);
+   }
+
+   /**
+    * Verify whether an optional character sequence attribute is defined if present, aka not blank.
+    *
+    * @param attributeValue to verify
+    * @return true if the attribute is null or if it is not blank (trimmed and not empty), false
+    * otherwise
+    */
+   public static boolean isDefinedIfPresent(CharSequence attributeValue) {
+      return attributeValue == null || !isBlank(attributeValue);
    }
 
    /**
@@ -92,15 +134,32 @@ public class BasicRules {
     * false otherwise.
     */
    public static boolean hasDefinedElements(Collection<?> collection) {
-      if (collection != null) {
-         try {
-            return !collection.contains(null);
-         } catch (NullPointerException e) {
-            return true;
-         }
-      } else {
+      if (collection == null) {
          return false;
       }
+      if (collection instanceof RandomAccess && collection instanceof List) {
+         List<?> list = (List<?>) collection;
+         for (int index = 0, size = list.size(); index < size; index++) {
+            if (list.get(index) == null) {
+               return false;
+            }
+         }
+         return true;
+      }
+      if (collection instanceof HashSet) {
+         // hashed sets answer contains(null) without a scan
+         return !collection.contains(null);
+      }
+      if (collection instanceof SortedSet && ((SortedSet<?>) collection).comparator() == null) {
+         // elements in their natural order cannot be null
+         return true;
+      }
+      for (Object element : collection) {
+         if (element == null) {
+            return false;
+         }
+      }
+      return true;
    }
 
    /**
@@ -111,7 +170,15 @@ public class BasicRules {
     * otherwise.
     */
    public static boolean hasDefinedElements(Object[] objects) {
-      return hasDefinedElements(Arrays.asList(objects));
+      if (objects == null) {
+         return false;
+      }
+      for (Object object : objects) {
+         if (object == null) {
+            return false;
+         }
+      }
+      return true;
    }
 
    /**
@@ -139,18 +206,90 @@ public class BasicRules {
    }
 
    /**
-    * Verify whether a String is matching the given pattern.
+    * Start a rule verifying several properties of a collection in a single pass over its elements, for instance
+    * {@code BasicRules.<Book>collection().notEmpty().noNulls().uniqueBy(Book::getIsbn)}.
+    *
+    * @param <E> the type of the elements of the collection.
+    * @return a new {@link CollectionRule} without any check.
+    */
+   public static <E> CollectionRule<E> collection() {
+      return new CollectionRule<>();
+   }
+
+   /**
+    * Verify whether a String is matching the given pattern. Compiled patterns are cached, so constant expressions
+    * are only compiled once.
     *
     * @param regexp  the regular expression to match
     * @param subject the subject of the pattern test.
     * @return true if the subject is matching the regexp, false if not or if either regexp or
     * subject is null.
+    * @throws java.util.regex.PatternSyntaxException if the regular expression is invalid.
     */
    public static boolean matches(String regexp, String subject) {
       if (regexp != null && subject != null) {
-         return Pattern.compile(regexp).matcher(subject).matches();
+         return matchesPattern(getPattern(regexp), subject);
+      } else {
+         return false;
+      }
+   }
+
+   /**
+    * Verify whether a character sequence is matching the given precompiled pattern. Prefer this method with a
+    * {@code static final} pattern for rules evaluated very often. Named differently from
+    * {@link #matches(String, String)} so that calls with a null expression stay unambiguous.
+    *
+    * @param pattern the compiled regular expression to match
+    * @param subject the subject of the pattern test.
+    * @return true if the subject is matching the pattern, false if not or if either pattern or
+    * subject is null.
+    */
+   public static boolean matchesPattern(Pattern pattern, CharSequence subject) {
+      if (pattern != null && subject != null) {
+         Matcher[] matchers = MATCHER_CACHE.get();
+         int slot = System.identityHashCode(pattern) & (MATCHER_CACHE_SIZE - 1);
+         Matcher matcher = matchers[slot];
+         if (matcher == null || matcher.pattern() != pattern) {
+            matcher = pattern.matcher(subject);
+            matchers[slot] = matcher;
+         } else {
+            matcher.reset(subject);
+         }
+         boolean matches = matcher.matches();
+         // do not retain the subject in the cached matcher
+         matcher.reset("");
+         return matches;
       } else {
          return false;
       }
    }
+
+   // same definition of blank as String.trim(): only characters lower or equal to space
+   private static boolean isBlank(CharSequence value) {
+      for (int index = 0, length = value.length(); index < length; index++) {
+         if (value.charAt(index) > ' ') {
+            return false;
+         }
+      }
+      return true;
+   }
+
+   static Pattern getPattern(String regexp) {
+      Pattern pattern = PATTERN_CACHE.get(regexp);
+      if (pattern == null) {
+         pattern = Pattern.compile(regexp);
+         if (PATTERN_CACHE.size() >= PATTERN_CACHE_SIZE) {
+            PATTERN_CACHE.clear();
+         }
+         Pattern cached = PATTERN_CACHE.putIfAbsent(regexp, pattern);
+         if (cached != null) {
+            pattern = cached;
+         }
+      }
+      return pattern;
+   }
+
+   static int getPatternCacheSize() {
+      return PATTERN_CACHE.size();
+   }
 }
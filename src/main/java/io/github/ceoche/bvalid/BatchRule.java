@@ -0,0 +1,48 @@
+/*
+ * Copyright 2022-2023 Cédric Eoche-Duval
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * ou may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.ceoche.bvalid;
+
+import java.util.List;
+
+/**
+ * <p>Business rule evaluated on many business objects in a single call. Checking each object against an external
+ * reference, for instance a database table, costs a round trip per object with a {@link java.util.function.Predicate};
+ * a batch rule verifies a whole chunk of objects at once.</p>
+ * <p>When a {@link BValidator} validates a collection, or a member holding a group of business objects, the objects
+ * validated by the same validator are gathered and the batch rule is called once per chunk. The outcomes are then
+ * reported in the {@link ObjectResult} of each object, as for any other rule. An object validated alone is given to
+ * the batch rule in a list of one element.</p>
+ * <pre>{@code
+ * new BValidatorManualBuilder<>(Book.class)
+ *       .addBatchRule("R010", books -> catalog.exist(books), "Book must be in the catalog")
+ * }</pre>
+ *
+ * @param <T> the type of the business objects on which the rule applies.
+ * @author ceoche
+ * @see BValidatorManualBuilder#addBatchRule(String, BatchRule, String, int)
+ */
+@FunctionalInterface
+public interface BatchRule<T> {
+
+    /**
+     * Verify a chunk of business objects.
+     *
+     * @param objects the business objects to verify, never empty.
+     * @return the outcome of the rule for each object, in the order of the given list: true if the object respects
+     * the rule, false otherwise.
+     */
+    boolean[] test(List<T> objects);
+}
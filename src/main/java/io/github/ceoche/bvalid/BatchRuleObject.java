@@ -0,0 +1,103 @@
+/*
+ * Copyright 2022-2023 Cédric Eoche-Duval
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * ou may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.ceoche.bvalid;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A {@link BusinessRuleObject} backed by a {@link BatchRule}. Its outcomes are evaluated ahead for chunks of business
+ * objects and kept in the {@link ValidationState} until each object is validated, see {@link BatchWindow}.
+ * Class not intended to be used outside the library.
+ *
+ * @param <T> the type of the business object on which the rule apply.
+ */
+class BatchRuleObject<T> extends BusinessRuleObject<T> {
+
+    private final BatchRule<T> batchRule;
+
+    private final int chunkSize;
+
+    /**
+     * Constructor of a BatchRuleObject.
+     *
+     * @param id          id of the rule. Used for requirement engineering.
+     * @param batchRule   rule that will be applied to chunks of business objects.
+     * @param description Textual description of the rule.
+     * @param chunkSize   maximum number of business objects given to the rule in a single call.
+     * @param options     groups, prerequisites and cost hint of the rule.
+     */
+    BatchRuleObject(String id, BatchRule<T> batchRule, String description, int chunkSize, RuleOptions options) {
+        super(id, object -> testAlone(batchRule, object), description, options);
+        this.batchRule = batchRule;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Evaluate the rule on the given business objects, one call per chunk, and keep the outcomes in the state of the
+     * validation.
+     *
+     * @param objects the business objects to verify.
+     * @param state   state of the validation receiving the outcomes.
+     * @throws IllegalStateException if the rule does not return one outcome per object.
+     */
+    void evaluate(List<T> objects, ValidationState state) {
+        for (int start = 0, size = objects.size(); start < size; start += chunkSize) {
+            List<T> chunk = objects.subList(start, Math.min(size, start + chunkSize));
+            boolean[] outcomes = test(batchRule, chunk);
+            for (int index = 0; index < outcomes.length; index++) {
+                state.putBatchOutcome(this, chunk.get(index), outcomes[index]);
+            }
+        }
+    }
+
+    int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * Forget the outcomes evaluated ahead for the given business objects that were not taken by their validation,
+     * for instance when a prerequisite of the rule was invalid.
+     *
+     * @param objects the business objects given to {@link #evaluate(List, ValidationState)}.
+     * @param state   state of the validation holding the outcomes.
+     */
+    void discard(List<T> objects, ValidationState state) {
+        for (T object : objects) {
+            state.takeBatchOutcome(this, object);
+        }
+    }
+
+    // outcome evaluated ahead with the chunk of the object if any, else the object is verified alone
+    @Override
+    boolean apply(T object, ValidationState state) {
+        Boolean outcome = state.takeBatchOutcome(this, object);
+        return outcome != null ? outcome : apply(object);
+    }
+
+    private static <T> boolean testAlone(BatchRule<T> batchRule, T object) {
+        return test(batchRule, Collections.singletonList(object))[0];
+    }
+
+    private static <T> boolean[] test(BatchRule<T> batchRule, List<T> objects) {
+        boolean[] outcomes = batchRule.test(objects);
+        if (outcomes == null || outcomes.length != objects.size()) {
+            throw new IllegalStateException("Batch rule must return one outcome per object: expected " +
+                    objects.size() + " outcome(s) but got " + (outcomes == null ? "none" : outcomes.length));
+        }
+        return outcomes;
+    }
+}
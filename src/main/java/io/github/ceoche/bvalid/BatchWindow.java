@@ -0,0 +1,160 @@
+/*
+ * Copyright 2022-2023 Cédric Eoche-Duval
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * ou may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.ceoche.bvalid;
+
+import java.util.*;
+
+/**
+ * Evaluation of the {@link BatchRule} of the elements of a collection or of a container, one window of elements at a
+ * time. The elements of the next window are read with a second iterator when the validation reaches them, so the
+ * outcomes are only held for the elements about to be validated, and a validation stopping at the first failure does
+ * not pay for the elements after the current window. Outcomes that were not taken are dropped with their window.
+ * Class not intended to be used outside the library.
+ */
+final class BatchWindow {
+
+    private final Iterator<?> ahead;
+
+    // validator of all the elements, or null to dispatch them with the member
+    private final BValidator<?> validator;
+
+    private final BusinessMemberObject<?, ?> member;
+
+    private final int size;
+
+    private final long groups;
+
+    private Map<BValidator<?>, List<Object>> elementsByValidator = Collections.emptyMap();
+
+    // elements, or map entries, of the current window that are not validated yet
+    private int remaining;
+
+    private BatchWindow(Iterator<?> ahead, BValidator<?> validator, BusinessMemberObject<?, ?> member, int size, long groups) {
+        this.ahead = ahead;
+        this.validator = validator;
+        this.member = member;
+        this.size = size;
+        this.groups = groups;
+    }
+
+    /**
+     * Create the window of a collection validated by a single validator.
+     *
+     * @param collection the validated collection.
+     * @param validator  the validator of the elements, with batch rules.
+     * @param groups     the selected groups.
+     * @return the window, positioned before the first element.
+     */
+    static BatchWindow of(Collection<?> collection, BValidator<?> validator, long groups) {
+        return new BatchWindow(collection.iterator(), validator, null, validator.getBatchWindow(), groups);
+    }
+
+    /**
+     * Create the window of a container held by a member, whose elements are dispatched to the validators of their type.
+     * Maps are read entry by entry.
+     *
+     * @param container the value of the member, a collection, an array, a map or an iterable.
+     * @param member    the member holding the container.
+     * @param groups    the selected groups.
+     * @return the window positioned before the first element, or null if the container cannot be read twice.
+     */
+    static BatchWindow of(Object container, BusinessMemberObject<?, ?> member, long groups) {
+        Iterator<?> ahead;
+        if (container instanceof Object[]) {
+            ahead = Arrays.asList((Object[]) container).iterator();
+        } else if (container instanceof Map) {
+            ahead = ((Map<?, ?>) container).entrySet().iterator();
+        } else if (container instanceof Iterable) {
+            ahead = ((Iterable<?>) container).iterator();
+        } else {
+            return null;
+        }
+        return new BatchWindow(ahead, null, member, member.getBatchWindow(), groups);
+    }
+
+    /**
+     * Move to the next element, or map entry, evaluating the batch rules of the next window when the current one is
+     * done. Must be called before the validation of each element.
+     *
+     * @param state the state of the validation receiving the outcomes.
+     */
+    void advance(ValidationState state) {
+        if (remaining == 0) {
+            discard(state);
+            fill();
+            evaluate(state);
+        }
+        remaining--;
+    }
+
+    /**
+     * Drop the outcomes of the current window that were not taken.
+     *
+     * @param state the state of the validation holding the outcomes.
+     */
+    void close(ValidationState state) {
+        discard(state);
+        elementsByValidator = Collections.emptyMap();
+    }
+
+    private void fill() {
+        elementsByValidator = new HashMap<>();
+        while (remaining < size && ahead.hasNext()) {
+            Object next = ahead.next();
+            if (next instanceof Map.Entry) {
+                Map.Entry<?, ?> entry = (Map.Entry<?, ?>) next;
+                if (member.isMapKeys()) {
+                    add(entry.getKey());
+                }
+                add(entry.getValue());
+            } else {
+                add(next);
+            }
+            remaining++;
+        }
+    }
+
+    private void add(Object element) {
+        if (element instanceof Optional) {
+            element = ((Optional<?>) element).orElse(null);
+        }
+        if (element == null) {
+            return;
+        }
+        BValidator<?> elementValidator = validator;
+        if (elementValidator == null) {
+            BusinessMemberObject.Dispatch dispatch = member.getDispatch(element.getClass());
+            elementValidator = !dispatch.isContainer() ? dispatch.getValidator() : null;
+        }
+        if (elementValidator != null && elementValidator.hasBatchRules()) {
+            elementsByValidator.computeIfAbsent(elementValidator, key -> new ArrayList<>()).add(element);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void evaluate(ValidationState state) {
+        for (Map.Entry<BValidator<?>, List<Object>> entry : elementsByValidator.entrySet()) {
+            ((BValidator<Object>) entry.getKey()).evaluateBatchRules(entry.getValue(), groups, state);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void discard(ValidationState state) {
+        for (Map.Entry<BValidator<?>, List<Object>> entry : elementsByValidator.entrySet()) {
+            ((BValidator<Object>) entry.getKey()).discardBatchOutcomes(entry.getValue(), groups, state);
+        }
+    }
+}
@@ -42,4 +42,12 @@ public @interface BusinessMember {
      * @return the name of the business member.
      */
     String name() default "";
+
+    /**
+     * Validate the keys of the maps held by the member, in addition to their values. Keys are reported as
+     * {@code member.keys[key]}, values as {@code member[key]}.
+     *
+     * @return true to validate the keys of the maps.
+     */
+    boolean mapKeys() default false;
 }
@@ -15,6 +15,8 @@
  */
 package io.github.ceoche.bvalid;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.function.Function;
 
 /**
@@ -31,13 +33,45 @@ class BusinessMemberBuilder<T, R> {
 
     private final Function<T, ?> getter;
 
-    private final BValidatorBuilder<? extends R>[] validatorBuilder;
+    private final boolean mapKeys;
 
-    @SafeVarargs
-    BusinessMemberBuilder(String name, Function<T, ?> getter, BValidatorBuilder<? extends R>... bValidatorBuilder) {
+    private final Class<?>[] deferredTypes;
+
+    private Function<Class<?>, BValidatorBuilder<?>> deferredBuilders;
+
+    private List<BValidatorBuilder<? extends R>> validatorBuilders;
+
+    /**
+     * Constructor of a member with the validator builders of the types it holds.
+     *
+     * @param name              the name of the member.
+     * @param getter            the getter of the member.
+     * @param mapKeys           true to validate the keys of map values of the member, in addition to their values.
+     * @param validatorBuilders the builders of the possible types of the member.
+     */
+    BusinessMemberBuilder(String name, Function<T, ?> getter, boolean mapKeys, List<BValidatorBuilder<? extends R>> validatorBuilders) {
         this.name = name;
         this.getter = getter;
-        this.validatorBuilder = bValidatorBuilder;
+        this.mapKeys = mapKeys;
+        this.validatorBuilders = validatorBuilders;
+        this.deferredTypes = null;
+    }
+
+    /**
+     * Constructor of a member whose validator builders are only created when they are first needed.
+     *
+     * @param name     the name of the member.
+     * @param getter   the getter of the member.
+     * @param mapKeys  true to validate the keys of map values of the member, in addition to their values.
+     * @param types    the types validated by the builders.
+     * @param builders the factory of the builder of each type, called once per type.
+     */
+    BusinessMemberBuilder(String name, Function<T, ?> getter, boolean mapKeys, Class<?>[] types, Function<Class<?>, BValidatorBuilder<?>> builders) {
+        this.name = name;
+        this.getter = getter;
+        this.mapKeys = mapKeys;
+        this.deferredTypes = types;
+        this.deferredBuilders = builders;
     }
 
     String getName() {
@@ -48,8 +82,38 @@ class BusinessMemberBuilder<T, R> {
         return getter;
     }
 
-    BValidatorBuilder<? extends R>[] getValidatorBuilders() {
-        return validatorBuilder;
+    boolean isMapKeys() {
+        return mapKeys;
+    }
+
+    @SuppressWarnings("unchecked")
+    synchronized List<BValidatorBuilder<? extends R>> getValidatorBuilders() {
+        if (validatorBuilders == null) {
+            List<BValidatorBuilder<? extends R>> builders = new ArrayList<>(deferredTypes.length);
+            for (Class<?> deferredType : deferredTypes) {
+                builders.add((BValidatorBuilder<? extends R>) deferredBuilders.apply(deferredType));
+            }
+            validatorBuilders = builders;
+            deferredBuilders = null;
+        }
+        return validatorBuilders;
+    }
+
+    /**
+     * Get the types validated by the builders of this member, without creating deferred builders.
+     *
+     * @return the validated types, in the order of {@link #getValidatorBuilders()}.
+     */
+    Class<?>[] getValidatorTypes() {
+        if (deferredTypes != null) {
+            return deferredTypes.clone();
+        }
+        List<BValidatorBuilder<? extends R>> builders = getValidatorBuilders();
+        Class<?>[] types = new Class<?>[builders.size()];
+        for (int i = 0; i < types.length; i++) {
+            types[i] = ((AbstractBValidatorBuilder<?>) builders.get(i)).type;
+        }
+        return types;
     }
 
 }
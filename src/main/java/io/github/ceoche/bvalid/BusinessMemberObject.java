@@ -15,9 +15,22 @@
  */
 package io.github.ceoche.bvalid;
 
+import java.lang.ref.WeakReference;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 class BusinessMemberObject<T,R> {
 
@@ -25,11 +38,41 @@ class BusinessMemberObject<T,R> {
 
     private final Function<T, ?> getter;
 
+    private final boolean mapKeys;
+
     private final Map<Class<? extends R>,BValidator<? extends R>> validators;
 
+    // validators to build on first encounter of their type, in lazy mode, dropped once built to release the builders
+    private final Map<Class<?>, Supplier<BValidator<?>>> validatorSuppliers = new ConcurrentHashMap<>();
+
+    // validator resolved for each concrete type met, including types without validator, held by the types themselves
+    // so that the cache does not keep classes of other class loaders from being unloaded
+    private final ClassValue<Dispatch> dispatchCache = new ClassValue<>() {
+        @Override
+        protected Dispatch computeValue(Class<?> type) {
+            return createDispatch(type);
+        }
+    };
+
+    // last resolved type, the values of most members are all of the same type
+    private Dispatch lastDispatch;
+
+    // groups of the rules reachable from this member, computed once all its validators are built
+    private volatile long reachableGroups;
+
+    private volatile boolean reachableGroupsComputed;
+
+    // number of elements whose batch rules are evaluated together, 0 without batch rules, -1 until computed
+    private volatile int batchWindow = -1;
+
     BusinessMemberObject(String name, Function<T, ?> getter, Map<Class<? extends R>,BValidator<? extends R>> validators) {
+        this(name, getter, false, validators);
+    }
+
+    BusinessMemberObject(String name, Function<T, ?> getter, boolean mapKeys, Map<Class<? extends R>,BValidator<? extends R>> validators) {
         this.name = name;
         this.getter = getter;
+        this.mapKeys = mapKeys;
         this.validators = validators;
     }
 
@@ -41,11 +84,158 @@ class BusinessMemberObject<T,R> {
         return getter.apply(object);
     }
 
+    boolean isMapKeys() {
+        return mapKeys;
+    }
+
     void addValidator(Class<? extends R> clazz, BValidator<? extends R> validator) {
         this.validators.put(clazz, validator);
 
     }
 
+    void addValidatorSupplier(Class<?> clazz, Supplier<BValidator<?>> validatorSupplier) {
+        this.validatorSuppliers.put(clazz, validatorSupplier);
+    }
+
+    /**
+     * Get the validator of the given type, building it if it is validated for the first time in lazy mode.
+     *
+     * @param clazz the exact type of the member value.
+     * @return the validator of the type, or null if the member has no validator for this exact type.
+     */
+    @SuppressWarnings("unchecked")
+    BValidator<? extends R> getValidator(Class<?> clazz) {
+        BValidator<? extends R> validator = validators.get(clazz);
+        if (validator == null) {
+            Supplier<BValidator<?>> validatorSupplier = validatorSuppliers.get(clazz);
+            if (validatorSupplier != null) {
+                validator = (BValidator<? extends R>) validatorSupplier.get();
+                validators.put((Class<? extends R>) clazz, validator);
+                validatorSuppliers.remove(clazz);
+            } else {
+                // built meanwhile by another thread, which registers the validator before dropping the supplier
+                validator = validators.get(clazz);
+            }
+        }
+        return validator;
+    }
+
+    /**
+     * Get how to validate a member value of the given concrete type: with the validator of the type itself, else of
+     * its closest super-class, else of the first of its interfaces, searched from the most specific ones, or by
+     * traversing it if it is a container. The resolution is done once per concrete type, then costs a single lookup.
+     *
+     * @param clazz the concrete type of the member value.
+     * @return the dispatch of the type.
+     */
+    Dispatch getDispatch(Class<?> clazz) {
+        Dispatch dispatch = lastDispatch;
+        if (dispatch == null || dispatch.type != clazz) {
+            dispatch = dispatchCache.get(clazz);
+            lastDispatch = dispatch;
+        }
+        return dispatch;
+    }
+
+    // collections and arrays are always traversed, other containers only if they have no validator of their own
+    private Dispatch createDispatch(Class<?> clazz) {
+        if (Collection.class.isAssignableFrom(clazz) || Object[].class.isAssignableFrom(clazz)) {
+            return new Dispatch(clazz, null, true);
+        }
+        BValidator<? extends R> validator = resolveValidator(clazz);
+        boolean container = validator == null && (Map.class.isAssignableFrom(clazz) || Iterable.class.isAssignableFrom(clazz)
+                || Optional.class.equals(clazz) || Stream.class.isAssignableFrom(clazz));
+        return new Dispatch(clazz, validator, container);
+    }
+
+    private BValidator<? extends R> resolveValidator(Class<?> clazz) {
+        Deque<Class<?>> interfaces = new ArrayDeque<>();
+        for (Class<?> type = clazz; type != null; type = type.getSuperclass()) {
+            BValidator<? extends R> validator = getValidator(type);
+            if (validator != null) {
+                return validator;
+            }
+            interfaces.addAll(Arrays.asList(type.getInterfaces()));
+        }
+        Set<Class<?>> visitedInterfaces = new HashSet<>();
+        while (!interfaces.isEmpty()) {
+            Class<?> type = interfaces.poll();
+            if (visitedInterfaces.add(type)) {
+                BValidator<? extends R> validator = getValidator(type);
+                if (validator != null) {
+                    return validator;
+                }
+                interfaces.addAll(Arrays.asList(type.getInterfaces()));
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Get the groups of all the rules reachable from this member, in its validators and their own members. A member
+     * with no rule of the selected groups can be skipped without getting its value.
+     *
+     * @return the mask of the groups, {@link RuleGroups#ALL} if some validators are not built yet in lazy mode.
+     */
+    long getReachableGroups() {
+        if (!reachableGroupsComputed) {
+            if (!validatorSuppliers.isEmpty()) {
+                return RuleGroups.ALL;
+            }
+            long groups = collectGroups(Collections.newSetFromMap(new IdentityHashMap<>()));
+            if (groups == RuleGroups.ALL) {
+                // validators of deeper members are not all built yet
+                return groups;
+            }
+            reachableGroups = groups;
+            reachableGroupsComputed = true;
+        }
+        return reachableGroups;
+    }
+
+    /**
+     * Verify if the elements of this member may be validated with {@link BatchRule}, in which case they are gathered
+     * to evaluate the batch rules ahead.
+     *
+     * @return true if a validator of the member has batch rules, or if some validators are not built yet.
+     */
+    boolean hasBatchRules() {
+        return getBatchWindow() > 0;
+    }
+
+    /**
+     * Get the number of elements of this member whose batch rules are evaluated together, ahead of their validation.
+     *
+     * @return the largest chunk size of the batch rules of the validators, 0 if they have none, or
+     * {@link BValidatorManualBuilder#DEFAULT_BATCH_SIZE} if some validators are not built yet.
+     * @see BatchWindow
+     */
+    int getBatchWindow() {
+        int result = batchWindow;
+        if (result < 0) {
+            if (!validatorSuppliers.isEmpty()) {
+                return BValidatorManualBuilder.DEFAULT_BATCH_SIZE;
+            }
+            result = validators.values().stream().mapToInt(BValidator::getBatchWindow).max().orElse(0);
+            batchWindow = result;
+        }
+        return result;
+    }
+
+    long collectGroups(Set<BValidator<?>> visitedValidators) {
+        if (!validatorSuppliers.isEmpty()) {
+            // validators built on first encounter may hold any group
+            return RuleGroups.ALL;
+        }
+        long groups = 0;
+        for (BValidator<?> validator : validators.values()) {
+            if (visitedValidators.add(validator)) {
+                groups |= validator.collectGroups(visitedValidators);
+            }
+        }
+        return groups;
+    }
+
     public Map<Class<? extends R>, BValidator<? extends R>> getValidators() {
         return validators;
     }
@@ -62,4 +252,35 @@ class BusinessMemberObject<T,R> {
     public int hashCode() {
         return Objects.hash(name);
     }
+
+    /**
+     * Dispatch resolved for a concrete type, immutable so that it can be shared between threads without locking.
+     * The dispatch is held by the type: the validator is only weakly referenced, so that a type used for the whole
+     * life of the application does not keep the validators of a discarded validator graph. The validator is strongly
+     * held by the member as long as the member is used.
+     */
+    static final class Dispatch {
+
+        private final Class<?> type;
+
+        private final WeakReference<BValidator<?>> validator;
+
+        private final boolean container;
+
+        private Dispatch(Class<?> type, BValidator<?> validator, boolean container) {
+            this.type = type;
+            this.validator = validator != null ? new WeakReference<>(validator) : null;
+            this.container = container;
+        }
+
+        // validator of the type, null if the type has none
+        BValidator<?> getValidator() {
+            return validator != null ? validator.get() : null;
+        }
+
+        // true if values of the type are containers whose elements are validated
+        boolean isContainer() {
+            return container;
+        }
+    }
 }
@@ -0,0 +1,299 @@
+/*
+ * Copyright 2022-2023 Cédric Eoche-Duval
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * ou may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.ceoche.bvalid;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * Index of the rules, constraints and members declared by a class, written at compile time by
+ * {@link BusinessObjectIndexProcessor} in {@code META-INF/bvalid/<binary class name>.index}.
+ * The index is a UTF-8 text file: a header line, the fingerprint of the annotated methods of the class, then one
+ * tab-separated entry per annotated method declared by the class, in their declaration order. Tabs, line breaks and
+ * backslashes in the values are escaped with a backslash.
+ * <p>Inherited methods are not indexed, they are read from the index of the class declaring them. The index only
+ * locates the annotated methods: the attributes of the rules and members are always read from their annotations.
+ * The fingerprint lists the annotated methods with their return type, an index whose fingerprint does not match the
+ * class anymore, for instance after an incremental compilation, must not be used.</p>
+ * Class not intended to be used outside the library.
+ */
+final class BusinessObjectIndex {
+
+    static final String HEADER = "bvalid-index 2";
+
+    static final String FINGERPRINT = "fingerprint";
+
+    static final String RULE = "rule";
+
+    static final String CONSTRAINT = "constraint";
+
+    static final String MEMBER = "member";
+
+    private final String fingerprint;
+
+    private final List<Entry> entries;
+
+    private BusinessObjectIndex(String fingerprint, List<Entry> entries) {
+        this.fingerprint = fingerprint;
+        this.entries = Collections.unmodifiableList(entries);
+    }
+
+    static String getResourceName(String binaryName) {
+        return "META-INF/bvalid/" + binaryName + ".index";
+    }
+
+    /**
+     * Load the index of a class from its class loader.
+     *
+     * @param clazz the class.
+     * @return the index, or null if the class has no index or if it cannot be read.
+     */
+    static BusinessObjectIndex load(Class<?> clazz) {
+        try (InputStream input = clazz.getResourceAsStream("/" + getResourceName(clazz.getName()))) {
+            return input == null ? null : read(new InputStreamReader(input, StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Read an index.
+     *
+     * @param reader the content of the index.
+     * @return the index, or null if the content is not an index of this version.
+     * @throws IOException if an I/O error occurs while reading.
+     */
+    static BusinessObjectIndex read(Reader reader) throws IOException {
+        BufferedReader lines = new BufferedReader(reader);
+        if (!HEADER.equals(lines.readLine())) {
+            return null;
+        }
+        String fingerprint = null;
+        List<Entry> entries = new ArrayList<>();
+        String line;
+        while ((line = lines.readLine()) != null) {
+            if (!line.isEmpty()) {
+                String[] fields = line.split("\t", -1);
+                for (int i = 0; i < fields.length; i++) {
+                    fields[i] = unescape(fields[i]);
+                }
+                if (fields.length < 2) {
+                    return null;
+                }
+                if (FINGERPRINT.equals(fields[0])) {
+                    fingerprint = fields[1];
+                } else {
+                    entries.add(new Entry(fields[0], fields[1], fields.length > 2 ? fields[2] : ""));
+                }
+            }
+        }
+        return fingerprint != null ? new BusinessObjectIndex(fingerprint, entries) : null;
+    }
+
+    /**
+     * Get the token of an annotated method in the fingerprint of its class.
+     *
+     * @param method     the name of the method.
+     * @param nbOfParams the number of parameters of the method.
+     * @param returnType the return type of the method, rendered like {@link #typeName(Type)}.
+     * @param rule       true if the method is a {@link BusinessRule}.
+     * @param constraint true if the method has constraint annotations.
+     * @param member     true if the method is a {@link BusinessMember}.
+     * @return the token.
+     */
+    static String token(String method, int nbOfParams, String returnType, boolean rule, boolean constraint, boolean member) {
+        return method + "(" + nbOfParams + ")" + returnType + ":" + (rule ? "R" : "") + (constraint ? "C" : "")
+                + (member ? "M" : "");
+    }
+
+    /**
+     * Get the fingerprint of a class from the tokens of its annotated methods, in any order.
+     *
+     * @param tokens the tokens of the annotated methods.
+     * @return the fingerprint.
+     */
+    static String fingerprint(List<String> tokens) {
+        List<String> sorted = new ArrayList<>(tokens);
+        Collections.sort(sorted);
+        return String.join(";", sorted);
+    }
+
+    /**
+     * Get the fingerprint of the public annotated methods declared by a class, as computed by the processor.
+     *
+     * @param declaredMethods the methods declared by the class.
+     * @return the fingerprint.
+     */
+    static String fingerprint(Method[] declaredMethods) {
+        List<String> tokens = new ArrayList<>();
+        for (Method method : declaredMethods) {
+            if (!isIndexable(method)) {
+                continue;
+            }
+            boolean rule = method.isAnnotationPresent(BusinessRule.class);
+            boolean constraint = ConstraintRules.hasConstraints(method);
+            boolean member = method.isAnnotationPresent(BusinessMember.class);
+            if (rule || constraint || member) {
+                tokens.add(token(method.getName(), method.getParameterCount(), typeName(method.getGenericReturnType()),
+                        rule, constraint, member));
+            }
+        }
+        return fingerprint(tokens);
+    }
+
+    /**
+     * Render a type in the fingerprint: canonical names, with the type arguments separated by commas. Rendered the
+     * same way by the processor.
+     *
+     * @param type the type.
+     * @return the name of the type, for instance {@code java.util.List<java.lang.String[]>}.
+     */
+    static String typeName(Type type) {
+        if (type instanceof Class) {
+            Class<?> clazz = (Class<?>) type;
+            if (clazz.isArray()) {
+                return typeName(clazz.getComponentType()) + "[]";
+            }
+            return clazz.getCanonicalName() != null ? clazz.getCanonicalName() : clazz.getName();
+        } else if (type instanceof ParameterizedType) {
+            StringJoiner arguments = new StringJoiner(",", "<", ">");
+            for (Type argument : ((ParameterizedType) type).getActualTypeArguments()) {
+                arguments.add(typeName(argument));
+            }
+            return typeName(((ParameterizedType) type).getRawType()) + arguments;
+        } else if (type instanceof GenericArrayType) {
+            return typeName(((GenericArrayType) type).getGenericComponentType()) + "[]";
+        } else if (type instanceof WildcardType) {
+            WildcardType wildcard = (WildcardType) type;
+            if (wildcard.getLowerBounds().length > 0) {
+                return "? super " + typeName(wildcard.getLowerBounds()[0]);
+            }
+            Type upperBound = wildcard.getUpperBounds()[0];
+            return Object.class.equals(upperBound) ? "?" : "? extends " + typeName(upperBound);
+        }
+        return type.getTypeName();
+    }
+
+    // methods the processor sees: public and in the source
+    static boolean isIndexable(Method method) {
+        return Modifier.isPublic(method.getModifiers()) && !method.isBridge() && !method.isSynthetic();
+    }
+
+    /**
+     * Check that this index still describes the given methods.
+     *
+     * @param declaredMethods the methods declared by the indexed class.
+     * @return true if the annotated methods are the ones indexed.
+     */
+    boolean matches(Method[] declaredMethods) {
+        return fingerprint.equals(fingerprint(declaredMethods));
+    }
+
+    static String entry(String kind, String... values) {
+        StringBuilder sb = new StringBuilder(kind);
+        for (String value : values) {
+            sb.append('\t');
+            escape(value, sb);
+        }
+        return sb.toString();
+    }
+
+    List<Entry> getEntries() {
+        return entries;
+    }
+
+    private static void escape(String value, StringBuilder sb) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\':
+                    sb.append("\\\\");
+                    break;
+                case '\t':
+                    sb.append("\\t");
+                    break;
+                case '\n':
+                    sb.append("\\n");
+                    break;
+                case '\r':
+                    sb.append("\\r");
+                    break;
+                default:
+                    sb.append(c);
+            }
+        }
+    }
+
+    private static String unescape(String value) {
+        if (value.indexOf('\\') < 0) {
+            return value;
+        }
+        StringBuilder sb = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\' && i + 1 < value.length()) {
+                char escaped = value.charAt(++i);
+                sb.append(escaped == 't' ? '\t' : escaped == 'n' ? '\n' : escaped == 'r' ? '\r' : escaped);
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Entry of the index: the kind and the name of an annotated method. For a member, the value is the binary names
+     * of the validated element types, separated by commas.
+     */
+    static final class Entry {
+
+        private final String kind;
+        private final String method;
+        private final String value;
+
+        private Entry(String kind, String method, String value) {
+            this.kind = kind;
+            this.method = method;
+            this.value = value;
+        }
+
+        String getKind() {
+            return kind;
+        }
+
+        String getMethod() {
+            return method;
+        }
+
+        String getValue() {
+            return value;
+        }
+    }
+}
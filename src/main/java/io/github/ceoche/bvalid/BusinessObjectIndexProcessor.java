@@ -0,0 +1,225 @@
+/*
+ * Copyright 2022-2023 Cédric Eoche-Duval
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * ou may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.ceoche.bvalid;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.TypeVariable;
+import javax.lang.model.type.WildcardType;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.stream.Stream;
+
+/**
+ * <p>Annotation processor that writes, at compile time, an index of the rules, constraints and members declared by
+ * every {@link BusinessObject} and its supertypes. {@link BValidatorAnnotationBuilder} reads the index of each class
+ * of the hierarchy instead of resolving the element types of the members by reflection, which shortens the first
+ * build of a validator.</p>
+ * <p>The processor is registered as a service of the library: it is run by {@code javac} for any module that has
+ * BValid on its compilation class path. Classes without an index, or with an index that no longer matches the
+ * class, are still scanned by reflection.</p>
+ *
+ * @author ceoche
+ */
+@SupportedAnnotationTypes("*")
+public class BusinessObjectIndexProcessor extends AbstractProcessor {
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element element : roundEnv.getRootElements()) {
+            indexTypes(element);
+        }
+        return false;
+    }
+
+    private void indexTypes(Element element) {
+        if (element.getKind() == ElementKind.CLASS || element.getKind() == ElementKind.INTERFACE
+                || element.getKind() == ElementKind.ENUM) {
+            TypeElement type = (TypeElement) element;
+            List<String> tokens = new ArrayList<>();
+            List<String> entries = getEntries(type, tokens);
+            if (entries != null && (!entries.isEmpty() || isBusinessObject(type))) {
+                writeIndex(type, BusinessObjectIndex.fingerprint(tokens), entries);
+            }
+            for (Element enclosed : type.getEnclosedElements()) {
+                indexTypes(enclosed);
+            }
+        }
+    }
+
+    // entries of the methods declared by the type, or null if a member type cannot be resolved statically
+    private List<String> getEntries(TypeElement type, List<String> tokens) {
+        List<String> entries = new ArrayList<>();
+        for (Element member : type.getEnclosedElements()) {
+            if (member.getKind() != ElementKind.METHOD || !member.getModifiers().contains(Modifier.PUBLIC)) {
+                continue;
+            }
+            ExecutableElement method = (ExecutableElement) member;
+            String name = method.getSimpleName().toString();
+            boolean rule = method.getAnnotation(BusinessRule.class) != null;
+            boolean constraint = method.getAnnotation(Defined.class) != null || method.getAnnotation(Matches.class) != null
+                    || method.getAnnotation(Size.class) != null || method.getAnnotation(Range.class) != null;
+            BusinessMember businessMember = method.getAnnotation(BusinessMember.class);
+            if (rule) {
+                entries.add(BusinessObjectIndex.entry(BusinessObjectIndex.RULE, name));
+            }
+            if (constraint) {
+                entries.add(BusinessObjectIndex.entry(BusinessObjectIndex.CONSTRAINT, name));
+            }
+            if (businessMember != null) {
+                Set<String> elementTypes = new LinkedHashSet<>();
+                if (!addElementTypes(method.getReturnType(), businessMember.mapKeys(), elementTypes)) {
+                    return null;
+                }
+                entries.add(BusinessObjectIndex.entry(BusinessObjectIndex.MEMBER, name, String.join(",", elementTypes)));
+            }
+            if (rule || constraint || businessMember != null) {
+                tokens.add(BusinessObjectIndex.token(name, method.getParameters().size(),
+                        typeName(method.getReturnType()), rule, constraint, businessMember != null));
+            }
+        }
+        return entries;
+    }
+
+    // same rendering as BusinessObjectIndex.typeName(Type)
+    private String typeName(TypeMirror type) {
+        switch (type.getKind()) {
+            case ARRAY:
+                return typeName(((ArrayType) type).getComponentType()) + "[]";
+            case DECLARED:
+                String name = ((TypeElement) processingEnv.getTypeUtils().asElement(type)).getQualifiedName().toString();
+                List<? extends TypeMirror> arguments = ((DeclaredType) type).getTypeArguments();
+                if (arguments.isEmpty()) {
+                    return name;
+                }
+                StringJoiner joiner = new StringJoiner(",", "<", ">");
+                for (TypeMirror argument : arguments) {
+                    joiner.add(typeName(argument));
+                }
+                return name + joiner;
+            case WILDCARD:
+                WildcardType wildcard = (WildcardType) type;
+                if (wildcard.getSuperBound() != null) {
+                    return "? super " + typeName(wildcard.getSuperBound());
+                }
+                return wildcard.getExtendsBound() != null ? "? extends " + typeName(wildcard.getExtendsBound()) : "?";
+            case TYPEVAR:
+                return ((TypeVariable) type).asElement().getSimpleName().toString();
+            default:
+                return type.toString();
+        }
+    }
+
+    private boolean isBusinessObject(TypeElement type) {
+        TypeElement current = type;
+        while (current != null && !current.getQualifiedName().contentEquals(Object.class.getName())) {
+            if (current.getAnnotation(BusinessObject.class) != null) {
+                return true;
+            }
+            TypeMirror superclass = current.getSuperclass();
+            current = superclass.getKind() == TypeKind.DECLARED
+                    ? (TypeElement) processingEnv.getTypeUtils().asElement(superclass) : null;
+        }
+        return false;
+    }
+
+    // same resolution as BValidatorAnnotationBuilder, false for the types it resolves with reflection only
+    private boolean addElementTypes(TypeMirror type, boolean mapKeys, Set<String> elementTypes) {
+        if (type.getKind() == TypeKind.ARRAY) {
+            return addElementTypes(((ArrayType) type).getComponentType(), mapKeys, elementTypes);
+        }
+        if (type.getKind() != TypeKind.DECLARED) {
+            return false;
+        }
+        TypeElement element = (TypeElement) processingEnv.getTypeUtils().asElement(type);
+        if (!isContainer(type, element)) {
+            elementTypes.add(processingEnv.getElementUtils().getBinaryName(element).toString());
+            return true;
+        }
+        List<? extends TypeMirror> arguments = ((DeclaredType) type).getTypeArguments();
+        if (!element.getQualifiedName().toString().startsWith("java.") || arguments.isEmpty()) {
+            return false;
+        }
+        if (isAssignable(type, Map.class)) {
+            return (!mapKeys || addElementTypes(arguments.get(0), false, elementTypes))
+                    && addElementTypes(arguments.get(1), mapKeys, elementTypes);
+        }
+        return addElementTypes(arguments.get(0), mapKeys, elementTypes);
+    }
+
+    private boolean isContainer(TypeMirror type, TypeElement element) {
+        return isAssignable(type, Collection.class) || element.getAnnotation(BusinessObject.class) == null
+                && (isAssignable(type, Iterable.class) || isAssignable(type, Map.class)
+                || element.getQualifiedName().contentEquals(Optional.class.getName()) || isAssignable(type, Stream.class));
+    }
+
+    private boolean isAssignable(TypeMirror type, Class<?> target) {
+        Types types = processingEnv.getTypeUtils();
+        TypeElement targetElement = processingEnv.getElementUtils().getTypeElement(target.getName());
+        return types.isAssignable(types.erasure(type), types.erasure(targetElement.asType()));
+    }
+
+    private void writeIndex(TypeElement type, String fingerprint, List<String> entries) {
+        String binaryName = processingEnv.getElementUtils().getBinaryName(type).toString();
+        try {
+            FileObject resource = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "",
+                    BusinessObjectIndex.getResourceName(binaryName), type);
+            try (Writer writer = new OutputStreamWriter(resource.openOutputStream(), StandardCharsets.UTF_8)) {
+                writer.write(BusinessObjectIndex.HEADER);
+                writer.write('\n');
+                writer.write(BusinessObjectIndex.entry(BusinessObjectIndex.FINGERPRINT, fingerprint));
+                writer.write('\n');
+                for (String entry : entries) {
+                    writer.write(entry);
+                    writer.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                    "Cannot write the BValid index of " + binaryName + ": " + e.getMessage(), type);
+        }
+    }
+}
@@ -47,6 +47,11 @@ import java.lang.annotation.Target;
 @Target(ElementType.METHOD)
 public @interface BusinessRule {
 
+    /**
+     * Group of the rules declared without any group.
+     */
+    String DEFAULT_GROUP = "default";
+
     /**
      * Identifier of the business rule. To be used in an environment that requires requirement traceability.
      *
@@ -60,4 +65,32 @@ public @interface BusinessRule {
      * @return the description of the rule.
      */
     String description();
+
+    /**
+     * Groups of the business rule, to run only a subset of the rules with {@link BValidator#validate(Object,
+     * String...)}, for instance the rules of a draft but not the ones of a submission. A rule without group belongs to
+     * {@link #DEFAULT_GROUP}.
+     *
+     * @return the groups of the business rule.
+     */
+    String[] groups() default {};
+
+    /**
+     * Ids of the business rules of the same business object that must be valid for this rule to be run, for instance
+     * a rule on the format of a postcode may require the rule verifying the country is defined. When a prerequisite is
+     * not valid, or is itself skipped, the rule is reported as skipped without being run.
+     *
+     * @return the ids of the prerequisite rules.
+     */
+    String[] requires() default {};
+
+    /**
+     * Relative cost of the business rule compared to the other rules of the business object, for instance 1 for a
+     * null check and 100 for a lookup. In fail-fast mode, the cheapest rules are run first until statistics are
+     * available.
+     *
+     * @return the cost hint of the business rule, at least 1.
+     * @see BValidator#failFast(boolean)
+     */
+    int cost() default 1;
 }
@@ -33,6 +33,19 @@ class BusinessRuleObject<T> {
 
     private final Predicate<T> rule;
 
+    private final RuleResult validResult;
+
+    private final RuleResult invalidResult;
+
+    private final RuleResult skippedResult;
+
+    private final String[] prerequisites;
+
+    private final int cost;
+
+    private final String[] groups;
+
+    private final int hashCode;
 
     /**
      * Constructor of a BusinessRuleObject.
@@ -52,9 +65,83 @@ class BusinessRuleObject<T> {
      * @param description Textual description of the rule.
      */
     BusinessRuleObject(String id, Predicate<T> rule, String description) {
+        this(id, rule, description, new String[0]);
+    }
+
+    /**
+     * Constructor of a BusinessRuleObject with a requirement id and groups.
+     *
+     * @param id          id of the rule. Used for requirement engineering.
+     * @param rule        Java predicate (assertion) that will be applied during the validation to assess whether the rule is respected or not.
+     * @param description Textual description of the rule.
+     * @param groups      groups of the rule, none for the default group.
+     * @throws IllegalArgumentException if a group is null.
+     */
+    BusinessRuleObject(String id, Predicate<T> rule, String description, String[] groups) {
+        this(id, rule, description, groups, new String[0]);
+    }
+
+    /**
+     * Constructor of a BusinessRuleObject with a requirement id, groups and prerequisites.
+     *
+     * @param id            id of the rule. Used for requirement engineering.
+     * @param rule          Java predicate (assertion) that will be applied during the validation to assess whether the rule is respected or not.
+     * @param description   Textual description of the rule.
+     * @param groups        groups of the rule, none for the default group.
+     * @param prerequisites ids of the rules of the same business object that must be valid for this rule to be run.
+     * @throws IllegalArgumentException if a group or a prerequisite is null or empty.
+     */
+    BusinessRuleObject(String id, Predicate<T> rule, String description, String[] groups, String[] prerequisites) {
+        this(id, rule, description, groups, prerequisites, 1);
+    }
+
+    /**
+     * Constructor of a BusinessRuleObject with a requirement id and options.
+     *
+     * @param id          id of the rule. Used for requirement engineering.
+     * @param rule        Java predicate (assertion) that will be applied during the validation to assess whether the rule is respected or not.
+     * @param description Textual description of the rule.
+     * @param options     groups, prerequisites and cost hint of the rule.
+     */
+    BusinessRuleObject(String id, Predicate<T> rule, String description, RuleOptions options) {
+        this(id, rule, description, options.getGroups(), options.getPrerequisites(), options.getCost());
+    }
+
+    /**
+     * Constructor of a BusinessRuleObject with a requirement id, groups, prerequisites and a cost hint.
+     *
+     * @param id            id of the rule. Used for requirement engineering.
+     * @param rule          Java predicate (assertion) that will be applied during the validation to assess whether the rule is respected or not.
+     * @param description   Textual description of the rule.
+     * @param groups        groups of the rule, none for the default group.
+     * @param prerequisites ids of the rules of the same business object that must be valid for this rule to be run.
+     * @param cost          relative cost of the rule, to run the cheapest rules first in fail-fast mode.
+     * @throws IllegalArgumentException if a group or a prerequisite is null or empty, or if the cost is not positive.
+     */
+    BusinessRuleObject(String id, Predicate<T> rule, String description, String[] groups, String[] prerequisites, int cost) {
+        if (cost < 1) {
+            throw new IllegalArgumentException("Rule cost must be positive");
+        }
+        this.cost = cost;
+        for (String prerequisite : prerequisites) {
+            if (prerequisite == null || prerequisite.isEmpty()) {
+                throw new IllegalArgumentException("Rule prerequisite must be the id of a rule");
+            }
+        }
+        this.prerequisites = prerequisites.clone();
+        for (String group : groups) {
+            if (group == null) {
+                throw new IllegalArgumentException("Rule group must not be null");
+            }
+        }
+        this.groups = groups.clone();
         this.id = id != null ? id : "";
         this.description = description;
         this.rule = rule;
+        this.validResult = new RuleResult(this.id, description, true);
+        this.invalidResult = new RuleResult(this.id, description, false);
+        this.skippedResult = new RuleResult(this.id, description, true, true);
+        this.hashCode = Objects.hash(description, rule);
     }
 
     /**
@@ -75,10 +162,70 @@ class BusinessRuleObject<T> {
         return description;
     }
 
-    Boolean apply(T object) {
+    /**
+     * Get the names of the groups of the rule. Their mask depends on the graph of validators holding the rule.
+     *
+     * @return the groups of the rule, empty for the default group.
+     * @see RuleGroups#declare(String[])
+     */
+    String[] getGroups() {
+        return groups;
+    }
+
+    boolean apply(T object) {
+        return rule.test(object);
+    }
+
+    /**
+     * Apply the rule to an object during a validation.
+     *
+     * @param object the business object to verify.
+     * @param state  state of the validation running the rule.
+     * @return true if the object respects the rule, false otherwise.
+     */
+    boolean apply(T object, ValidationState state) {
         return rule.test(object);
     }
 
+    /**
+     * Get the shared result of this rule for the given outcome. {@link RuleResult} being immutable, only two
+     * instances exist per rule and they are reused by every validation.
+     *
+     * @param valid outcome of the rule.
+     * @return the valid or the invalid result of this rule.
+     */
+    RuleResult getResult(boolean valid) {
+        return valid ? validResult : invalidResult;
+    }
+
+    /**
+     * Get the shared result of this rule when it is skipped because a prerequisite is not valid.
+     *
+     * @return the skipped result of this rule.
+     */
+    RuleResult getSkippedResult() {
+        return skippedResult;
+    }
+
+    /**
+     * Get the relative cost hint of the rule.
+     *
+     * @return the cost of the rule, 1 by default.
+     * @see RuleScheduler
+     */
+    int getCost() {
+        return cost;
+    }
+
+    /**
+     * Get the ids of the rules that must be valid for this rule to be run.
+     *
+     * @return the ids of the prerequisites, empty if the rule has none.
+     */
+    String[] getPrerequisites() {
+        return prerequisites;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -91,6 +238,6 @@ class BusinessRuleObject<T> {
 
     @Override
     public int hashCode() {
-        return Objects.hash(description, rule);
+        return hashCode;
     }
 }
@@ -0,0 +1,258 @@
+/*
+ * Copyright 2022-2023 Cédric Eoche-Duval
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * ou may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.ceoche.bvalid;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * <p>Fluent rule checking several properties of a collection in a single pass over its elements. Size checks are
+ * done first, without iterating; all the element checks (null elements, unique keys, order, element predicate) are
+ * then done in one loop, which stops at the first failure.</p>
+ * <pre>
+ * private static final CollectionRule&lt;Book&gt; BOOKS_RULE = BasicRules.&lt;Book&gt;collection()
+ *       .notEmpty().noNulls().maxSize(10_000).uniqueBy(Book::getIsbn);
+ * [...]
+ * &#64;BusinessRule("Books must be defined and unique")
+ * public boolean isBooksValid() {
+ *    return BOOKS_RULE.test(books);
+ * }
+ * </pre>
+ * <p>A rule is immutable: each configuration method returns a new rule and leaves the current one unchanged, so a
+ * rule handed to a builder or shared as a constant cannot be altered afterwards, and can be tested concurrently by
+ * several threads.</p>
+ *
+ * @param <E> the type of the elements of the collection.
+ * @author ceoche
+ * @see BasicRules#collection()
+ */
+public class CollectionRule<E> implements Predicate<Collection<? extends E>> {
+
+    private final int minSize;
+
+    private final int maxSize;
+
+    private final boolean noNulls;
+
+    private final List<Function<? super E, ?>> uniqueKeys;
+
+    private final List<Comparator<? super E>> orders;
+
+    private final List<Predicate<? super E>> elementRules;
+
+    CollectionRule() {
+        // use BasicRules.collection()
+        this(0, Integer.MAX_VALUE, false, List.of(), List.of(), List.of());
+    }
+
+    private CollectionRule(int minSize, int maxSize, boolean noNulls, List<Function<? super E, ?>> uniqueKeys,
+                           List<Comparator<? super E>> orders, List<Predicate<? super E>> elementRules) {
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.noNulls = noNulls;
+        this.uniqueKeys = uniqueKeys;
+        this.orders = orders;
+        this.elementRules = elementRules;
+    }
+
+    /**
+     * Require the collection to have at least one element.
+     *
+     * @return a new rule with this check added.
+     * @throws IllegalArgumentException if the maximum size is 0.
+     */
+    public CollectionRule<E> notEmpty() {
+        return minSize(Math.max(minSize, 1));
+    }
+
+    /**
+     * Require the collection to have at least the given number of elements.
+     *
+     * @param minSize minimum number of elements.
+     * @return a new rule with this check added.
+     * @throws IllegalArgumentException if the size is negative or greater than the maximum size.
+     */
+    public CollectionRule<E> minSize(int minSize) {
+        if (minSize < 0) {
+            throw new IllegalArgumentException("Minimum size must not be negative");
+        }
+        if (minSize > maxSize) {
+            throw new IllegalArgumentException("Minimum size " + minSize + " must not be greater than maximum size " + maxSize);
+        }
+        return new CollectionRule<>(minSize, maxSize, noNulls, uniqueKeys, orders, elementRules);
+    }
+
+    /**
+     * Require the collection to have at most the given number of elements.
+     *
+     * @param maxSize maximum number of elements.
+     * @return a new rule with this check added.
+     * @throws IllegalArgumentException if the size is negative or lower than the minimum size.
+     */
+    public CollectionRule<E> maxSize(int maxSize) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("Maximum size must not be negative");
+        }
+        if (maxSize < minSize) {
+            throw new IllegalArgumentException("Maximum size " + maxSize + " must not be lower than minimum size " + minSize);
+        }
+        return new CollectionRule<>(minSize, maxSize, noNulls, uniqueKeys, orders, elementRules);
+    }
+
+    /**
+     * Require the collection not to contain any null element.
+     *
+     * @return a new rule with this check added.
+     */
+    public CollectionRule<E> noNulls() {
+        return new CollectionRule<>(minSize, maxSize, true, uniqueKeys, orders, elementRules);
+    }
+
+    /**
+     * Require the non-null elements of the collection to have distinct keys, compared with {@code equals}.
+     *
+     * @param key function extracting the key of an element, for instance an identifier.
+     * @return a new rule with this check added.
+     * @throws NullPointerException if the key function is null.
+     */
+    public CollectionRule<E> uniqueBy(Function<? super E, ?> key) {
+        return new CollectionRule<>(minSize, maxSize, noNulls,
+                append(uniqueKeys, Objects.requireNonNull(key, "Key function must not be null")), orders, elementRules);
+    }
+
+    /**
+     * Require the non-null elements of the collection to be in ascending order, equal elements being allowed.
+     *
+     * @param comparator comparator defining the expected order.
+     * @return a new rule with this check added.
+     * @throws NullPointerException if the comparator is null.
+     */
+    public CollectionRule<E> sortedBy(Comparator<? super E> comparator) {
+        return new CollectionRule<>(minSize, maxSize, noNulls, uniqueKeys,
+                append(orders, Objects.requireNonNull(comparator, "Comparator must not be null")), elementRules);
+    }
+
+    /**
+     * Require all the non-null elements of the collection to match the given predicate.
+     *
+     * @param elementRule predicate to verify on each element.
+     * @return a new rule with this check added.
+     * @throws NullPointerException if the predicate is null.
+     */
+    public CollectionRule<E> allMatch(Predicate<? super E> elementRule) {
+        return new CollectionRule<>(minSize, maxSize, noNulls, uniqueKeys, orders,
+                append(elementRules, Objects.requireNonNull(elementRule, "Element rule must not be null")));
+    }
+
+    /**
+     * Verify the collection against all the configured checks.
+     *
+     * @param collection the collection to verify.
+     * @return true if the collection is not null and respects all the checks, false otherwise.
+     */
+    @Override
+    public boolean test(Collection<? extends E> collection) {
+        if (collection == null) {
+            return false;
+        }
+        int size = collection.size();
+        if (size < minSize || size > maxSize) {
+            return false;
+        }
+        if (!hasElementChecks()) {
+            return true;
+        }
+        ElementChecker checker = new ElementChecker();
+        if (collection instanceof RandomAccess && collection instanceof List) {
+            List<? extends E> list = (List<? extends E>) collection;
+            for (int index = 0; index < size; index++) {
+                if (!checker.check(list.get(index))) {
+                    return false;
+                }
+            }
+        } else {
+            for (E element : collection) {
+                if (!checker.check(element)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Verify an array against all the configured checks.
+     *
+     * @param array the array to verify.
+     * @return true if the array is not null and respects all the checks, false otherwise.
+     */
+    public boolean test(E[] array) {
+        return array != null && test(Arrays.asList(array));
+    }
+
+    private static <C> List<C> append(List<C> checks, C check) {
+        List<C> copy = new ArrayList<>(checks.size() + 1);
+        copy.addAll(checks);
+        copy.add(check);
+        return Collections.unmodifiableList(copy);
+    }
+
+    private boolean hasElementChecks() {
+        return noNulls || !uniqueKeys.isEmpty() || !orders.isEmpty() || !elementRules.isEmpty();
+    }
+
+    /**
+     * State of a single pass over the elements.
+     */
+    private class ElementChecker {
+
+        private final List<Set<Object>> keys = new ArrayList<>(uniqueKeys.size());
+
+        private E previous;
+
+        private ElementChecker() {
+            for (int index = 0; index < uniqueKeys.size(); index++) {
+                keys.add(new HashSet<>());
+            }
+        }
+
+        private boolean check(E element) {
+            if (element == null) {
+                return !noNulls;
+            }
+            for (int index = 0; index < uniqueKeys.size(); index++) {
+                if (!keys.get(index).add(uniqueKeys.get(index).apply(element))) {
+                    return false;
+                }
+            }
+            if (previous != null) {
+                for (int index = 0; index < orders.size(); index++) {
+                    if (orders.get(index).compare(previous, element) > 0) {
+                        return false;
+                    }
+                }
+            }
+            previous = element;
+            for (int index = 0; index < elementRules.size(); index++) {
+                if (!elementRules.get(index).test(element)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,244 @@
+/*
+ * Copyright 2022-2023 Cédric Eoche-Duval
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * ou may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.ceoche.bvalid;
+
+import java.util.*;
+
+/**
+ * <p>Memory-compact storage of the results of a batch validation, see {@link BValidator#validateCompact(Collection)}.</p>
+ * <p>Instead of one {@link RuleResult} per tested rule and one {@link ObjectResult} per validated object, outcomes
+ * are stored in columns: validated objects are flattened into integer arrays in depth-first order, and rule
+ * outcomes are stored as bits indexed against the shared, immutable rule table of each validator.</p>
+ * <p>This class is a read-only {@link List} of {@link ObjectResult}: the {@link ObjectResult} of an element is
+ * materialized each time it is accessed, so callers should avoid keeping them longer than needed.</p>
+ *
+ * @author ceoche
+ */
+public final class CompactResults extends AbstractList<ObjectResult> implements RandomAccess {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    // distinct names interned at most, names of map entries are as many as the keys and are not worth interning
+    private static final int MAX_INTERNED_NAMES = 1024;
+
+    private int[] roots = new int[INITIAL_CAPACITY];
+    private int rootCount;
+
+    private int[] nodeNames = new int[INITIAL_CAPACITY];
+    private int[] nodeIndexes = new int[INITIAL_CAPACITY];
+    private int[] nodeTables = new int[INITIAL_CAPACITY];
+    private int[] nodeRuleOffsets = new int[INITIAL_CAPACITY];
+    private int[] nodeEnds = new int[INITIAL_CAPACITY];
+    private int nodeCount;
+
+    private final BitSet evaluatedRules = new BitSet();
+    private final BitSet invalidRules = new BitSet();
+    private final BitSet skippedRules = new BitSet();
+    private int ruleCount;
+
+    private final List<String> names = new ArrayList<>();
+    private final List<BusinessRuleObject<?>[]> tables = new ArrayList<>();
+
+    private Map<String, Integer> nameIds = new HashMap<>();
+    private Map<BusinessRuleObject<?>[], Integer> tableIds = new IdentityHashMap<>();
+
+    CompactResults() {
+    }
+
+    /**
+     * Materialize the result of the element at the given position of the validated collection.
+     *
+     * @param index position of the element in the validated collection.
+     * @return a newly built {@link ObjectResult} of the element.
+     * @throws IndexOutOfBoundsException if the index is out of range.
+     */
+    @Override
+    public ObjectResult get(int index) {
+        return materialize(roots[checkIndex(index)]);
+    }
+
+    /**
+     * Get the number of validated elements.
+     *
+     * @return the number of results.
+     */
+    @Override
+    public int size() {
+        return rootCount;
+    }
+
+    /**
+     * Get the validation result of all the elements, without materializing them.
+     *
+     * @return true if all the elements are valid, false otherwise.
+     */
+    public boolean isValid() {
+        return invalidRules.isEmpty();
+    }
+
+    /**
+     * Get the validation result of an element, without materializing it.
+     *
+     * @param index position of the element in the validated collection.
+     * @return true if all rules and members of the element are valid, false otherwise.
+     * @throws IndexOutOfBoundsException if the index is out of range.
+     */
+    public boolean isValid(int index) {
+        int node = roots[checkIndex(index)];
+        int firstInvalid = invalidRules.nextSetBit(nodeRuleOffsets[node]);
+        return firstInvalid < 0 || firstInvalid >= ruleOffsetAfter(node);
+    }
+
+    /**
+     * Get the number of rules tested for an element, without materializing it.
+     *
+     * @param index position of the element in the validated collection.
+     * @return the number of rules tested on the element and its members.
+     * @throws IndexOutOfBoundsException if the index is out of range.
+     */
+    public int getNbOfTests(int index) {
+        int node = roots[checkIndex(index)];
+        int end = ruleOffsetAfter(node);
+        int count = 0;
+        for (int bit = evaluatedRules.nextSetBit(nodeRuleOffsets[node]); bit >= 0 && bit < end;
+             bit = evaluatedRules.nextSetBit(bit + 1)) {
+            count++;
+        }
+        return count;
+    }
+
+    ResultCollector collector() {
+        return new Collector();
+    }
+
+    CompactResults trim() {
+        roots = Arrays.copyOf(roots, rootCount);
+        nodeNames = Arrays.copyOf(nodeNames, nodeCount);
+        nodeIndexes = Arrays.copyOf(nodeIndexes, nodeCount);
+        nodeTables = Arrays.copyOf(nodeTables, nodeCount);
+        nodeRuleOffsets = Arrays.copyOf(nodeRuleOffsets, nodeCount);
+        nodeEnds = Arrays.copyOf(nodeEnds, nodeCount);
+        nameIds = null;
+        tableIds = null;
+        return this;
+    }
+
+    private int checkIndex(int index) {
+        if (index < 0 || index >= rootCount) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + rootCount);
+        }
+        return index;
+    }
+
+    private int ruleOffsetAfter(int node) {
+        int end = nodeEnds[node];
+        return end < nodeCount ? nodeRuleOffsets[end] : ruleCount;
+    }
+
+    private ObjectResult materialize(int node) {
+        ObjectResult result = new ObjectResult(names.get(nodeNames[node]), nodeIndexes[node]);
+        BusinessRuleObject<?>[] rules = tables.get(nodeTables[node]);
+        int offset = nodeRuleOffsets[node];
+        for (int position = 0; position < rules.length; position++) {
+            if (evaluatedRules.get(offset + position)) {
+                result.addRuleResult(rules[position].getResult(!invalidRules.get(offset + position)));
+            } else if (skippedRules.get(offset + position)) {
+                result.addRuleResult(rules[position].getSkippedResult());
+            }
+        }
+        int child = node + 1;
+        while (child < nodeEnds[node]) {
+            result.addMemberResult(materialize(child));
+            child = nodeEnds[child];
+        }
+        return result;
+    }
+
+    // identifier of a name, shared by the nodes of the same name until the table of interned names is full
+    private int intern(String name) {
+        Integer id = nameIds.get(name);
+        if (id == null) {
+            id = names.size();
+            names.add(name);
+            if (nameIds.size() < MAX_INTERNED_NAMES) {
+                nameIds.put(name, id);
+            }
+        }
+        return id;
+    }
+
+    private static int[] grow(int[] array, int size) {
+        return size < array.length ? array : Arrays.copyOf(array, array.length * 2);
+    }
+
+    /**
+     * Fill the columns while the {@link BValidator} walks through the objects.
+     */
+    private class Collector implements ResultCollector {
+
+        private int[] stack = new int[INITIAL_CAPACITY];
+        private int depth;
+
+        @Override
+        public void startObject(Object object, String name, int index, BusinessRuleObject<?>[] rules) {
+            int node = nodeCount++;
+            nodeNames = grow(nodeNames, node);
+            nodeIndexes = grow(nodeIndexes, node);
+            nodeTables = grow(nodeTables, node);
+            nodeRuleOffsets = grow(nodeRuleOffsets, node);
+            nodeEnds = grow(nodeEnds, node);
+            nodeNames[node] = intern(name);
+            nodeTables[node] = tableIds.computeIfAbsent(rules, key -> {
+                tables.add(key);
+                return tables.size() - 1;
+            });
+            nodeIndexes[node] = index;
+            nodeRuleOffsets[node] = ruleCount;
+            try {
+                ruleCount = Math.addExact(ruleCount, rules.length);
+            } catch (ArithmeticException e) {
+                throw new IllegalStateException("Too many rule outcomes for a single CompactResults (more than "
+                        + Integer.MAX_VALUE + "), split the validated collection in smaller batches.", e);
+            }
+            if (depth == 0) {
+                roots = grow(roots, rootCount);
+                roots[rootCount++] = node;
+            }
+            stack = grow(stack, depth);
+            stack[depth++] = node;
+        }
+
+        @Override
+        public void ruleResult(BusinessRuleObject<?> rule, int position, boolean valid) {
+            int bit = nodeRuleOffsets[stack[depth - 1]] + position;
+            evaluatedRules.set(bit);
+            if (!valid) {
+                invalidRules.set(bit);
+            }
+        }
+
+        @Override
+        public void ruleSkipped(BusinessRuleObject<?> rule, int position) {
+            skippedRules.set(nodeRuleOffsets[stack[depth - 1]] + position);
+        }
+
+        @Override
+        public void endObject() {
+            int node = stack[--depth];
+            nodeEnds[node] = nodeCount;
+        }
+    }
+}
@@ -0,0 +1,247 @@
+/*
+ * Copyright 2022-2023 Cédric Eoche-Duval
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * ou may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.ceoche.bvalid;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Compile the declarative constraints {@link Defined}, {@link Matches}, {@link Size} and {@link Range} of a getter
+ * into {@link BusinessRuleObject}. The predicate of each rule is specialized for the return type of the getter when
+ * the validator is built: getters are invoked through method handles, patterns are compiled once and primitive
+ * values are compared without boxing.
+ * Class not intended to be used outside the library.
+ */
+final class ConstraintRules {
+
+    private ConstraintRules() {
+    }
+
+    static boolean hasConstraints(Method method) {
+        return method.isAnnotationPresent(Defined.class) || method.isAnnotationPresent(Matches.class)
+                || method.isAnnotationPresent(Size.class) || method.isAnnotationPresent(Range.class);
+    }
+
+    static <T> void addRules(Method method, Set<BusinessRuleObject<T>> rules) {
+        if (method.getParameterCount() > 0 || method.getReturnType() == void.class) {
+            throw new IllegalBusinessObjectException("Method '" + method.getName() + "' must be a getter with no " +
+                    "arguments to hold constraint annotations.");
+        }
+        MethodHandle getter = getMethodHandle(method);
+        String property = getPropertyName(method);
+        Defined defined = method.getAnnotation(Defined.class);
+        if (defined != null) {
+            rules.add(new BusinessRuleObject<>(defined.id(), definedRule(method, getter),
+                    description(defined.description(), property + " must be defined"), defined.groups()));
+        }
+        Matches matches = method.getAnnotation(Matches.class);
+        if (matches != null) {
+            rules.add(new BusinessRuleObject<>(matches.id(), matchesRule(method, getter, matches.regexp()),
+                    description(matches.description(), property + " must match " + matches.regexp()), matches.groups()));
+        }
+        Size size = method.getAnnotation(Size.class);
+        if (size != null) {
+            rules.add(new BusinessRuleObject<>(size.id(), sizeRule(method, getter, size.min(), size.max()),
+                    description(size.description(), property + " size must be " +
+                            bounds(size.min(), size.max(), 0, Integer.MAX_VALUE)), size.groups()));
+        }
+        Range range = method.getAnnotation(Range.class);
+        if (range != null) {
+            rules.add(new BusinessRuleObject<>(range.id(), rangeRule(method, getter, range.min(), range.max()),
+                    description(range.description(), property + " must be " +
+                            bounds(range.min(), range.max(), Long.MIN_VALUE, Long.MAX_VALUE)), range.groups()));
+        }
+    }
+
+    private static <T> Predicate<T> definedRule(Method method, MethodHandle getter) {
+        MethodHandle objectGetter = getter.asType(MethodType.methodType(Object.class, Object.class));
+        if (CharSequence.class.isAssignableFrom(method.getReturnType())) {
+            return object -> BasicRules.isDefined((CharSequence) invoke(objectGetter, object));
+        }
+        return object -> BasicRules.isDefined(invoke(objectGetter, object));
+    }
+
+    private static <T> Predicate<T> matchesRule(Method method, MethodHandle getter, String regexp) {
+        assertReturnType(method, CharSequence.class, Matches.class);
+        Pattern pattern;
+        try {
+            pattern = Pattern.compile(regexp);
+        } catch (PatternSyntaxException e) {
+            throw new IllegalBusinessObjectException("Invalid regular expression on method '" + method.getName() + "'.", e);
+        }
+        MethodHandle objectGetter = getter.asType(MethodType.methodType(Object.class, Object.class));
+        return object -> {
+            CharSequence value = (CharSequence) invoke(objectGetter, object);
+            return value == null || BasicRules.matchesPattern(pattern, value);
+        };
+    }
+
+    private static <T> Predicate<T> sizeRule(Method method, MethodHandle getter, int min, int max) {
+        if (min < 0 || min > max) {
+            throw new IllegalBusinessObjectException("Invalid size bounds on method '" + method.getName() + "'.");
+        }
+        Class<?> type = method.getReturnType();
+        MethodHandle objectGetter = getter.asType(MethodType.methodType(Object.class, Object.class));
+        if (CharSequence.class.isAssignableFrom(type)) {
+            return object -> {
+                CharSequence value = (CharSequence) invoke(objectGetter, object);
+                return value == null || isBetween(value.length(), min, max);
+            };
+        } else if (Collection.class.isAssignableFrom(type)) {
+            return object -> {
+                Collection<?> value = (Collection<?>) invoke(objectGetter, object);
+                return value == null || isBetween(value.size(), min, max);
+            };
+        } else if (Map.class.isAssignableFrom(type)) {
+            return object -> {
+                Map<?, ?> value = (Map<?, ?>) invoke(objectGetter, object);
+                return value == null || isBetween(value.size(), min, max);
+            };
+        } else if (type.isArray()) {
+            return object -> {
+                Object value = invoke(objectGetter, object);
+                return value == null || isBetween(Array.getLength(value), min, max);
+            };
+        }
+        throw unsupportedType(method, Size.class);
+    }
+
+    private static <T> Predicate<T> rangeRule(Method method, MethodHandle getter, long min, long max) {
+        if (min > max) {
+            throw new IllegalBusinessObjectException("Invalid range bounds on method '" + method.getName() + "'.");
+        }
+        Class<?> type = method.getReturnType();
+        if (type == long.class || type == int.class || type == short.class || type == byte.class) {
+            MethodHandle longGetter = getter.asType(MethodType.methodType(long.class, Object.class));
+            return object -> {
+                long value = invokeLong(longGetter, object);
+                return value >= min && value <= max;
+            };
+        } else if (type == double.class || type == float.class) {
+            MethodHandle doubleGetter = getter.asType(MethodType.methodType(double.class, Object.class));
+            return object -> {
+                double value = invokeDouble(doubleGetter, object);
+                return value >= min && value <= max;
+            };
+        }
+        assertReturnType(method, Number.class, Range.class);
+        MethodHandle objectGetter = getter.asType(MethodType.methodType(Object.class, Object.class));
+        return object -> {
+            Number value = (Number) invoke(objectGetter, object);
+            return value == null || isBetween(value, min, max);
+        };
+    }
+
+    private static boolean isBetween(long value, long min, long max) {
+        return value >= min && value <= max;
+    }
+
+    private static boolean isBetween(Number value, long min, long max) {
+        if (value instanceof BigDecimal) {
+            BigDecimal decimal = (BigDecimal) value;
+            return decimal.compareTo(BigDecimal.valueOf(min)) >= 0 && decimal.compareTo(BigDecimal.valueOf(max)) <= 0;
+        } else if (value instanceof BigInteger) {
+            BigInteger integer = (BigInteger) value;
+            return integer.compareTo(BigInteger.valueOf(min)) >= 0 && integer.compareTo(BigInteger.valueOf(max)) <= 0;
+        } else if (value instanceof Double || value instanceof Float) {
+            double number = value.doubleValue();
+            return number >= min && number <= max;
+        }
+        return isBetween(value.longValue(), min, max);
+    }
+
+    private static Object invoke(MethodHandle getter, Object object) {
+        try {
+            return (Object) getter.invokeExact(object);
+        } catch (Throwable e) {
+            throw new InvocationException(e);
+        }
+    }
+
+    private static long invokeLong(MethodHandle getter, Object object) {
+        try {
+            return (long) getter.invokeExact(object);
+        } catch (Throwable e) {
+            throw new InvocationException(e);
+        }
+    }
+
+    private static double invokeDouble(MethodHandle getter, Object object) {
+        try {
+            return (double) getter.invokeExact(object);
+        } catch (Throwable e) {
+            throw new InvocationException(e);
+        }
+    }
+
+    private static MethodHandle getMethodHandle(Method method) {
+        try {
+            return MethodHandles.publicLookup().unreflect(method);
+        } catch (IllegalAccessException e) {
+            // public method of a non-public class
+            try {
+                method.setAccessible(true);
+                return MethodHandles.lookup().unreflect(method);
+            } catch (IllegalAccessException | RuntimeException accessException) {
+                throw new IllegalBusinessObjectException("Method '" + method.getName() + "' is not accessible.", accessException);
+            }
+        }
+    }
+
+    private static void assertReturnType(Method method, Class<?> expectedType, Class<?> annotation) {
+        if (!expectedType.isAssignableFrom(method.getReturnType())) {
+            throw unsupportedType(method, annotation);
+        }
+    }
+
+    private static IllegalBusinessObjectException unsupportedType(Method method, Class<?> annotation) {
+        return new IllegalBusinessObjectException("@" + annotation.getSimpleName() + " is not supported on method '" +
+                method.getName() + "' returning " + method.getReturnType().getName() + ".");
+    }
+
+    private static String getPropertyName(Method method) {
+        String name = method.getName();
+        int prefix = name.startsWith("get") ? 3 : name.startsWith("is") ? 2 : 0;
+        if (prefix > 0 && name.length() > prefix && Character.isUpperCase(name.charAt(prefix))) {
+            return Character.toLowerCase(name.charAt(prefix)) + name.substring(prefix + 1);
+        }
+        return name;
+    }
+
+    private static String description(String description, String generatedDescription) {
+        return description.isEmpty() ? generatedDescription : description;
+    }
+
+    private static String bounds(long min, long max, long lowest, long highest) {
+        if (min == lowest) {
+            return "lower or equal to " + max;
+        } else if (max == highest) {
+            return "greater or equal to " + min;
+        }
+        return "between " + min + " and " + max;
+    }
+}
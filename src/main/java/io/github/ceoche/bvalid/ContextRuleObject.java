@@ -0,0 +1,48 @@
+/*
+ * Copyright 2022-2023 Cédric Eoche-Duval
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * ou may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.ceoche.bvalid;
+
+import java.util.function.BiPredicate;
+
+/**
+ * A {@link BusinessRuleObject} whose predicate is also given the {@link ValidationContext} of the validation.
+ * Class not intended to be used outside the library.
+ *
+ * @param <T> the type of the business object on which the rule apply.
+ */
+class ContextRuleObject<T> extends BusinessRuleObject<T> {
+
+    private final BiPredicate<T, ValidationContext> contextRule;
+
+    /**
+     * Constructor of a ContextRuleObject.
+     *
+     * @param id          id of the rule. Used for requirement engineering.
+     * @param contextRule predicate applied with the context of the validation.
+     * @param description Textual description of the rule.
+     * @param options     groups, prerequisites and cost hint of the rule.
+     */
+    ContextRuleObject(String id, BiPredicate<T, ValidationContext> contextRule, String description, RuleOptions options) {
+        // applied out of a validation, the rule is given a context of its own
+        super(id, object -> contextRule.test(object, new ValidationState().getContext()), description, options);
+        this.contextRule = contextRule;
+    }
+
+    @Override
+    boolean apply(T object, ValidationState state) {
+        return contextRule.test(object, state.getContext());
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2022-2023 Cédric Eoche-Duval
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * ou may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.ceoche.bvalid;
+
+import java.util.Arrays;
+
+/**
+ * Name of an element reached through a member holding containers: the name of the member followed by the indexes
+ * and the keys of the enclosing containers, for instance {@code pages[2]} for an element of the third page, or
+ * {@code phonesByOwner[john]}. The segments are pushed and popped while the containers are traversed, and only
+ * rendered when a collector needs the name as a string, so naming map entries and nested elements does not allocate.
+ * A name is reused by all the members of an object: it is only stable between the start and the end of the element.
+ * Class not intended to be used outside the library.
+ */
+final class ElementName {
+
+    private static final byte INDEX = 0;
+
+    private static final byte KEY = 1;
+
+    private static final byte MAP_KEY = 2;
+
+    private String member;
+
+    private byte[] kinds = new byte[4];
+
+    private int[] indexes = new int[4];
+
+    private Object[] keys = new Object[4];
+
+    private int size;
+
+    /**
+     * Start the name of the elements of a member.
+     *
+     * @param member name of the member.
+     * @return this name, without segments.
+     */
+    ElementName reset(String member) {
+        Arrays.fill(keys, 0, size, null);
+        this.member = member;
+        this.size = 0;
+        return this;
+    }
+
+    void pushIndex(int index) {
+        push(INDEX, index, null);
+    }
+
+    void pushKey(Object key) {
+        push(KEY, -1, key);
+    }
+
+    void pushMapKey(Object key) {
+        push(MAP_KEY, -1, key);
+    }
+
+    void pop() {
+        keys[--size] = null;
+    }
+
+    boolean hasSegments() {
+        return size > 0;
+    }
+
+    String getMember() {
+        return member;
+    }
+
+    void appendTo(StringBuilder sb) {
+        sb.append(member);
+        for (int segment = 0; segment < size; segment++) {
+            switch (kinds[segment]) {
+                case INDEX:
+                    sb.append('[').append(indexes[segment]).append(']');
+                    break;
+                case KEY:
+                    sb.append('[').append(keys[segment]).append(']');
+                    break;
+                default:
+                    sb.append(".keys[").append(keys[segment]).append(']');
+            }
+        }
+    }
+
+    private void push(byte kind, int index, Object key) {
+        if (size == kinds.length) {
+            kinds = Arrays.copyOf(kinds, size * 2);
+            indexes = Arrays.copyOf(indexes, size * 2);
+            keys = Arrays.copyOf(keys, size * 2);
+        }
+        kinds[size] = kind;
+        indexes[size] = index;
+        keys[size] = key;
+        size++;
+    }
+
+    @Override
+    public String toString() {
+        if (size == 0) {
+            return member;
+        }
+        StringBuilder sb = new StringBuilder();
+        appendTo(sb);
+        return sb.toString();
+    }
+}
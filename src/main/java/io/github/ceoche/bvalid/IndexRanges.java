@@ -0,0 +1,142 @@
+/*
+ * Copyright 2022-2023 Cédric Eoche-Duval
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * ou may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.ceoche.bvalid;
+
+import java.util.Arrays;
+
+/**
+ * Compressed set of element indexes, stored as sorted and disjoint ranges. Consecutive indexes share the same
+ * range, so the footprint depends on the number of gaps rather than on the number of indexes.
+ *
+ * @author ceoche
+ */
+public class IndexRanges {
+
+    private int[] starts = new int[4];
+    private int[] ends = new int[4];
+    private int nbOfRanges;
+    private int size;
+
+    IndexRanges() {
+    }
+
+    void add(int index) {
+        if (nbOfRanges > 0 && ends[nbOfRanges - 1] == index - 1) {
+            // fast path: elements are usually visited in ascending order
+            ends[nbOfRanges - 1] = index;
+            size++;
+        } else {
+            insert(index);
+        }
+    }
+
+    /**
+     * Verify whether an index is part of this set.
+     *
+     * @param index the index to look for.
+     * @return true if the index is in the set, false otherwise.
+     */
+    public boolean contains(int index) {
+        int range = findRange(index);
+        return range >= 0 && index <= ends[range];
+    }
+
+    /**
+     * Get the number of indexes in this set.
+     *
+     * @return the number of indexes.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Get all the indexes of this set, in ascending order.
+     *
+     * @return the indexes.
+     */
+    public int[] toArray() {
+        int[] indexes = new int[size];
+        int position = 0;
+        for (int range = 0; range < nbOfRanges; range++) {
+            for (int index = starts[range]; index <= ends[range]; index++) {
+                indexes[position++] = index;
+            }
+        }
+        return indexes;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (int range = 0; range < nbOfRanges; range++) {
+            if (range > 0) {
+                sb.append(',');
+            }
+            sb.append(starts[range]);
+            if (ends[range] > starts[range]) {
+                sb.append('-').append(ends[range]);
+            }
+        }
+        return sb.toString();
+    }
+
+    // index of the last range starting before or at the given index, -1 if none
+    private int findRange(int index) {
+        int low = 0;
+        int high = nbOfRanges - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (starts[middle] <= index) {
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return high;
+    }
+
+    private void insert(int index) {
+        int previous = findRange(index);
+        if (previous >= 0 && index <= ends[previous]) {
+            return;
+        }
+        boolean extendsPrevious = previous >= 0 && ends[previous] == index - 1;
+        boolean extendsNext = previous + 1 < nbOfRanges && starts[previous + 1] == index + 1;
+        size++;
+        if (extendsPrevious && extendsNext) {
+            ends[previous] = ends[previous + 1];
+            System.arraycopy(starts, previous + 2, starts, previous + 1, nbOfRanges - previous - 2);
+            System.arraycopy(ends, previous + 2, ends, previous + 1, nbOfRanges - previous - 2);
+            nbOfRanges--;
+        } else if (extendsPrevious) {
+            ends[previous] = index;
+        } else if (extendsNext) {
+            starts[previous + 1] = index;
+        } else {
+            if (nbOfRanges == starts.length) {
+                starts = Arrays.copyOf(starts, nbOfRanges * 2);
+                ends = Arrays.copyOf(ends, nbOfRanges * 2);
+            }
+            int position = previous + 1;
+            System.arraycopy(starts, position, starts, position + 1, nbOfRanges - position);
+            System.arraycopy(ends, position, ends, position + 1, nbOfRanges - position);
+            starts[position] = index;
+            ends[position] = index;
+            nbOfRanges++;
+        }
+    }
+}
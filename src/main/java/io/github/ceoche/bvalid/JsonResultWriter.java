@@ -0,0 +1,269 @@
+/*
+ * Copyright 2022-2023 Cédric Eoche-Duval
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * ou may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.ceoche.bvalid;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * <p>Streaming JSON encoder for {@link ObjectResult}, written in UTF-8 to an {@link OutputStream}.</p>
+ * <p>Each {@link ObjectResult} is written as an object with its name, its validity, its rule results and its
+ * member results:</p>
+ * <pre>{@code
+ * {"name":"library","valid":false,"rules":[{"id":"req-01","description":"Name must be defined.","valid":false}],"members":[...]}
+ * }</pre>
+ * <p>The results are written while walking through them, without intermediate copies. Combined with
+ * {@link #writeArray(BValidator, Collection)}, a collection is validated and written element by element.</p>
+ *
+ * @author ceoche
+ */
+public class JsonResultWriter implements Closeable, Flushable {
+
+    private final Writer writer;
+
+    private final boolean invalidOnly;
+
+    private boolean[] nodeValidity = new boolean[16];
+    private int[] nodeEnds = new int[16];
+    private int nodeCount;
+    private int cursor;
+
+    /**
+     * Constructor of a JsonResultWriter that writes all results.
+     *
+     * @param out destination of the JSON documents.
+     */
+    public JsonResultWriter(OutputStream out) {
+        this(out, false);
+    }
+
+    /**
+     * Constructor of a JsonResultWriter.
+     *
+     * @param out         destination of the JSON documents.
+     * @param invalidOnly true to write only invalid rule results and invalid members, false to write all of them.
+     */
+    public JsonResultWriter(OutputStream out, boolean invalidOnly) {
+        this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        this.invalidOnly = invalidOnly;
+    }
+
+    /**
+     * Write a result as a JSON object.
+     *
+     * @param result the result to write.
+     * @throws IOException if an I/O error occurs while writing.
+     */
+    public void write(ObjectResult result) throws IOException {
+        writeObject(result);
+    }
+
+    /**
+     * Write results as a JSON array.
+     *
+     * @param results the results to write.
+     * @throws IOException if an I/O error occurs while writing.
+     */
+    public void writeArray(Iterable<ObjectResult> results) throws IOException {
+        writer.write('[');
+        boolean first = true;
+        for (ObjectResult result : results) {
+            if (!first) {
+                writer.write(',');
+            }
+            first = false;
+            writeObject(result);
+        }
+        writer.write(']');
+    }
+
+    /**
+     * Validate a collection with the given validator and write the results as a JSON array. Each result is written
+     * as soon as its element is validated and is not kept, see {@link BValidator#validate(Collection, java.util.function.Consumer)}.
+     *
+     * @param validator  the validator to use.
+     * @param collection collection of business objects to validate.
+     * @param <T>        type of the business objects.
+     * @throws IOException                    if an I/O error occurs while writing.
+     * @throws InvocationException            if an exception is raised while validating.
+     * @throws IllegalBusinessObjectException if an error occurs while validating a member.
+     */
+    public <T> void writeArray(BValidator<T> validator, Collection<T> collection) throws IOException {
+        writer.write('[');
+        boolean[] first = {true};
+        try {
+            validator.validate(collection, result -> {
+                try {
+                    if (!first[0]) {
+                        writer.write(',');
+                    }
+                    first[0] = false;
+                    writeObject(result);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.write(']');
+    }
+
+    /**
+     * Flush the written results to the underlying stream.
+     *
+     * @throws IOException if an I/O error occurs.
+     */
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    /**
+     * Flush and close the underlying stream.
+     *
+     * @throws IOException if an I/O error occurs.
+     */
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+
+    private void writeObject(ObjectResult result) throws IOException {
+        nodeCount = 0;
+        indexValidity(result);
+        cursor = 0;
+        writeNode(result);
+    }
+
+    /**
+     * Compute the validity of a result and of all its members bottom-up, in a single pass. Nodes are numbered in
+     * depth-first order, which is also the order in which {@link #writeNode(ObjectResult)} visits them.
+     */
+    private boolean indexValidity(ObjectResult result) {
+        int node = nodeCount++;
+        if (node == nodeValidity.length) {
+            nodeValidity = Arrays.copyOf(nodeValidity, node * 2);
+            nodeEnds = Arrays.copyOf(nodeEnds, node * 2);
+        }
+        boolean valid = result.omittedInvalidRules() == 0;
+        for (RuleResult ruleResult : result.ruleResults()) {
+            valid &= ruleResult.isValid();
+        }
+        for (ObjectResult memberResult : result.memberResults()) {
+            valid &= indexValidity(memberResult);
+        }
+        nodeValidity[node] = valid;
+        nodeEnds[node] = nodeCount;
+        return valid;
+    }
+
+    private void writeNode(ObjectResult result) throws IOException {
+        int node = cursor++;
+        writer.write("{\"name\":");
+        writeString(result.getBusinessObjectName());
+        writer.write(",\"valid\":");
+        writer.write(nodeValidity[node] ? "true" : "false");
+        writer.write(",\"rules\":[");
+        boolean first = true;
+        for (RuleResult ruleResult : result.ruleResults()) {
+            if (!invalidOnly || !ruleResult.isValid()) {
+                if (!first) {
+                    writer.write(',');
+                }
+                first = false;
+                writeRule(ruleResult);
+            }
+        }
+        writer.write("],\"members\":[");
+        first = true;
+        for (ObjectResult memberResult : result.memberResults()) {
+            if (!invalidOnly || !nodeValidity[cursor]) {
+                if (!first) {
+                    writer.write(',');
+                }
+                first = false;
+                writeNode(memberResult);
+            } else {
+                cursor = nodeEnds[cursor];
+            }
+        }
+        writer.write(']');
+        if (result.omittedInvalidRules() > 0) {
+            writer.write(",\"omittedInvalidRules\":");
+            writer.write(Integer.toString(result.omittedInvalidRules()));
+        }
+        writer.write('}');
+    }
+
+    private void writeRule(RuleResult ruleResult) throws IOException {
+        writer.write("{\"id\":");
+        writeString(ruleResult.getId());
+        writer.write(",\"description\":");
+        writeString(ruleResult.getDescription());
+        writer.write(",\"valid\":");
+        writer.write(ruleResult.isValid() ? "true" : "false");
+        if (ruleResult.isSkipped()) {
+            writer.write(",\"skipped\":true");
+        }
+        writer.write('}');
+    }
+
+    private void writeString(String value) throws IOException {
+        if (value == null) {
+            writer.write("null");
+            return;
+        }
+        writer.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    writer.write("\\\"");
+                    break;
+                case '\\':
+                    writer.write("\\\\");
+                    break;
+                case '\n':
+                    writer.write("\\n");
+                    break;
+                case '\r':
+                    writer.write("\\r");
+                    break;
+                case '\t':
+                    writer.write("\\t");
+                    break;
+                case '\b':
+                    writer.write("\\b");
+                    break;
+                case '\f':
+                    writer.write("\\f");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        writer.write("\\u00");
+                        writer.write(Character.forDigit(c >> 4, 16));
+                        writer.write(Character.forDigit(c & 0xF, 16));
+                    } else {
+                        writer.write(c);
+                    }
+            }
+        }
+        writer.write('"');
+    }
+}
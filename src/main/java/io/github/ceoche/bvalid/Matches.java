@@ -0,0 +1,69 @@
+/*
+ * Copyright 2022-2023 Cédric Eoche-Duval
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * ou may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.ceoche.bvalid;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * <p>Declarative business rule on a getter of a {@link BusinessObject}: the returned {@link CharSequence} must match
+ * the given regular expression. The expression is compiled once, when the validator is built. A null value is
+ * considered valid, combine with {@link Defined} to make the property mandatory.</p>
+ * <pre>
+ * {@code @Matches(regexp = "\\d{5}")
+ * public String getZipCode() {
+ *    return zipCode;
+ * }}</pre>
+ *
+ * @author ceoche
+ * @see BasicRules#matchesPattern(java.util.regex.Pattern, CharSequence)
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface Matches {
+
+    /**
+     * Regular expression the whole value must match.
+     *
+     * @return the regular expression.
+     */
+    String regexp();
+
+    /**
+     * Identifier of the business rule. To be used in an environment that requires requirement traceability.
+     *
+     * @return the identifier of the business rule.
+     */
+    String id() default "";
+
+    /**
+     * Description of the rule. Generated from the name of the property if empty, for instance
+     * "zipCode must match \d{5}".
+     *
+     * @return the description of the rule.
+     */
+    String description() default "";
+
+    /**
+     * Groups of the business rule, {@link BusinessRule#DEFAULT_GROUP} if empty.
+     *
+     * @return the groups of the business rule.
+     * @see BusinessRule#groups()
+     */
+    String[] groups() default {};
+}
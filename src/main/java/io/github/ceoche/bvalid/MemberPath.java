@@ -0,0 +1,148 @@
+/*
+ * Copyright 2022-2023 Cédric Eoche-Duval
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * ou may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.ceoche.bvalid;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Path to a member of a business object, as written in the reports, for instance {@code order.items[42].price}.
+ * The first segment is the name of the root business object, each following segment is the name of a member or of
+ * a property, optionally followed by the indexes, or the map keys, of the element to reach.
+ * Class not intended to be used outside the library.
+ *
+ * @author ceoche
+ * @see BValidator#validatePath(Object, String, boolean)
+ */
+final class MemberPath {
+
+    private final String path;
+
+    private final List<Segment> segments;
+
+    private MemberPath(String path, List<Segment> segments) {
+        this.path = path;
+        this.segments = segments;
+    }
+
+    /**
+     * Parse a member path.
+     *
+     * @param path the path to parse.
+     * @return the parsed path.
+     * @throws IllegalArgumentException if the path is null, empty or malformed.
+     */
+    static MemberPath parse(String path) {
+        if (path == null || path.isEmpty()) {
+            throw new IllegalArgumentException("Member path must not be empty");
+        }
+        List<Segment> segments = new ArrayList<>();
+        int start = 0;
+        while (start <= path.length()) {
+            int end = start;
+            while (end < path.length() && path.charAt(end) != '.' && path.charAt(end) != '[') {
+                end++;
+            }
+            if (end == start) {
+                throw new IllegalArgumentException("Malformed member path '" + path + "': empty name at " + start);
+            }
+            String name = path.substring(start, end);
+            List<String> keys = new ArrayList<>();
+            while (end < path.length() && path.charAt(end) == '[') {
+                int closing = path.indexOf(']', end);
+                if (closing < 0) {
+                    throw new IllegalArgumentException("Malformed member path '" + path + "': unclosed '[' at " + end);
+                }
+                keys.add(path.substring(end + 1, closing));
+                end = closing + 1;
+            }
+            if (end < path.length() && path.charAt(end) != '.') {
+                throw new IllegalArgumentException("Malformed member path '" + path + "': unexpected '" +
+                        path.charAt(end) + "' at " + end);
+            }
+            segments.add(new Segment(name, path.substring(start, end), keys));
+            start = end + 1;
+        }
+        return new MemberPath(path, Collections.unmodifiableList(segments));
+    }
+
+    /**
+     * Get the number of segments, the root included.
+     *
+     * @return the number of segments.
+     */
+    int size() {
+        return segments.size();
+    }
+
+    Segment get(int position) {
+        return segments.get(position);
+    }
+
+    /**
+     * Get the text of the path up to the given segment, excluded.
+     *
+     * @param length number of segments to keep.
+     * @return the beginning of the path.
+     */
+    String prefix(int length) {
+        StringBuilder sb = new StringBuilder();
+        for (int position = 0; position < length; position++) {
+            if (position > 0) {
+                sb.append('.');
+            }
+            sb.append(segments.get(position).text);
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public String toString() {
+        return path;
+    }
+
+    /**
+     * Name of a member or property, with the indexes or keys of the element to reach in its value.
+     */
+    static final class Segment {
+
+        private final String name;
+
+        private final String text;
+
+        private final List<String> keys;
+
+        private Segment(String name, String text, List<String> keys) {
+            this.name = name;
+            this.text = text;
+            this.keys = keys;
+        }
+
+        String getName() {
+            return name;
+        }
+
+        List<String> getKeys() {
+            return keys;
+        }
+
+        // the segment as written in the path, also the name of its result
+        String getText() {
+            return text;
+        }
+    }
+}
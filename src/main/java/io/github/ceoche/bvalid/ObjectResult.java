@@ -15,6 +15,8 @@
  */
 package io.github.ceoche.bvalid;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Function;
@@ -28,15 +30,32 @@ import java.util.function.Function;
 public class ObjectResult {
 
     private final String businessObjectName;
+    // name and element index the business object name is made of, kept to aggregate violations
+    private final String name;
+    private final int index;
     private final List<RuleResult> ruleResults = new ArrayList<>();
     private final List<ObjectResult> memberResults = new ArrayList<>();
+    private int omittedValidRules;
+    private int omittedInvalidRules;
 
     ObjectResult() {
         this("");
     }
 
     ObjectResult(String businessObjectName) {
-        this.businessObjectName = businessObjectName;
+        this(businessObjectName, -1);
+    }
+
+    /**
+     * Constructor of the result of an element of a collection or of an array.
+     *
+     * @param name  name of the business object, or of the member holding it.
+     * @param index index of the element, -1 if the object is not an element.
+     */
+    ObjectResult(String name, int index) {
+        this.businessObjectName = index < 0 ? name : name + "[" + index + "]";
+        this.name = name;
+        this.index = index;
     }
 
     void addRuleResults(List<RuleResult> RuleResults) {
@@ -47,12 +66,52 @@ public class ObjectResult {
         this.memberResults.addAll(memberResults);
     }
 
+    void addRuleResult(RuleResult ruleResult) {
+        this.ruleResults.add(ruleResult);
+    }
+
+    void addMemberResult(ObjectResult memberResult) {
+        this.memberResults.add(memberResult);
+    }
+
+    void omitRuleResult(boolean valid) {
+        if (valid) {
+            omittedValidRules++;
+        } else {
+            omittedInvalidRules++;
+        }
+    }
+
+    void omitMemberResult(ObjectResult memberResult) {
+        omittedValidRules += memberResult.omittedValidRules;
+        omittedInvalidRules += memberResult.omittedInvalidRules;
+    }
+
+    List<RuleResult> ruleResults() {
+        return ruleResults;
+    }
+
+    List<ObjectResult> memberResults() {
+        return memberResults;
+    }
+
+    int omittedInvalidRules() {
+        return omittedInvalidRules;
+    }
+
+    boolean hasRetainedResults() {
+        return !ruleResults.isEmpty() || !memberResults.isEmpty();
+    }
+
     /**
      * Get the validation result.
      *
      * @return true if all contained rules and members are valid, false otherwise.
      */
     public boolean isValid() {
+        if (omittedInvalidRules > 0) {
+            return false;
+        }
         for (RuleResult RuleResult : ruleResults) {
             if (!RuleResult.isValid()) {
                 return false;
@@ -84,6 +143,30 @@ public class ObjectResult {
             throw exceptionBuilder.apply(this.toString());
     }
 
+    /**
+     * <p>Assert that the result is valid or throw a Throwable that contains a report of the invalid rules
+     * using the given builder. The report is limited to the given number of lines, to keep the exception
+     * message reasonable for large results.</p>
+     *
+     * @param exceptionBuilder {@link Function} that takes the report in {@link String} as
+     *                         input and return a {@link Throwable}.
+     * @param maxLines         maximum number of invalid results to report.
+     * @param <T>              Type of the exception to throw.
+     * @throws T throws the Exception built by the given builder if the result is invalid.
+     * @see #assertValidOrThrow(Function)
+     */
+    public <T extends Throwable> void assertValidOrThrow(Function<String, T> exceptionBuilder, int maxLines) throws T {
+        if (!isValid()) {
+            StringBuilder sb = new StringBuilder();
+            try {
+                writeTo(sb, true, maxLines);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            throw exceptionBuilder.apply(sb.toString());
+        }
+    }
+
 
     /**
      * Get the name of the business object concerned by this result.
@@ -100,14 +183,71 @@ public class ObjectResult {
      * @return the number of rules tested.
      */
     public int getNbOfTests() {
-        int sum = 0;
-        sum += ruleResults.size();
+        int sum = omittedValidRules + omittedInvalidRules;
+        for (RuleResult ruleResult : ruleResults) {
+            if (!ruleResult.isSkipped()) {
+                sum++;
+            }
+        }
         for (ObjectResult memberResult : memberResults) {
             sum += memberResult.getNbOfTests();
         }
         return sum;
     }
 
+    /**
+     * Get the number of rules that were not run, in this result and in its members, because one of their
+     * prerequisites is not valid. Skipped rules are neither counted as tests nor as failures.
+     *
+     * @return the number of skipped rules.
+     * @see BusinessRule#requires()
+     */
+    public int getNbOfSkippedRules() {
+        int sum = 0;
+        for (RuleResult ruleResult : ruleResults) {
+            if (ruleResult.isSkipped()) {
+                sum++;
+            }
+        }
+        for (ObjectResult memberResult : memberResults) {
+            sum += memberResult.getNbOfSkippedRules();
+        }
+        return sum;
+    }
+
+    /**
+     * Get the number of rule results that were tested but not kept in this result, nor in its members, because of
+     * the {@link ResultRetention} of the validation.
+     *
+     * @return the number of omitted rule results.
+     */
+    public int getNbOfOmittedResults() {
+        int sum = omittedValidRules + omittedInvalidRules;
+        for (ObjectResult memberResult : memberResults) {
+            sum += memberResult.getNbOfOmittedResults();
+        }
+        return sum;
+    }
+
+    /**
+     * Get the number of failed business rules, including failures of members and failures omitted because of the
+     * {@link ResultRetention} of the validation.
+     *
+     * @return the number of failed rules.
+     */
+    public int getNbOfFailures() {
+        int sum = omittedInvalidRules;
+        for (RuleResult ruleResult : ruleResults) {
+            if (!ruleResult.isValid()) {
+                sum++;
+            }
+        }
+        for (ObjectResult memberResult : memberResults) {
+            sum += memberResult.getNbOfFailures();
+        }
+        return sum;
+    }
+
     /**
      * Get a detailed list of tested business rules.
      *
@@ -144,22 +284,138 @@ public class ObjectResult {
         return invalidRules;
     }
 
+    /**
+     * Get the failures of this result and of its members, grouped by rule and by path pattern. A rule failing on
+     * many elements of a collection is reported in a single {@link ViolationGroup}, for instance
+     * {@code person.phones[*]} with the indexes of the failing phones.
+     *
+     * @return the groups of violations, empty if the result is valid or if no violation has been retained.
+     * @see BValidator#validateAggregated(Object)
+     */
+    public List<ViolationGroup> getViolationGroups() {
+        ViolationAggregator aggregator = new ViolationAggregator();
+        aggregate(aggregator);
+        return aggregator.getGroups();
+    }
+
+    private void aggregate(ViolationAggregator aggregator) {
+        aggregator.push(name, index);
+        for (RuleResult ruleResult : ruleResults) {
+            if (!ruleResult.isValid()) {
+                aggregator.violation(ruleResult);
+            }
+        }
+        for (ObjectResult memberResult : memberResults) {
+            memberResult.aggregate(aggregator);
+        }
+        aggregator.pop();
+    }
+
+    /**
+     * Write the detailed report of this result, one line per rule result, to the given {@link Appendable}. The
+     * report is the same as {@link #toString()}, but it is streamed: memory used while writing only depends on
+     * the depth of the result, so it can be written directly to a file or a socket.
+     *
+     * @param out destination of the report, for instance a {@link java.io.Writer}.
+     * @throws IOException if an I/O error occurs while writing.
+     */
+    public void writeTo(Appendable out) throws IOException {
+        writeTo(out, false, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Write the detailed report of this result to the given {@link Appendable}, optionally limited to invalid
+     * results and to a maximum number of lines. If the limit is reached, a last line indicates the report has
+     * been truncated.
+     *
+     * @param out         destination of the report, for instance a {@link java.io.Writer}.
+     * @param invalidOnly true to write only invalid results, false to write all of them.
+     * @param maxLines    maximum number of result lines to write.
+     * @throws IOException              if an I/O error occurs while writing.
+     * @throws IllegalArgumentException if maxLines is negative.
+     * @see #writeTo(Appendable)
+     */
+    public void writeTo(Appendable out, boolean invalidOnly, int maxLines) throws IOException {
+        if (maxLines < 0) {
+            throw new IllegalArgumentException("Maximum number of lines must not be negative");
+        }
+        new ReportWriter(out, invalidOnly, maxLines).write(this);
+    }
+
     @Override
     public String toString() {
-        return toString("");
+        StringBuilder sb = new StringBuilder();
+        try {
+            writeTo(sb);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return sb.toString();
     }
 
-    private String toString(final String prefix) {
-        StringBuilder sb = new StringBuilder();
-        for (RuleResult ruleResult : ruleResults) {
-            sb.append(prefix).append(businessObjectName).append(" ").append(ruleResult.toString()).append(System.lineSeparator());
+    /**
+     * Stream a report line by line, keeping only the names of the ancestors of the current result.
+     */
+    private static class ReportWriter {
+
+        private final Appendable out;
+        private final boolean invalidOnly;
+        private final int maxLines;
+        private final List<String> ancestors = new ArrayList<>();
+        private int lines;
+
+        private ReportWriter(Appendable out, boolean invalidOnly, int maxLines) {
+            this.out = out;
+            this.invalidOnly = invalidOnly;
+            this.maxLines = maxLines;
         }
-        if (!memberResults.isEmpty()) {
-            String subPrefix = prefix + businessObjectName + ".";
-            for (ObjectResult objectResult : memberResults) {
-                sb.append(objectResult.toString(subPrefix));
+
+        private void write(ObjectResult result) throws IOException {
+            if (!writeResult(result)) {
+                out.append("[...] report truncated after ").append(String.valueOf(maxLines)).append(" line(s)")
+                        .append(System.lineSeparator());
             }
         }
-        return sb.toString();
+
+        private boolean writeResult(ObjectResult result) throws IOException {
+            for (RuleResult ruleResult : result.ruleResults) {
+                if (!invalidOnly || !ruleResult.isValid()) {
+                    if (!startLine(result)) {
+                        return false;
+                    }
+                    ruleResult.writeTo(out);
+                    out.append(System.lineSeparator());
+                }
+            }
+            if (result.omittedInvalidRules > 0) {
+                if (!startLine(result)) {
+                    return false;
+                }
+                out.append(String.valueOf(result.omittedInvalidRules)).append(" more invalid rule(s) omitted")
+                        .append(System.lineSeparator());
+            }
+            if (!result.memberResults.isEmpty()) {
+                ancestors.add(result.businessObjectName);
+                for (ObjectResult memberResult : result.memberResults) {
+                    if (!writeResult(memberResult)) {
+                        return false;
+                    }
+                }
+                ancestors.remove(ancestors.size() - 1);
+            }
+            return true;
+        }
+
+        private boolean startLine(ObjectResult result) throws IOException {
+            if (lines >= maxLines) {
+                return false;
+            }
+            lines++;
+            for (String ancestor : ancestors) {
+                out.append(ancestor).append('.');
+            }
+            out.append(result.businessObjectName).append(' ');
+            return true;
+        }
     }
 }
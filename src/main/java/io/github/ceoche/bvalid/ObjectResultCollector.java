@@ -0,0 +1,114 @@
+/*
+ * Copyright 2022-2023 Cédric Eoche-Duval
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * ou may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.ceoche.bvalid;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * {@link ResultCollector} that builds a tree of {@link ObjectResult}, according to a {@link ResultRetention}.
+ */
+class ObjectResultCollector implements ResultCollector {
+
+    private final Deque<ObjectResult> stack = new ArrayDeque<>();
+
+    private final List<ObjectResult> results = new ArrayList<>();
+
+    private final Consumer<ObjectResult> consumer;
+
+    private final ResultRetention retention;
+
+    private int remainingViolations;
+
+    ObjectResultCollector() {
+        this(ResultRetention.all());
+    }
+
+    ObjectResultCollector(ResultRetention retention) {
+        this(retention, null);
+    }
+
+    /**
+     * Constructor of a collector that hands over each root result to the given consumer as soon as it is complete,
+     * instead of keeping it.
+     *
+     * @param retention policy defining which rule results are kept.
+     * @param consumer  receiver of the root results, null to keep them in {@link #getResults()}.
+     */
+    ObjectResultCollector(ResultRetention retention, Consumer<ObjectResult> consumer) {
+        this.consumer = consumer != null ? consumer : results::add;
+        this.retention = retention;
+        this.remainingViolations = retention.getMaxViolations();
+    }
+
+    @Override
+    public void startObject(Object object, String name, int index, BusinessRuleObject<?>[] rules) {
+        stack.push(new ObjectResult(name, index));
+    }
+
+    @Override
+    public void ruleResult(BusinessRuleObject<?> rule, int position, boolean valid) {
+        ObjectResult current = stack.element();
+        if (valid ? retention.isKeepingValid() : consumeViolation()) {
+            current.addRuleResult(rule.getResult(valid));
+        } else {
+            current.omitRuleResult(valid);
+        }
+    }
+
+    @Override
+    public void ruleSkipped(BusinessRuleObject<?> rule, int position) {
+        if (retention.isKeepingValid()) {
+            stack.element().addRuleResult(rule.getSkippedResult());
+        }
+    }
+
+    @Override
+    public void endObject() {
+        ObjectResult result = stack.pop();
+        ObjectResult parent = stack.peek();
+        if (parent == null) {
+            consumer.accept(result);
+        } else if (retention.isKeepingValid() || result.hasRetainedResults()) {
+            parent.addMemberResult(result);
+        } else {
+            parent.omitMemberResult(result);
+        }
+    }
+
+    private boolean consumeViolation() {
+        if (remainingViolations == Integer.MAX_VALUE) {
+            return true;
+        }
+        if (remainingViolations > 0) {
+            remainingViolations--;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Get the results of the root objects collected so far.
+     *
+     * @return the root {@link ObjectResult}, in validation order.
+     */
+    List<ObjectResult> getResults() {
+        return results;
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright 2022-2023 Cédric Eoche-Duval
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * ou may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.ceoche.bvalid;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Path of the business object currently validated, kept as reusable arrays of names and element indexes so that
+ * walking through a graph does not allocate. The path is only rendered as a string when needed, for instance when a
+ * violation is reported.
+ */
+class PathStack {
+
+    private String[] names = new String[16];
+
+    private int[] indexes = new int[16];
+
+    // names of the elements of containers, rendered with the path, null for the levels named by a string
+    private ElementName[] elementNames = new ElementName[16];
+
+    private int depth;
+
+    // last rendered pattern, with the path it was rendered from, to render the pattern once per collection
+    private String pattern;
+
+    private String[] patternNames = new String[0];
+
+    private int[] patternIndexes = new int[0];
+
+    private int patternDepth = -1;
+
+    private int patternWildcardLevel;
+
+    void push(String name, int index) {
+        push(name, null, index);
+    }
+
+    /**
+     * Push the name of an element of a container, kept as is until the level is popped: the name must not change
+     * before.
+     *
+     * @param name  the name of the element.
+     * @param index position of the element in its collection or array, -1 if not in a collection.
+     */
+    void push(ElementName name, int index) {
+        if (name.hasSegments()) {
+            push(null, name, index);
+        } else {
+            push(name.getMember(), null, index);
+        }
+    }
+
+    void pop() {
+        depth--;
+        names[depth] = null;
+        elementNames[depth] = null;
+    }
+
+    void clear() {
+        Arrays.fill(names, 0, depth, null);
+        Arrays.fill(elementNames, 0, depth, null);
+        depth = 0;
+    }
+
+    private void push(String name, ElementName elementName, int index) {
+        if (depth == names.length) {
+            names = Arrays.copyOf(names, depth * 2);
+            indexes = Arrays.copyOf(indexes, depth * 2);
+            elementNames = Arrays.copyOf(elementNames, depth * 2);
+        }
+        names[depth] = name;
+        elementNames[depth] = elementName;
+        indexes[depth] = index;
+        depth++;
+    }
+
+    int getIndex(int level) {
+        return indexes[level];
+    }
+
+    /**
+     * Get the deepest level of the path that is an element of a collection or an array.
+     *
+     * @return the level of the innermost element, -1 if the path does not contain any element.
+     */
+    int getInnermostElementLevel() {
+        int level = depth - 1;
+        while (level >= 0 && indexes[level] < 0) {
+            level--;
+        }
+        return level;
+    }
+
+    /**
+     * Render the path, replacing the index of the given level with {@code [*]}.
+     *
+     * @param wildcardLevel level whose index is replaced, -1 to render all the indexes.
+     * @return the path, for instance {@code person.phones[*]}.
+     */
+    String toString(int wildcardLevel) {
+        StringBuilder sb = new StringBuilder();
+        for (int level = 0; level < depth; level++) {
+            if (level > 0) {
+                sb.append('.');
+            }
+            if (elementNames[level] != null) {
+                elementNames[level].appendTo(sb);
+            } else {
+                sb.append(names[level]);
+            }
+            if (level == wildcardLevel) {
+                sb.append("[*]");
+            } else if (indexes[level] >= 0) {
+                sb.append('[').append(indexes[level]).append(']');
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Render the path like {@link #toString(int)}, reusing the last rendered pattern if the path only differs by the
+     * index of the given level, for instance for all the elements of a collection.
+     *
+     * @param wildcardLevel level whose index is replaced, -1 to render all the indexes.
+     * @return the path, for instance {@code person.phones[*]}.
+     */
+    String toPattern(int wildcardLevel) {
+        if (!isPatternOf(wildcardLevel)) {
+            pattern = toString(wildcardLevel);
+            patternNames = Arrays.copyOf(names, depth);
+            patternIndexes = Arrays.copyOf(indexes, depth);
+            patternDepth = depth;
+            patternWildcardLevel = wildcardLevel;
+        }
+        return pattern;
+    }
+
+    private boolean isPatternOf(int wildcardLevel) {
+        if (patternDepth != depth || patternWildcardLevel != wildcardLevel) {
+            return false;
+        }
+        for (int level = 0; level < depth; level++) {
+            if (elementNames[level] != null) {
+                // the element name may have changed since, it is not compared
+                return false;
+            }
+            if (!Objects.equals(names[level], patternNames[level])
+                    || level != wildcardLevel && indexes[level] != patternIndexes[level]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return toString(-1);
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2022-2023 Cédric Eoche-Duval
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * ou may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.ceoche.bvalid;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * <p>Group of rules sharing the same property of a business object, created with
+ * {@link BValidatorManualBuilder#forProperty(String, Function)}. The {@link BValidator} calls the getter of the
+ * property once per validated object and tests every rule of the group on the returned value, even if it is null.</p>
+ * <p>Results of the group are reported under a member result named after the property, for instance
+ * {@code book.isbn [R05] ISBN must have 13 digits => invalid}.</p>
+ *
+ * @param <T> the type of the business object holding the property.
+ * @param <V> the type of the property.
+ * @author ceoche
+ */
+public class PropertyRulesBuilder<T, V> {
+
+    private final BValidatorManualBuilder<T> parent;
+
+    private final String name;
+
+    private final Function<T, V> getter;
+
+    private final Set<BusinessRuleObject<V>> rules = new LinkedHashSet<>();
+
+    PropertyRulesBuilder(BValidatorManualBuilder<T> parent, String name, Function<T, V> getter) {
+        this.parent = parent;
+        this.name = name;
+        this.getter = getter;
+    }
+
+    /**
+     * Add a rule on the value of the property.
+     *
+     * @param id          the requirement id of the rule
+     * @param rule        the predicate to apply on the value of the property
+     * @param description the description of the rule
+     * @return this group of rules
+     * @throws IllegalArgumentException if the rule is null
+     */
+    public PropertyRulesBuilder<T, V> addRule(String id, Predicate<V> rule, String description) {
+        return addRule(id, rule, description, RuleOptions.defaults());
+    }
+
+    /**
+     * Add a rule belonging to the given groups on the value of the property. Only the rules of the selected groups are run by
+     * {@link BValidator#validate(Object, String...)}.
+     *
+     * @param id          the requirement id of the rule
+     * @param rule        the predicate to apply on the value of the property
+     * @param description the description of the rule
+     * @param groups      the groups of the rule, none for {@link BusinessRule#DEFAULT_GROUP}
+     * @return this group of rules
+     * @throws IllegalArgumentException if the rule or one of the groups is null
+     */
+    public PropertyRulesBuilder<T, V> addRule(String id, Predicate<V> rule, String description, String... groups) {
+        if (rule == null) {
+            throw new IllegalArgumentException("Rule predicate must not be null");
+        }
+        return addRule(id, rule, description, RuleOptions.defaults().inGroups(groups));
+    }
+
+    /**
+     * Add a rule on the value of the property with the given options. Its prerequisites must be rules of this
+     * property.
+     *
+     * @param id          the requirement id of the rule
+     * @param rule        the predicate to apply on the value of the property
+     * @param description the description of the rule
+     * @param options     the options of the rule
+     * @return this group of rules
+     * @throws IllegalArgumentException if the rule or the options are null
+     * @see RuleOptions
+     */
+    public PropertyRulesBuilder<T, V> addRule(String id, Predicate<V> rule, String description, RuleOptions options) {
+        if (rule == null) {
+            throw new IllegalArgumentException("Rule predicate must not be null");
+        }
+        rules.add(new BusinessRuleObject<>(id, rule, description, BValidatorManualBuilder.requireOptions(options)));
+        return this;
+    }
+
+    /**
+     * Add a rule on the value of the property.
+     *
+     * @param rule        the predicate to apply on the value of the property
+     * @param description the description of the rule
+     * @return this group of rules
+     * @throws IllegalArgumentException if the rule is null
+     */
+    public PropertyRulesBuilder<T, V> addRule(Predicate<V> rule, String description) {
+        return addRule("", rule, description);
+    }
+
+    /**
+     * End the group of rules of this property and go back to the builder of the business object.
+     *
+     * @return the builder of the business object.
+     */
+    public BValidatorManualBuilder<T> end() {
+        return parent;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    boolean isEmpty() {
+        return rules.isEmpty();
+    }
+
+    /**
+     * Copy this group of rules for the builder of a subtype, which reads the property with the same getter.
+     *
+     * @param parent the builder of the subtype.
+     * @param <S>    the subtype of the business object.
+     * @return a copy of this group of rules, ended on the given builder.
+     */
+    <S extends T> PropertyRulesBuilder<S, V> copyFor(BValidatorManualBuilder<S> parent) {
+        PropertyRulesBuilder<S, V> copy = new PropertyRulesBuilder<>(parent, name, getter::apply);
+        copy.rules.addAll(rules);
+        return copy;
+    }
+
+    PropertyRulesObject<T, V> build(RuleGroups ruleGroups) {
+        return new PropertyRulesObject<>(name, getter, rules, ruleGroups);
+    }
+}
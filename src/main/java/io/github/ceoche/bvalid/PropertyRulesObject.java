@@ -0,0 +1,153 @@
+/*
+ * Copyright 2022-2023 Cédric Eoche-Duval
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * ou may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.ceoche.bvalid;
+
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Rules of a property of a business object, evaluated on a single call of the getter of the property.
+ * Class not intended to be used outside the library.
+ *
+ * @param <T> the type of the business object holding the property.
+ * @param <V> the type of the property.
+ * @see PropertyRulesBuilder
+ */
+class PropertyRulesObject<T, V> {
+
+    private final String name;
+
+    private final Function<T, V> getter;
+
+    private final BusinessRuleObject<V>[] rules;
+
+    // positions of the prerequisites of each rule, null if no rule has prerequisites
+    private final int[][] prerequisites;
+
+    // positions of the rules by increasing cost hint, for fail-fast validations, adaptive or not: property rules are
+    // few and share the value of a single getter call, they are not measured
+    private final int[] hintOrder;
+
+    // mask of the groups of each rule
+    private final long[] ruleMasks;
+
+    private final long groups;
+
+    @SuppressWarnings("unchecked")
+    PropertyRulesObject(String name, Function<T, V> getter, Set<BusinessRuleObject<V>> rules, RuleGroups ruleGroups) {
+        this.name = name;
+        this.getter = getter;
+        // the array only holds the rules of the set, all of type BusinessRuleObject<V>
+        this.rules = BValidator.sortByPrerequisites((BusinessRuleObject<V>[]) rules.toArray(new BusinessRuleObject<?>[0]));
+        this.prerequisites = BValidator.getPrerequisitePositions(this.rules);
+        this.hintOrder = RuleScheduler.getHintOrder(this.rules);
+        this.ruleMasks = new long[this.rules.length];
+        long unionOfGroups = 0;
+        for (int position = 0; position < this.rules.length; position++) {
+            ruleMasks[position] = ruleGroups.declare(this.rules[position].getGroups());
+            unionOfGroups |= ruleMasks[position];
+        }
+        this.groups = unionOfGroups;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    // union of the groups of the rules
+    long getGroups() {
+        return groups;
+    }
+
+    void validate(T object, long selectedGroups, ResultCollector collector, ValidationState state) {
+        validate(object, name, selectedGroups, collector, state);
+    }
+
+    // validate the property under the given name, its full path when it is validated alone
+    void validate(T object, String resultName, long selectedGroups, ResultCollector collector, ValidationState state) {
+        if ((groups & selectedGroups) == 0) {
+            return;
+        }
+        V value;
+        try {
+            value = getter.apply(object);
+        } catch (InvocationException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            throw new InvocationException(e);
+        }
+        collector.startProperty(value, resultName, rules);
+        if (state.isFailFast()) {
+            validateFailFast(value, selectedGroups, collector, state);
+        } else {
+            // rules that failed or were skipped, when rules have prerequisites
+            final long[] failedRules = prerequisites != null ? state.ruleBits(rules.length) : null;
+            for (int position = 0; position < rules.length; position++) {
+                if ((ruleMasks[position] & selectedGroups) == 0) {
+                    continue;
+                }
+                if (failedRules != null && BValidator.anyFailed(failedRules, prerequisites[position])) {
+                    failedRules[position >>> 6] |= 1L << position;
+                    collector.ruleSkipped(rules[position], position);
+                } else if (!run(position, value, selectedGroups, collector) && failedRules != null) {
+                    failedRules[position >>> 6] |= 1L << position;
+                }
+            }
+        }
+        collector.endObject();
+    }
+
+    // run the rules by increasing cost hint until the first failure, each after its prerequisites not run yet
+    private void validateFailFast(V value, long selectedGroups, ResultCollector collector, ValidationState state) {
+        final long[] runRules = prerequisites != null ? state.ruleBits(rules.length) : null;
+        for (int position : hintOrder) {
+            if (!runWithPrerequisites(position, value, selectedGroups, runRules, collector)) {
+                state.stop();
+                return;
+            }
+        }
+    }
+
+    private boolean runWithPrerequisites(int position, V value, long selectedGroups, long[] runRules, ResultCollector collector) {
+        if (runRules != null) {
+            if ((runRules[position >>> 6] & (1L << position)) != 0) {
+                return true;
+            }
+            runRules[position >>> 6] |= 1L << position;
+            for (int prerequisite : prerequisites[position]) {
+                if (!runWithPrerequisites(prerequisite, value, selectedGroups, runRules, collector)) {
+                    return false;
+                }
+            }
+        }
+        return run(position, value, selectedGroups, collector);
+    }
+
+    // run a rule of the selected groups, returns false only if it is invalid
+    private boolean run(int position, V value, long selectedGroups, ResultCollector collector) {
+        if ((ruleMasks[position] & selectedGroups) == 0) {
+            return true;
+        }
+        final boolean valid;
+        try {
+            valid = rules[position].apply(value);
+        } catch (InvocationException e) {
+            throw new InvocationException(e.getCause());
+        }
+        collector.ruleResult(rules[position], position, valid);
+        return valid;
+    }
+}
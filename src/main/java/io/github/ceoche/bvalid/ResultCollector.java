@@ -0,0 +1,85 @@
+/*
+ * Copyright 2022-2023 Cédric Eoche-Duval
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * ou may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.ceoche.bvalid;
+
+/**
+ * Receive the outcomes of a validation while {@link BValidator} walks through a business object graph.
+ * Events are emitted in depth-first order: an object is started, its rule outcomes are collected, then its
+ * members are started and ended, and finally the object itself is ended.
+ * Class not intended to be used outside the library.
+ */
+interface ResultCollector {
+
+    /**
+     * Start the result of a business object.
+     *
+     * @param object the validated business object.
+     * @param name   name of the business object or of the member holding it.
+     * @param index  position of the object in its collection or array, -1 if the object is not an element.
+     * @param rules  table of the rules of the validator in charge of the object.
+     */
+    void startObject(Object object, String name, int index, BusinessRuleObject<?>[] rules);
+
+    /**
+     * Start the result of an element of a member holding containers, named after the indexes and the keys of its
+     * enclosing containers. The name is rendered as a string by default, collectors that only need it for some
+     * objects may keep it until the object is ended instead.
+     *
+     * @param object the validated business object.
+     * @param name   name of the element, only stable until the object is ended.
+     * @param index  position of the object in its collection or array, -1 if the object is not an element.
+     * @param rules  table of the rules of the validator in charge of the object.
+     */
+    default void startObject(Object object, ElementName name, int index, BusinessRuleObject<?>[] rules) {
+        startObject(object, name.toString(), index, rules);
+    }
+
+    /**
+     * Start the result of a property validated by its own group of rules, see {@link PropertyRulesBuilder}. The
+     * property value is not a business object, it is reported like one by default. Ended by {@link #endObject()}.
+     *
+     * @param value the value of the property, possibly null.
+     * @param name  name of the property.
+     * @param rules table of the rules of the property.
+     */
+    default void startProperty(Object value, String name, BusinessRuleObject<?>[] rules) {
+        startObject(value, name, -1, rules);
+    }
+
+    /**
+     * Collect the outcome of a rule of the current business object.
+     *
+     * @param rule     the evaluated rule.
+     * @param position position of the rule in the table given to {@link #startObject(Object, String, int, BusinessRuleObject[])}.
+     * @param valid    result of the rule.
+     */
+    void ruleResult(BusinessRuleObject<?> rule, int position, boolean valid);
+
+    /**
+     * Collect a rule of the current business object that has not been run because one of its prerequisites is not
+     * valid. Ignored by default: a skipped rule is neither a test nor a failure.
+     *
+     * @param rule     the skipped rule.
+     * @param position position of the rule in the table given to {@link #startObject(Object, String, int, BusinessRuleObject[])}.
+     */
+    default void ruleSkipped(BusinessRuleObject<?> rule, int position) {
+    }
+
+    /**
+     * End the result of the current business object.
+     */
+    void endObject();
+}
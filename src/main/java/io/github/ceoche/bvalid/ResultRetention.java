@@ -0,0 +1,86 @@
+/*
+ * Copyright 2022-2023 Cédric Eoche-Duval
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * ou may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.ceoche.bvalid;
+
+/**
+ * <p>Policy defining which {@link RuleResult} are kept in an {@link ObjectResult} during a validation.</p>
+ * <p>Results that are not kept are still counted: {@link ObjectResult#isValid()} and
+ * {@link ObjectResult#getNbOfTests()} take them into account. Members that end up without any kept result are
+ * omitted from the report.</p>
+ * <p>Example:</p>
+ * <pre>{@code
+ * ObjectResult result = bValidator.validate(object, ResultRetention.maxViolations(100));
+ * }</pre>
+ *
+ * @author ceoche
+ * @see BValidator#withRetention(ResultRetention)
+ */
+public final class ResultRetention {
+
+    private static final ResultRetention ALL = new ResultRetention(true, Integer.MAX_VALUE);
+
+    private static final ResultRetention INVALID_ONLY = new ResultRetention(false, Integer.MAX_VALUE);
+
+    private final boolean keepValid;
+
+    private final int maxViolations;
+
+    private ResultRetention(boolean keepValid, int maxViolations) {
+        this.keepValid = keepValid;
+        this.maxViolations = maxViolations;
+    }
+
+    /**
+     * Keep every valid and invalid result. This is the default policy.
+     *
+     * @return the policy keeping all results.
+     */
+    public static ResultRetention all() {
+        return ALL;
+    }
+
+    /**
+     * Keep only invalid results, valid results are only counted.
+     *
+     * @return the policy keeping invalid results.
+     */
+    public static ResultRetention invalidOnly() {
+        return INVALID_ONLY;
+    }
+
+    /**
+     * Keep at most the given number of invalid results per validation call, others results are only counted.
+     * Memory used by the report is then bounded whatever the size of the validated objects.
+     *
+     * @param maxViolations maximum number of invalid results to keep.
+     * @return the policy keeping a bounded number of invalid results.
+     * @throws IllegalArgumentException if maxViolations is negative.
+     */
+    public static ResultRetention maxViolations(int maxViolations) {
+        if (maxViolations < 0) {
+            throw new IllegalArgumentException("Maximum number of violations must not be negative");
+        }
+        return new ResultRetention(false, maxViolations);
+    }
+
+    boolean isKeepingValid() {
+        return keepValid;
+    }
+
+    int getMaxViolations() {
+        return maxViolations;
+    }
+}
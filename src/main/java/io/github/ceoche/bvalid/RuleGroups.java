@@ -0,0 +1,112 @@
+/*
+ * Copyright 2022-2023 Cédric Eoche-Duval
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * ou may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.ceoche.bvalid;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Rule groups declared in a graph of validators, each group being assigned to a bit of a mask so that the selection
+ * of the rules and of the members to validate costs a bitwise operation.
+ * <p>Groups are declared by the rules when the validators are built, and only looked up when they are selected, so
+ * selecting a group never registers it. A graph built with a {@link BValidatorRegistry} shares the groups of the
+ * registry, so that the validators it holds can be reused, otherwise each graph has its own groups.</p>
+ * Class not intended to be used outside the library.
+ *
+ * @author ceoche
+ * @see BusinessRule#groups()
+ */
+final class RuleGroups {
+
+    /**
+     * Mask selecting all the groups.
+     */
+    static final long ALL = -1L;
+
+    /**
+     * Bit of a selection holding groups that are not declared, never assigned to a group. Validators built on first
+     * encounter may declare them later, see {@link ValidationState#resolveGroups()}.
+     */
+    static final long UNRESOLVED = Long.MIN_VALUE;
+
+    private static final long DEFAULT = 1L;
+
+    private static final int MAX_GROUPS = Long.SIZE - 1;
+
+    // copied on each declaration, so that selections are looked up without locking
+    private volatile Map<String, Long> bits = Collections.singletonMap(BusinessRule.DEFAULT_GROUP, DEFAULT);
+
+    /**
+     * Get the mask of the groups of a rule, declaring the groups not seen yet.
+     *
+     * @param groups the names of the groups, none for the default group.
+     * @return the mask of the groups.
+     * @throws IllegalBusinessObjectException if too many groups are declared.
+     */
+    long declare(String[] groups) {
+        if (groups.length == 0) {
+            return DEFAULT;
+        }
+        long mask = 0;
+        for (String group : groups) {
+            Long bit = bits.get(group);
+            mask |= bit != null ? bit : declare(group);
+        }
+        return mask;
+    }
+
+    /**
+     * Get the mask of the selected groups. Groups that are not declared are not registered, they only set the
+     * {@link #UNRESOLVED} bit.
+     *
+     * @param groups the names of the selected groups.
+     * @return the mask of the selection.
+     */
+    long select(String[] groups) {
+        Map<String, Long> declared = bits;
+        long mask = 0;
+        for (String group : groups) {
+            Long bit = declared.get(group);
+            mask |= bit != null ? bit : UNRESOLVED;
+        }
+        return mask;
+    }
+
+    /**
+     * Get the number of declared groups, which only grows.
+     *
+     * @return the number of groups.
+     */
+    int size() {
+        return bits.size();
+    }
+
+    private synchronized long declare(String group) {
+        Long bit = bits.get(group);
+        if (bit == null) {
+            if (bits.size() >= MAX_GROUPS) {
+                throw new IllegalBusinessObjectException("Cannot declare rule group '" + group + "', at most " +
+                        MAX_GROUPS + " groups are supported");
+            }
+            bit = 1L << bits.size();
+            Map<String, Long> declared = new HashMap<>(bits);
+            declared.put(group, bit);
+            bits = declared;
+        }
+        return bit;
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2022-2023 Cédric Eoche-Duval
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * ou may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.ceoche.bvalid;
+
+/**
+ * <p>Options of a rule added with the {@link BValidatorManualBuilder}: its groups, its prerequisites and its cost
+ * hint. They are the equivalent of the attributes of {@link BusinessRule}, and are accepted by every kind of rule:
+ * plain, context, batch and property rules.</p>
+ * <p>Options are immutable, each method returns new options:</p>
+ * <pre>{@code
+ * builder.addRule("R08", Book::isReferenced, "Book must be referenced.",
+ *         RuleOptions.defaults().inGroups("submission").requires("R01").withCost(100));
+ * }</pre>
+ *
+ * @author ceoche
+ * @see BValidatorManualBuilder#addRule(String, java.util.function.Predicate, String, RuleOptions)
+ */
+public final class RuleOptions {
+
+    private static final String[] NONE = new String[0];
+
+    private static final RuleOptions DEFAULTS = new RuleOptions(NONE, NONE, 1);
+
+    private final String[] groups;
+
+    private final String[] prerequisites;
+
+    private final int cost;
+
+    private RuleOptions(String[] groups, String[] prerequisites, int cost) {
+        this.groups = groups;
+        this.prerequisites = prerequisites;
+        this.cost = cost;
+    }
+
+    /**
+     * Get the default options: the rule belongs to {@link BusinessRule#DEFAULT_GROUP}, has no prerequisite and a cost
+     * of 1.
+     *
+     * @return the default options.
+     */
+    public static RuleOptions defaults() {
+        return DEFAULTS;
+    }
+
+    /**
+     * Get options with the rule in the given groups. Only the rules of the selected groups are run by
+     * {@link BValidator#validate(Object, String...)}.
+     *
+     * @param groups the groups of the rule, none for {@link BusinessRule#DEFAULT_GROUP}.
+     * @return new options with the given groups.
+     * @throws IllegalArgumentException if a group is null.
+     * @see BusinessRule#groups()
+     */
+    public RuleOptions inGroups(String... groups) {
+        if (groups == null) {
+            throw new IllegalArgumentException("Rule groups must not be null");
+        }
+        for (String group : groups) {
+            if (group == null) {
+                throw new IllegalArgumentException("Rule group must not be null");
+            }
+        }
+        return new RuleOptions(groups.clone(), prerequisites, cost);
+    }
+
+    /**
+     * Get options with the rule only run if the rules of the given ids are valid, otherwise it is reported as
+     * skipped. Prerequisites must be rules of the same validator, or of the same property for a property rule.
+     *
+     * @param prerequisites the ids of the rules that must be valid to run the rule.
+     * @return new options with the given prerequisites.
+     * @throws IllegalArgumentException if a prerequisite is null or empty.
+     * @see BusinessRule#requires()
+     */
+    public RuleOptions requires(String... prerequisites) {
+        if (prerequisites == null) {
+            throw new IllegalArgumentException("Rule prerequisites must not be null");
+        }
+        for (String prerequisite : prerequisites) {
+            if (prerequisite == null || prerequisite.isEmpty()) {
+                throw new IllegalArgumentException("Rule prerequisite must be the id of a rule");
+            }
+        }
+        return new RuleOptions(groups, prerequisites.clone(), cost);
+    }
+
+    /**
+     * Get options with a hint of the cost of the rule relative to the other rules, for instance 1 for a null check
+     * and 100 for a lookup. In fail-fast mode, the cheapest rules are run first until statistics are available.
+     *
+     * @param cost the relative cost of the rule, at least 1.
+     * @return new options with the given cost.
+     * @throws IllegalArgumentException if the cost is not positive.
+     * @see BusinessRule#cost()
+     */
+    public RuleOptions withCost(int cost) {
+        if (cost < 1) {
+            throw new IllegalArgumentException("Rule cost must be positive");
+        }
+        return new RuleOptions(groups, prerequisites, cost);
+    }
+
+    String[] getGroups() {
+        return groups;
+    }
+
+    String[] getPrerequisites() {
+        return prerequisites;
+    }
+
+    int getCost() {
+        return cost;
+    }
+}
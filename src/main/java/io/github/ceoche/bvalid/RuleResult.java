@@ -15,6 +15,8 @@
  */
 package io.github.ceoche.bvalid;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.Objects;
 
 /**
@@ -25,6 +27,7 @@ public class RuleResult {
     private final String id;
     private final String description;
     private final boolean valid;
+    private final boolean skipped;
 
     /**
      * Hidden constructor without rule id.
@@ -44,9 +47,22 @@ public class RuleResult {
      * @param valid       result of the test (true for valid, false for invalid).
      */
     RuleResult(String id, String description, boolean valid) {
+        this(id, description, valid, false);
+    }
+
+    /**
+     * Hidden constructor of a result that may be skipped.
+     *
+     * @param id          requirement or assertion id of the business rule.
+     * @param description description of the rule.
+     * @param valid       result of the test (true for valid, false for invalid).
+     * @param skipped     true if the rule has not been run because a prerequisite is not valid.
+     */
+    RuleResult(String id, String description, boolean valid, boolean skipped) {
         this.id = id;
         this.description = description;
         this.valid = valid;
+        this.skipped = skipped;
     }
 
     /**
@@ -68,7 +84,7 @@ public class RuleResult {
     }
 
     /**
-     * Is the business rule valid.
+     * Is the business rule valid. A skipped rule is not reported as invalid, the failure of its prerequisite is.
      *
      * @return true if valid, false otherwise.
      */
@@ -76,6 +92,16 @@ public class RuleResult {
         return valid;
     }
 
+    /**
+     * Is the business rule skipped, because one of its prerequisites is not valid.
+     *
+     * @return true if the rule has not been run, false otherwise.
+     * @see BusinessRule#requires()
+     */
+    public boolean isSkipped() {
+        return skipped;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -85,22 +111,31 @@ public class RuleResult {
             return false;
         }
         RuleResult that = (RuleResult) o;
-        return valid == that.valid && Objects.equals(id, that.id) && Objects.equals(description,
+        return valid == that.valid && skipped == that.skipped && Objects.equals(id, that.id) && Objects.equals(description,
                 that.description);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(id, description, valid);
+        return Objects.hash(id, description, valid, skipped);
     }
 
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder();
+        try {
+            writeTo(sb);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return sb.toString();
+    }
+
+    void writeTo(Appendable out) throws IOException {
         if (id != null && !id.isEmpty()) {
-            sb.append("[").append(id).append("] ");
+            out.append("[").append(id).append("] ");
         }
-        return sb.append(description).append(" => ").append(asResultString(valid)).toString();
+        out.append(description).append(" => ").append(skipped ? "skipped" : asResultString(valid));
     }
 
     private String asResultString(boolean result) {
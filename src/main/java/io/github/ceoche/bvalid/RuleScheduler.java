@@ -0,0 +1,184 @@
+/*
+ * Copyright 2022-2023 Cédric Eoche-Duval
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * ou may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.ceoche.bvalid;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.stream.IntStream;
+
+/**
+ * Order in which the rules of a validator are run in fail-fast mode. The order is first given by the cost hints of
+ * the rules, then, in adaptive mode, by statistics sampled on the validations: the rules that are cheap and often
+ * invalid come first, to reach the first failure at the lowest cost. Statistics are only measured on one validation
+ * out of {@value #SAMPLING_PERIOD} to keep the overhead low. As a fail-fast validation does not run the rules after the
+ * first failure, one sampled validation out of {@value #EXPLORATION_PERIOD} also measures them, and rules not measured
+ * yet are given a cost derived from their hint, so that no rule is stuck at the end of the order. Batch rules are
+ * never measured: their outcome is mostly evaluated ahead for a whole chunk, so the time of a validation would only
+ * be the lookup of that outcome. They are always given the cost derived from their hint.
+ * Class not intended to be used outside the library.
+ *
+ * @author ceoche
+ * @see BValidator#failFast(boolean)
+ */
+final class RuleScheduler {
+
+    static final int SAMPLING_PERIOD = 16;
+
+    // sampled validations out of which one also measures the rules after the first failure
+    static final int EXPLORATION_PERIOD = 16;
+
+    // measured rule evaluations between two computations of the order
+    static final int SAMPLES_PER_UPDATE = 256;
+
+    // weight of a new measure in the moving averages
+    private static final double WEIGHT = 0.1;
+
+    // lowest failure rate considered, so that never failing rules are still ordered by cost
+    private static final double MIN_FAILURE_RATE = 0.001;
+
+    // failure rate assumed for a rule not measured yet, so that it is tried early if its cost hint is low
+    private static final double PRIOR_FAILURE_RATE = 0.5;
+
+    private final int[] hints;
+
+    private final int[] hintOrder;
+
+    private final double[] costs;
+
+    private final double[] failureRates;
+
+    // rules whose evaluations are not recorded
+    private final boolean[] unmeasured;
+
+    private volatile int[] order;
+
+    // approximate counter of validations, lost increments only shift the sampling
+    private int validations;
+
+    private int samples;
+
+    private int sampledValidations;
+
+    RuleScheduler(BusinessRuleObject<?>[] rules) {
+        this.hintOrder = getHintOrder(rules);
+        this.hints = Arrays.stream(rules).mapToInt(BusinessRuleObject::getCost).toArray();
+        this.costs = new double[rules.length];
+        this.failureRates = new double[rules.length];
+        this.unmeasured = new boolean[rules.length];
+        for (int position = 0; position < rules.length; position++) {
+            unmeasured[position] = rules[position] instanceof BatchRuleObject;
+        }
+        Arrays.fill(costs, Double.NaN);
+        this.order = hintOrder;
+    }
+
+    /**
+     * Get the positions of the rules ordered by their cost hints only.
+     *
+     * @return the positions of the rules, the cheapest first.
+     */
+    int[] getHintOrder() {
+        return hintOrder;
+    }
+
+    /**
+     * Order the given rules by their cost hints, rules of equal cost keeping their order.
+     *
+     * @param rules the rules to order.
+     * @return the positions of the rules, the cheapest first.
+     */
+    static int[] getHintOrder(BusinessRuleObject<?>[] rules) {
+        return IntStream.range(0, rules.length).boxed()
+                .sorted(Comparator.comparingInt(position -> rules[position].getCost()))
+                .mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Get the positions of the rules ordered by their expected cost to reach a failure, as measured so far.
+     *
+     * @return the positions of the rules, in the order to run them.
+     */
+    int[] getOrder() {
+        return order;
+    }
+
+    /**
+     * Verify if the rules of the current validation must be measured.
+     *
+     * @return true for one validation out of {@value #SAMPLING_PERIOD}.
+     */
+    boolean sample() {
+        return validations++ % SAMPLING_PERIOD == 0;
+    }
+
+    /**
+     * Verify if the rules after the first failure of the current sampled validation must be measured too, without
+     * being reported.
+     *
+     * @return true for one sampled validation out of {@value #EXPLORATION_PERIOD}.
+     */
+    boolean explore() {
+        return sampledValidations++ % EXPLORATION_PERIOD == 0;
+    }
+
+    /**
+     * Record a measured evaluation of a rule, and compute the order of the rules again from time to time. The
+     * evaluations of batch rules are ignored.
+     *
+     * @param position position of the rule in the table of the validator.
+     * @param cost     duration of the evaluation, in nanoseconds.
+     * @param valid    outcome of the rule.
+     */
+    synchronized void record(int position, long cost, boolean valid) {
+        if (unmeasured[position]) {
+            return;
+        }
+        double failure = valid ? 0 : 1;
+        if (Double.isNaN(costs[position])) {
+            costs[position] = cost;
+            failureRates[position] = failure;
+        } else {
+            costs[position] += WEIGHT * (cost - costs[position]);
+            failureRates[position] += WEIGHT * (failure - failureRates[position]);
+        }
+        if (++samples % SAMPLES_PER_UPDATE == 0) {
+            order = computeOrder();
+        }
+    }
+
+    // cost divided by failure rate: the expected cost of the rules run before the first failure is then minimal
+    private int[] computeOrder() {
+        // duration of a unit of cost hint, estimated on the measured rules
+        double measuredCosts = 0;
+        double measuredHints = 0;
+        for (int position = 0; position < costs.length; position++) {
+            if (!Double.isNaN(costs[position])) {
+                measuredCosts += costs[position];
+                measuredHints += hints[position];
+            }
+        }
+        double hintCost = measuredCosts / measuredHints;
+        double[] scores = new double[costs.length];
+        for (int position = 0; position < costs.length; position++) {
+            scores[position] = Double.isNaN(costs[position]) ? hints[position] * hintCost / PRIOR_FAILURE_RATE
+                    : costs[position] / Math.max(failureRates[position], MIN_FAILURE_RATE);
+        }
+        // stable sort: rules of equal score keep the order of their cost hints
+        return Arrays.stream(hintOrder).boxed()
+                .sorted(Comparator.comparingDouble(position -> scores[position]))
+                .mapToInt(Integer::intValue).toArray();
+    }
+}
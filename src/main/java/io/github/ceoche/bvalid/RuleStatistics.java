@@ -0,0 +1,82 @@
+/*
+ * Copyright 2022-2023 Cédric Eoche-Duval
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * ou may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.ceoche.bvalid;
+
+/**
+ * Snapshot of the counters of a business rule in a {@link ValidationSummary}.
+ *
+ * @author ceoche
+ */
+public class RuleStatistics {
+
+    private final String id;
+    private final String description;
+    private final long nbOfTests;
+    private final long nbOfFailures;
+
+    RuleStatistics(String id, String description, long nbOfTests, long nbOfFailures) {
+        this.id = id;
+        this.description = description;
+        this.nbOfTests = nbOfTests;
+        this.nbOfFailures = nbOfFailures;
+    }
+
+    /**
+     * Get the requirement or assertion identifier of the rule.
+     *
+     * @return the id of the rule.
+     */
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * Get the description of the business rule.
+     *
+     * @return the description.
+     */
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * Get the number of times the rule has been tested.
+     *
+     * @return the number of tests.
+     */
+    public long getNbOfTests() {
+        return nbOfTests;
+    }
+
+    /**
+     * Get the number of times the rule has failed.
+     *
+     * @return the number of failures.
+     */
+    public long getNbOfFailures() {
+        return nbOfFailures;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        if (id != null && !id.isEmpty()) {
+            sb.append("[").append(id).append("] ");
+        }
+        return sb.append(description).append(" => ").append(nbOfFailures).append(" failure(s) / ")
+                .append(nbOfTests).append(" test(s)").toString();
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2022-2023 Cédric Eoche-Duval
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * ou may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.ceoche.bvalid;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * <p>Declarative business rule on a getter of a {@link BusinessObject}: the length of the returned
+ * {@link CharSequence}, the size of the returned {@link java.util.Collection} or {@link java.util.Map}, or the length
+ * of the returned array must be between the given bounds (inclusive). A null value is considered valid, combine with
+ * {@link Defined} to make the property mandatory.</p>
+ * <pre>
+ * {@code @Size(min = 1, max = 10)
+ * public List<Book> getBooks() {
+ *    return books;
+ * }}</pre>
+ *
+ * @author ceoche
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface Size {
+
+    /**
+     * Minimum size, inclusive.
+     *
+     * @return the minimum size.
+     */
+    int min() default 0;
+
+    /**
+     * Maximum size, inclusive.
+     *
+     * @return the maximum size.
+     */
+    int max() default Integer.MAX_VALUE;
+
+    /**
+     * Identifier of the business rule. To be used in an environment that requires requirement traceability.
+     *
+     * @return the identifier of the business rule.
+     */
+    String id() default "";
+
+    /**
+     * Description of the rule. Generated from the name of the property if empty, for instance
+     * "books size must be between 1 and 10".
+     *
+     * @return the description of the rule.
+     */
+    String description() default "";
+
+    /**
+     * Groups of the business rule, {@link BusinessRule#DEFAULT_GROUP} if empty.
+     *
+     * @return the groups of the business rule.
+     * @see BusinessRule#groups()
+     */
+    String[] groups() default {};
+}
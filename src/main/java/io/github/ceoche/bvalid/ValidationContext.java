@@ -0,0 +1,120 @@
+/*
+ * Copyright 2022-2023 Cédric Eoche-Duval
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * ou may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.ceoche.bvalid;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * <p>Context of a single validation call, given to the rules added with
+ * {@link BValidatorManualBuilder#addContextRule(String, java.util.function.BiPredicate, String)}. It lets rules share
+ * values derived during the validation, such as a parsed date or the result of a lookup, and access the business
+ * objects holding the one being validated.</p>
+ * <p>A context is created per validation call: validating a collection shares one context between all the elements.
+ * It is only used by the thread running the validation and must not be kept once the rule returns.</p>
+ * <pre>{@code
+ * new BValidatorManualBuilder<>(OrderItem.class)
+ *       .addContextRule("R12", (item, context) -> {
+ *          Order order = context.getParent(Order.class);
+ *          Set<String> catalog = context.memo("catalog", () -> loadCatalog(order.getCountry()));
+ *          return catalog.contains(item.getReference());
+ *       }, "Item must be in the catalog of the country of the order")
+ * }</pre>
+ *
+ * @author ceoche
+ */
+public final class ValidationContext {
+
+    // marker of a memoized null value
+    private static final Object NULL = new Object();
+
+    private final ValidationState state;
+
+    private Map<Object, Object> memo;
+
+    ValidationContext(ValidationState state) {
+        this.state = state;
+    }
+
+    /**
+     * Get the value memoized under the given key during this validation, computing it on the first call. Keys are
+     * compared with {@code equals}, so a key can combine several values, for instance with {@link java.util.List#of}.
+     *
+     * @param key      the key of the value, shared by all the rules of the validation.
+     * @param supplier computation of the value, called at most once per validation and per key.
+     * @param <V>      the type of the value.
+     * @return the memoized value, possibly null if the supplier returned null.
+     * @throws NullPointerException if the key or the supplier is null.
+     */
+    @SuppressWarnings("unchecked")
+    public <V> V memo(Object key, Supplier<? extends V> supplier) {
+        if (key == null || supplier == null) {
+            throw new NullPointerException("Memo key and supplier must not be null");
+        }
+        if (memo == null) {
+            memo = new HashMap<>();
+        }
+        Object value = memo.get(key);
+        if (value == null) {
+            // not computeIfAbsent: the supplier may memoize other values
+            value = supplier.get();
+            memo.put(key, value != null ? value : NULL);
+        }
+        return value != NULL ? (V) value : null;
+    }
+
+    /**
+     * Get the business object holding, as a member, the one being validated.
+     *
+     * @return the parent business object, or null if the validated object is the root of the validation.
+     */
+    public Object getParent() {
+        return state.getAncestor(1);
+    }
+
+    /**
+     * Get the closest business object of the given type among the ones holding the one being validated, for
+     * instance the order of an order line.
+     *
+     * @param type the type of the ancestor to find.
+     * @param <P>  the type of the ancestor.
+     * @return the closest ancestor of the given type, or null if there is none.
+     */
+    public <P> P getParent(Class<P> type) {
+        for (int distance = 1; ; distance++) {
+            Object ancestor = state.getAncestor(distance);
+            if (ancestor == null || type.isInstance(ancestor)) {
+                return type.cast(ancestor);
+            }
+        }
+    }
+
+    /**
+     * Get the business object given to the validation, or the element of the collection being validated.
+     *
+     * @return the root business object.
+     */
+    public Object getRoot() {
+        return state.getRoot();
+    }
+
+    void clear() {
+        if (memo != null) {
+            memo.clear();
+        }
+    }
+}
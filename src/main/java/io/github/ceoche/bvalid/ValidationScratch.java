@@ -0,0 +1,185 @@
+/*
+ * Copyright 2022-2023 Cédric Eoche-Duval
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * ou may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.ceoche.bvalid;
+
+import java.util.Arrays;
+
+/**
+ * <p>Mutable and reusable holder of validation outcomes, filled in place by
+ * {@link BValidator#validate(Object, ValidationScratch)}.</p>
+ * <p>Unlike {@link ObjectResult}, a scratch only records the verdict, the number of tests and the violations with
+ * their path. Its internal tables are reset, not reallocated, on each call: once warmed up, validating a valid
+ * object does not allocate anything, apart from the iterators of the members that are neither lists nor arrays, such
+ * as maps, and an invalid object only allocates the paths of its violations. The names of map entries and of
+ * elements of nested containers are only rendered in these paths. This is meant for hot loops validating many small
+ * objects.</p>
+ * <p>A scratch is not thread-safe. Keep one per thread, for instance in a {@link ThreadLocal}, or in a pool:</p>
+ * <pre>
+ * private static final ThreadLocal&lt;ValidationScratch&gt; SCRATCH = ThreadLocal.withInitial(ValidationScratch::new);
+ * [...]
+ * if (!validator.validate(message, SCRATCH.get()).isValid()) { ... }
+ * </pre>
+ *
+ * @author ceoche
+ */
+public final class ValidationScratch {
+
+    private final PathStack path = new PathStack();
+
+    private final ValidationState state = new ValidationState();
+
+    private final ResultCollector collector = new Collector();
+
+    private String[] violationPaths = new String[8];
+
+    private RuleResult[] violations = new RuleResult[8];
+
+    private int nbOfViolations;
+
+    private int nbOfTests;
+
+    /**
+     * Constructor of an empty ValidationScratch.
+     */
+    public ValidationScratch() {
+        // empty scratch
+    }
+
+    /**
+     * Verify whether the last validated object is valid.
+     *
+     * @return true if no rule of the last validation has failed, false otherwise.
+     */
+    public boolean isValid() {
+        return nbOfViolations == 0;
+    }
+
+    /**
+     * Get the number of rules tested by the last validation.
+     *
+     * @return the number of tests.
+     */
+    public int getNbOfTests() {
+        return nbOfTests;
+    }
+
+    /**
+     * Get the number of rules that failed during the last validation.
+     *
+     * @return the number of violations.
+     */
+    public int getNbOfViolations() {
+        return nbOfViolations;
+    }
+
+    /**
+     * Get the result of a failed rule of the last validation.
+     *
+     * @param index position of the violation, from 0 to {@link #getNbOfViolations()} excluded.
+     * @return the invalid {@link RuleResult}.
+     * @throws IndexOutOfBoundsException if the index is out of range.
+     */
+    public RuleResult getViolation(int index) {
+        return violations[checkIndex(index)];
+    }
+
+    /**
+     * Get the path of the object on which a rule failed during the last validation, for instance
+     * {@code person.phones[1]}.
+     *
+     * @param index position of the violation, from 0 to {@link #getNbOfViolations()} excluded.
+     * @return the path of the invalid object.
+     * @throws IndexOutOfBoundsException if the index is out of range.
+     */
+    public String getViolationPath(int index) {
+        return violationPaths[checkIndex(index)];
+    }
+
+    /**
+     * Clear the outcomes of the last validation. Called by the {@link BValidator} before each validation.
+     */
+    public void reset() {
+        Arrays.fill(violationPaths, 0, nbOfViolations, null);
+        Arrays.fill(violations, 0, nbOfViolations, null);
+        nbOfViolations = 0;
+        nbOfTests = 0;
+        path.clear();
+        state.clear();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (int index = 0; index < nbOfViolations; index++) {
+            sb.append(violationPaths[index]).append(' ').append(violations[index]).append('\n');
+        }
+        return sb.toString();
+    }
+
+    ResultCollector collector() {
+        return collector;
+    }
+
+    ValidationState state() {
+        return state;
+    }
+
+    private int checkIndex(int index) {
+        if (index < 0 || index >= nbOfViolations) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for " + nbOfViolations + " violation(s)");
+        }
+        return index;
+    }
+
+    private void addViolation(RuleResult violation) {
+        if (nbOfViolations == violations.length) {
+            violationPaths = Arrays.copyOf(violationPaths, nbOfViolations * 2);
+            violations = Arrays.copyOf(violations, nbOfViolations * 2);
+        }
+        violationPaths[nbOfViolations] = path.toString();
+        violations[nbOfViolations] = violation;
+        nbOfViolations++;
+    }
+
+    /**
+     * Record the outcomes in the tables of the scratch. Paths are only rendered for violations.
+     */
+    private class Collector implements ResultCollector {
+
+        @Override
+        public void startObject(Object object, String name, int index, BusinessRuleObject<?>[] rules) {
+            path.push(name, index);
+        }
+
+        @Override
+        public void startObject(Object object, ElementName name, int index, BusinessRuleObject<?>[] rules) {
+            path.push(name, index);
+        }
+
+        @Override
+        public void ruleResult(BusinessRuleObject<?> rule, int position, boolean valid) {
+            nbOfTests++;
+            if (!valid) {
+                addViolation(rule.getResult(false));
+            }
+        }
+
+        @Override
+        public void endObject() {
+            path.pop();
+        }
+    }
+}
@@ -0,0 +1,247 @@
+/*
+ * Copyright 2022-2023 Cédric Eoche-Duval
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * ou may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.ceoche.bvalid;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * State of a single validation call: the member values already validated, to stop on cycles, the business objects
+ * on the path of the one being validated, the outcomes of the {@link BatchRule} evaluated ahead of the validation of
+ * their business objects, the {@link ValidationContext} of the rules and whether the validation stops at the first
+ * failure. A state is only used by the thread running
+ * the validation, it is cleared to be reused by a {@link ValidationScratch}.
+ */
+class ValidationState {
+
+    private final VisitedObjects visitedObjects = new VisitedObjects();
+
+    // business objects from the root to the one being validated
+    private Object[] ancestors = new Object[16];
+
+    private int depth;
+
+    // names of the elements of the members of each business object of the path, reused for each object
+    private ElementName[] elementNames = new ElementName[16];
+
+    private ValidationContext context;
+
+    private boolean failFast;
+
+    private boolean adaptive;
+
+    private boolean stopped;
+
+    // groups selected by the validation, to resolve the names that were not declared when it started
+    private RuleGroups ruleGroups;
+
+    private String[] selectedGroupNames;
+
+    private long resolvedGroups;
+
+    private int resolvedSize;
+
+    // bits of the rules of the object being validated, reused for each object
+    private long[] ruleBits = new long[1];
+
+    // outcomes per rule, then per business object compared by identity, created on the first batch rule
+    private Map<BatchRuleObject<?>, Map<Object, Boolean>> batchOutcomes;
+
+    /**
+     * Mark a member value as visited.
+     *
+     * @param value the member value, must not be null.
+     * @return true if the value was not visited yet during this validation.
+     */
+    boolean visit(Object value) {
+        return visitedObjects.add(value);
+    }
+
+    // set the mode of the next validation
+    void setFailFast(boolean failFast, boolean adaptive) {
+        this.failFast = failFast;
+        this.adaptive = adaptive;
+    }
+
+    // set the groups selected by the next validation, null names to select all the rules
+    void setGroups(RuleGroups ruleGroups, String[] selectedGroupNames) {
+        this.ruleGroups = ruleGroups;
+        this.selectedGroupNames = selectedGroupNames;
+        this.resolvedSize = -1;
+    }
+
+    /**
+     * Get the mask of the selected groups, looked up again only if groups were declared since the last call, by
+     * validators built on first encounter.
+     *
+     * @return the mask of the selected groups.
+     */
+    long resolveGroups() {
+        if (selectedGroupNames == null) {
+            return RuleGroups.ALL;
+        }
+        int size = ruleGroups.size();
+        if (size != resolvedSize) {
+            resolvedGroups = ruleGroups.select(selectedGroupNames);
+            resolvedSize = size;
+        }
+        return resolvedGroups;
+    }
+
+    boolean isFailFast() {
+        return failFast;
+    }
+
+    boolean isAdaptive() {
+        return adaptive;
+    }
+
+    // stop the validation, in fail-fast mode once a rule is invalid
+    void stop() {
+        stopped = true;
+    }
+
+    boolean isStopped() {
+        return stopped;
+    }
+
+    // start the validation of a business object, below the current one
+    void enter(Object object) {
+        if (depth == ancestors.length) {
+            ancestors = Arrays.copyOf(ancestors, depth * 2);
+        }
+        ancestors[depth++] = object;
+    }
+
+    // end the validation of the current business object
+    void leave() {
+        ancestors[--depth] = null;
+    }
+
+    /**
+     * Get a business object on the path of the one being validated.
+     *
+     * @param distance 0 for the object being validated, 1 for its parent...
+     * @return the business object, or null if the path is not that deep.
+     */
+    Object getAncestor(int distance) {
+        return distance < depth ? ancestors[depth - 1 - distance] : null;
+    }
+
+    /**
+     * Get the name of the elements of a member of the business object being validated. The same name is returned
+     * for all the members of the objects at the same depth, so that naming elements does not allocate.
+     *
+     * @param member name of the member.
+     * @return the name, without segments, only valid until the next member of an object at the same depth.
+     */
+    ElementName elementName(String member) {
+        if (depth >= elementNames.length) {
+            elementNames = Arrays.copyOf(elementNames, depth * 2);
+        }
+        ElementName name = elementNames[depth];
+        if (name == null) {
+            name = new ElementName();
+            elementNames[depth] = name;
+        }
+        return name.reset(member);
+    }
+
+    Object getRoot() {
+        return depth > 0 ? ancestors[0] : null;
+    }
+
+    ValidationContext getContext() {
+        if (context == null) {
+            context = new ValidationContext(this);
+        }
+        return context;
+    }
+
+    /**
+     * Get a cleared set of bits, one per rule of the object being validated. The same array is returned for each
+     * object, so that validating an object does not allocate it.
+     *
+     * @param nbOfRules the number of rules of the object.
+     * @return the bits, only valid until the next call.
+     */
+    long[] ruleBits(int nbOfRules) {
+        int words = (nbOfRules + 63) >>> 6;
+        if (ruleBits.length < words) {
+            ruleBits = new long[words];
+        } else {
+            Arrays.fill(ruleBits, 0, words, 0L);
+        }
+        return ruleBits;
+    }
+
+    void putBatchOutcome(BatchRuleObject<?> rule, Object object, boolean valid) {
+        if (batchOutcomes == null) {
+            batchOutcomes = new IdentityHashMap<>();
+        }
+        batchOutcomes.computeIfAbsent(rule, key -> new IdentityHashMap<>()).put(object, valid);
+    }
+
+    /**
+     * Get the outcome of a batch rule evaluated ahead for the given business object, without forgetting it.
+     *
+     * @param rule   the batch rule.
+     * @param object the business object.
+     * @return the outcome, or null if the rule has not been evaluated ahead for this object.
+     */
+    Boolean peekBatchOutcome(BatchRuleObject<?> rule, Object object) {
+        if (batchOutcomes == null) {
+            return null;
+        }
+        Map<Object, Boolean> outcomes = batchOutcomes.get(rule);
+        return outcomes != null ? outcomes.get(object) : null;
+    }
+
+    /**
+     * Get and forget the outcome of a batch rule evaluated ahead for the given business object, so that outcomes are
+     * only held until their object is validated.
+     *
+     * @param rule   the batch rule.
+     * @param object the business object.
+     * @return the outcome, or null if the rule has not been evaluated ahead for this object.
+     */
+    Boolean takeBatchOutcome(BatchRuleObject<?> rule, Object object) {
+        if (batchOutcomes == null) {
+            return null;
+        }
+        Map<Object, Boolean> outcomes = batchOutcomes.get(rule);
+        return outcomes != null ? outcomes.remove(object) : null;
+    }
+
+    void clear() {
+        visitedObjects.clear();
+        Arrays.fill(ancestors, 0, depth, null);
+        depth = 0;
+        for (ElementName name : elementNames) {
+            if (name != null) {
+                name.reset(null);
+            }
+        }
+        stopped = false;
+        ruleGroups = null;
+        selectedGroupNames = null;
+        batchOutcomes = null;
+        if (context != null) {
+            context.clear();
+        }
+    }
+}
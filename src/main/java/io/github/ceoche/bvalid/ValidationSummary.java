@@ -0,0 +1,182 @@
+/*
+ * Copyright 2022-2023 Cédric Eoche-Duval
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * ou may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.ceoche.bvalid;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * <p>Thread-safe accumulator of validation statistics: number of validated and invalid objects, number of validated
+ * objects per type, and number of tests and failures per business rule.</p>
+ * <p>A summary is filled directly by {@link BValidator#validate(Object, ValidationSummary)}, without building any
+ * {@link ObjectResult}. It relies on striped counters, so several threads can fill the same summary concurrently.
+ * Summaries filled separately (per thread or per shard) can be combined with {@link #merge(ValidationSummary)}.</p>
+ *
+ * @author ceoche
+ */
+public final class ValidationSummary {
+
+    private final ConcurrentMap<BusinessRuleObject<?>, RuleCounters> ruleCounters = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<Class<?>, LongAdder> objectCounts = new ConcurrentHashMap<>();
+
+    private final LongAdder nbOfValidations = new LongAdder();
+
+    private final LongAdder nbOfInvalidValidations = new LongAdder();
+
+    /**
+     * Constructor of an empty ValidationSummary.
+     */
+    public ValidationSummary() {
+        // empty summary
+    }
+
+    /**
+     * Get the number of root objects validated with this summary.
+     *
+     * @return the number of validated root objects.
+     */
+    public long getNbOfValidations() {
+        return nbOfValidations.sum();
+    }
+
+    /**
+     * Get the number of root objects found invalid, including the ones with an invalid member.
+     *
+     * @return the number of invalid root objects.
+     */
+    public long getNbOfInvalidValidations() {
+        return nbOfInvalidValidations.sum();
+    }
+
+    /**
+     * Get the number of validated objects per type, root objects and members included.
+     *
+     * @return a snapshot of the number of validated objects per class.
+     */
+    public Map<Class<?>, Long> getObjectCounts() {
+        Map<Class<?>, Long> counts = new HashMap<>();
+        objectCounts.forEach((type, count) -> counts.put(type, count.sum()));
+        return counts;
+    }
+
+    /**
+     * Get the number of tests and failures per business rule. Rules sharing the same id and description are
+     * reported together.
+     *
+     * @return a snapshot of the statistics of each rule.
+     */
+    public List<RuleStatistics> getRuleStatistics() {
+        Map<List<String>, long[]> counts = new LinkedHashMap<>();
+        ruleCounters.forEach((rule, counters) -> {
+            long[] count = counts.computeIfAbsent(Arrays.asList(rule.getId(), rule.getDescription()), key -> new long[2]);
+            count[0] += counters.tests.sum();
+            count[1] += counters.failures.sum();
+        });
+        List<RuleStatistics> statistics = new ArrayList<>(counts.size());
+        counts.forEach((key, count) -> statistics.add(new RuleStatistics(key.get(0), key.get(1), count[0], count[1])));
+        return statistics;
+    }
+
+    /**
+     * Add all the counters of another summary to this one.
+     *
+     * @param other the summary to merge in this one.
+     * @return this summary.
+     */
+    public ValidationSummary merge(ValidationSummary other) {
+        other.ruleCounters.forEach((rule, counters) -> {
+            RuleCounters target = getRuleCounters(rule);
+            target.tests.add(counters.tests.sum());
+            target.failures.add(counters.failures.sum());
+        });
+        other.objectCounts.forEach((type, count) -> getObjectCount(type).add(count.sum()));
+        nbOfValidations.add(other.nbOfValidations.sum());
+        nbOfInvalidValidations.add(other.nbOfInvalidValidations.sum());
+        return this;
+    }
+
+    ResultCollector collector() {
+        return new Collector();
+    }
+
+    private RuleCounters getRuleCounters(BusinessRuleObject<?> rule) {
+        RuleCounters counters = ruleCounters.get(rule);
+        return counters != null ? counters : ruleCounters.computeIfAbsent(rule, key -> new RuleCounters());
+    }
+
+    private LongAdder getObjectCount(Class<?> type) {
+        LongAdder count = objectCounts.get(type);
+        return count != null ? count : objectCounts.computeIfAbsent(type, key -> new LongAdder());
+    }
+
+    private static class RuleCounters {
+        private final LongAdder tests = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+    }
+
+    /**
+     * Update the counters while the {@link BValidator} walks through the objects. A collector is used by a single
+     * validation call, only the counters are shared.
+     */
+    private class Collector implements ResultCollector {
+
+        private int depth;
+
+        private boolean invalid;
+
+        @Override
+        public void startObject(Object object, String name, int index, BusinessRuleObject<?>[] rules) {
+            startProperty(object, name, rules);
+            getObjectCount(object.getClass()).increment();
+        }
+
+        @Override
+        public void startObject(Object object, ElementName name, int index, BusinessRuleObject<?>[] rules) {
+            // the name is not counted, it is not rendered
+            startObject(object, name.getMember(), index, rules);
+        }
+
+        @Override
+        public void startProperty(Object value, String name, BusinessRuleObject<?>[] rules) {
+            if (depth++ == 0) {
+                invalid = false;
+            }
+        }
+
+        @Override
+        public void ruleResult(BusinessRuleObject<?> rule, int position, boolean valid) {
+            RuleCounters counters = getRuleCounters(rule);
+            counters.tests.increment();
+            if (!valid) {
+                counters.failures.increment();
+                invalid = true;
+            }
+        }
+
+        @Override
+        public void endObject() {
+            if (--depth == 0) {
+                nbOfValidations.increment();
+                if (invalid) {
+                    nbOfInvalidValidations.increment();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2022-2023 Cédric Eoche-Duval
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * ou may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.ceoche.bvalid;
+
+import java.util.*;
+
+/**
+ * {@link ResultCollector} that groups identical violations into {@link ViolationGroup}. Only the current path and
+ * the groups are kept, so the memory footprint is proportional to the number of distinct violations.
+ */
+class ViolationAggregator implements ResultCollector {
+
+    // groups by path pattern then by rule result, and in order of their first violation
+    private final Map<String, Map<RuleResult, ViolationGroup>> groupsByPattern = new HashMap<>();
+
+    private final List<ViolationGroup> groups = new ArrayList<>();
+
+    private final PathStack path = new PathStack();
+
+    @Override
+    public void startObject(Object object, String name, int index, BusinessRuleObject<?>[] rules) {
+        push(name, index);
+    }
+
+    @Override
+    public void ruleResult(BusinessRuleObject<?> rule, int position, boolean valid) {
+        if (!valid) {
+            violation(rule.getResult(false));
+        }
+    }
+
+    @Override
+    public void endObject() {
+        pop();
+    }
+
+    void push(String name, int index) {
+        path.push(name, index);
+    }
+
+    void pop() {
+        path.pop();
+    }
+
+    void violation(RuleResult ruleResult) {
+        int element = path.getInnermostElementLevel();
+        String pathPattern = path.toPattern(element);
+        Map<RuleResult, ViolationGroup> patternGroups = groupsByPattern.computeIfAbsent(pathPattern, key -> new HashMap<>());
+        ViolationGroup group = patternGroups.get(ruleResult);
+        if (group == null) {
+            group = new ViolationGroup(pathPattern, ruleResult);
+            patternGroups.put(ruleResult, group);
+            groups.add(group);
+        }
+        group.addViolation(element >= 0 ? path.getIndex(element) : -1);
+    }
+
+    List<ViolationGroup> getGroups() {
+        return new ArrayList<>(groups);
+    }
+}
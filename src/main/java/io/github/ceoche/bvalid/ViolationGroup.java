@@ -0,0 +1,97 @@
+/*
+ * Copyright 2022-2023 Cédric Eoche-Duval
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * ou may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.ceoche.bvalid;
+
+/**
+ * <p>Group of identical violations: the same business rule failing on several elements of the same collection or
+ * array.</p>
+ * <p>The path pattern of the group replaces the index of the innermost element with {@code [*]}, for instance
+ * {@code library.books[*].author}, and the indexes of the failing elements are kept in compressed
+ * {@link IndexRanges}. Violations outside any collection are groups of a single violation without index.</p>
+ *
+ * @author ceoche
+ * @see ObjectResult#getViolationGroups()
+ * @see BValidator#validateAggregated(Object)
+ */
+public class ViolationGroup {
+
+    private final String pathPattern;
+
+    private final RuleResult ruleResult;
+
+    private final IndexRanges indexes = new IndexRanges();
+
+    private int nbOfViolations;
+
+    ViolationGroup(String pathPattern, RuleResult ruleResult) {
+        this.pathPattern = pathPattern;
+        this.ruleResult = ruleResult;
+    }
+
+    void addViolation(int index) {
+        nbOfViolations++;
+        if (index >= 0) {
+            indexes.add(index);
+        }
+    }
+
+    /**
+     * Get the path of the failing objects, where the index of the innermost element is replaced with {@code [*]}.
+     *
+     * @return the path pattern.
+     */
+    public String getPathPattern() {
+        return pathPattern;
+    }
+
+    /**
+     * Get the result of the failing rule.
+     *
+     * @return the invalid {@link RuleResult}.
+     */
+    public RuleResult getRuleResult() {
+        return ruleResult;
+    }
+
+    /**
+     * Get the indexes of the failing elements matched by {@code [*]} in the path pattern.
+     *
+     * @return the indexes, empty if the path does not contain any element.
+     */
+    public IndexRanges getIndexes() {
+        return indexes;
+    }
+
+    /**
+     * Get the number of violations in this group.
+     *
+     * @return the number of violations.
+     */
+    public int getNbOfViolations() {
+        return nbOfViolations;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(pathPattern).append(' ').append(ruleResult);
+        if (indexes.size() > 0) {
+            sb.append(" (").append(indexes.size()).append(" element(s): ").append(indexes).append(')');
+        } else if (nbOfViolations > 1) {
+            sb.append(" (").append(nbOfViolations).append(" time(s))");
+        }
+        return sb.toString();
+    }
+}
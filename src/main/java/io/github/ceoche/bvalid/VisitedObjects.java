@@ -0,0 +1,83 @@
+/*
+ * Copyright 2022-2023 Cédric Eoche-Duval
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * ou may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.ceoche.bvalid;
+
+/**
+ * Set of the member values already validated during a validation call, used to stop on cycles. Values are compared
+ * with {@code equals}, like in a {@link java.util.HashSet}, but the set is backed by a single open-addressing table
+ * that is kept when the set is cleared, so a reused set does not allocate once it has reached its working size.
+ * The occupied slots are recorded, so clearing the set costs its size and not the capacity of the table.
+ */
+class VisitedObjects {
+
+    private Object[] table = new Object[32];
+
+    private int[] occupiedSlots = new int[16];
+
+    private int size;
+
+    /**
+     * Add a value to the set.
+     *
+     * @param value the value to add, must not be null.
+     * @return true if the value was not already in the set.
+     */
+    boolean add(Object value) {
+        int mask = table.length - 1;
+        int slot = spread(value.hashCode()) & mask;
+        Object current;
+        while ((current = table[slot]) != null) {
+            if (current.equals(value)) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        table[slot] = value;
+        occupiedSlots[size] = slot;
+        if (++size * 2 >= table.length) {
+            resize();
+        }
+        return true;
+    }
+
+    void clear() {
+        for (int i = 0; i < size; i++) {
+            table[occupiedSlots[i]] = null;
+        }
+        size = 0;
+    }
+
+    private void resize() {
+        Object[] oldTable = table;
+        int[] oldSlots = occupiedSlots;
+        table = new Object[oldTable.length * 2];
+        occupiedSlots = new int[table.length / 2];
+        int mask = table.length - 1;
+        for (int i = 0; i < size; i++) {
+            Object value = oldTable[oldSlots[i]];
+            int slot = spread(value.hashCode()) & mask;
+            while (table[slot] != null) {
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = value;
+            occupiedSlots[i] = slot;
+        }
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+}
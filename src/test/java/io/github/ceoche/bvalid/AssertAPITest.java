@@ -42,6 +42,19 @@ public class AssertAPITest {
       );
    }
 
+   @Test
+   void testAssertAPIInvalidWithMaxLines() {
+      ArrayBusinessMember object = BusinessObjectMocks.instantiateBusinessMemberArray();
+      BValidator<ArrayBusinessMember> validator = getValidator(ArrayBusinessMember.class);
+      IllegalArgumentException exception = Assertions.assertThrows(
+            IllegalArgumentException.class,
+            () -> validator.validate(object).assertValidOrThrow(IllegalArgumentException::new, 1)
+      );
+      String[] lines = exception.getMessage().split(System.lineSeparator());
+      Assertions.assertEquals(2, lines.length);
+      Assertions.assertTrue(lines[0].endsWith("=> invalid"));
+   }
+
    private <T> BValidator<T> getValidator(Class<T> clazz) {
       return new BValidatorAnnotationBuilder<>(clazz).build();
    }
@@ -19,6 +19,8 @@ package io.github.ceoche.bvalid;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 
+import java.io.StringReader;
+import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -143,6 +145,36 @@ public class BValidatorAnnotationTest {
       assertFalse(objectResult.isValid());
    }
 
+   @Test
+   public void testLazyCollectionMember() {
+      CollectionBusinessMembers object = BusinessObjectMocks.instantiateBusinessMemberCollection();
+      BValidator<CollectionBusinessMembers> validator = new BValidatorAnnotationBuilder<>(CollectionBusinessMembers.class)
+            .setLazy(true)
+            .build();
+
+      ObjectResult objectResult = validator.validate(object);
+
+      assertFalse(objectResult.isValid());
+      assertEquals(buildObjectValidator(CollectionBusinessMembers.class).validate(object).getNbOfTests(),
+            objectResult.getNbOfTests());
+   }
+
+   @Test
+   public void testBusinessObjectContainerMembers() {
+      ContainerBusinessMembers object = BusinessObjectMocks.instantiateBusinessMemberContainers();
+      ObjectResult objectResult = buildObjectValidator(ContainerBusinessMembers.class).validate(object);
+
+      assertEquals(18, objectResult.getNbOfTests());
+      assertEquals(6, objectResult.getNbOfFailures());
+      assertFalse(getMemberResult(objectResult, "map[invalid]").isValid());
+      assertTrue(getMemberResult(objectResult, "map[valid]").isValid());
+      assertFalse(getMemberResult(objectResult, "pages[1][1]").isValid());
+      assertTrue(getMemberResult(objectResult, "optional").isValid());
+      assertEquals(getRuleResultLines(objectResult), getRuleResultLines(
+            new BValidatorAnnotationBuilder<>(ContainerBusinessMembers.class, false).build().validate(object)));
+      assertEquals(3, BusinessObjectIndex.load(ContainerBusinessMembers.class).getEntries().size());
+   }
+
    @Test
    public void testArrayOfBO() {
       DefaultValidableMock[] objects = new DefaultValidableMock[]{
@@ -251,6 +283,99 @@ public class BValidatorAnnotationTest {
         assertEquals("myValidator", objectResult.getBusinessObjectName());
     }
 
+   @Test
+   public void testConstraintAnnotationsValid() {
+      ConstrainedMock object = new ConstrainedMock("Twenty thousand", 35, BigDecimal.TEN, List.of("novel"));
+      ObjectResult objectResult = buildObjectValidator(ConstrainedMock.class).validate(object);
+
+      assertTrue(objectResult.isValid(), "the business object must be valid");
+      assertEquals(6, objectResult.getNbOfTests());
+      assertResultsContains(
+            new Object[][]{
+                  {"constrained-mock", "R01", "title must be defined", true},
+                  {"constrained-mock", "", "title must match [A-Z].*", true},
+                  {"constrained-mock", "", "title must not exceed 20 characters", true},
+                  {"constrained-mock", "", "age must be between 0 and 150", true},
+                  {"constrained-mock", "", "price must be greater or equal to 0", true},
+                  {"constrained-mock", "", "tags size must be between 1 and 3", true}
+            },
+            objectResult);
+   }
+
+   @Test
+   public void testConstraintAnnotationsInvalid() {
+      ConstrainedMock object = new ConstrainedMock("  ", 151, new BigDecimal("-0.01"), List.of("a", "b", "c", "d"));
+      ObjectResult objectResult = buildObjectValidator(ConstrainedMock.class).validate(object);
+
+      assertResultsContains(
+            new Object[][]{
+                  {"constrained-mock", "R01", "title must be defined", false},
+                  {"constrained-mock", "", "title must match [A-Z].*", false},
+                  {"constrained-mock", "", "title must not exceed 20 characters", true},
+                  {"constrained-mock", "", "age must be between 0 and 150", false},
+                  {"constrained-mock", "", "price must be greater or equal to 0", false},
+                  {"constrained-mock", "", "tags size must be between 1 and 3", false}
+            },
+            objectResult);
+   }
+
+   @Test
+   public void testConstraintAnnotationsOnNullValues() {
+      ConstrainedMock object = new ConstrainedMock(null, 0, null, null);
+      ObjectResult objectResult = buildObjectValidator(ConstrainedMock.class).validate(object);
+
+      // only @Defined rejects null values
+      assertEquals(1, objectResult.getNbOfFailures());
+      assertFalse(objectResult.getInvalidRules().get(0).isValid());
+      assertEquals("R01", objectResult.getInvalidRules().get(0).getId());
+   }
+
+   @Test
+   public void testRuleGroups() {
+      BValidator<GroupedMock> validator = buildObjectValidator(GroupedMock.class);
+      GroupedMock draft = new GroupedMock("Draft.", null);
+
+      ObjectResult draftResult = validator.validate(draft, "draft");
+      assertTrue(draftResult.isValid());
+      assertEquals(1, draftResult.getNbOfTests());
+
+      ObjectResult submissionResult = validator.validate(draft, "submission");
+      assertEquals(2, submissionResult.getNbOfTests());
+      assertEquals("summary", submissionResult.getInvalidRules().get(0).getId());
+
+      ObjectResult defaultResult = validator.validate(draft, BusinessRule.DEFAULT_GROUP);
+      assertEquals(1, defaultResult.getNbOfTests());
+      assertEquals("title must not end with a dot", defaultResult.getInvalidRules().get(0).getDescription());
+
+      assertEquals(3, validator.validate(draft).getNbOfTests());
+   }
+
+   @Test
+   public void testRulePrerequisites() {
+      BValidator<PostalAddressMock> validator = buildObjectValidator(PostalAddressMock.class);
+
+      ObjectResult valid = validator.validate(new PostalAddressMock("FR", "75001"));
+      assertTrue(valid.isValid());
+      assertEquals(3, valid.getNbOfTests());
+      assertEquals(0, valid.getNbOfSkippedRules());
+
+      ObjectResult missingCountry = validator.validate(new PostalAddressMock(null, "75001"));
+      assertEquals(2, missingCountry.getNbOfTests());
+      assertEquals(1, missingCountry.getNbOfFailures());
+      assertEquals(1, missingCountry.getNbOfSkippedRules());
+      RuleResult skipped = missingCountry.getRuleResults().stream().filter(RuleResult::isSkipped).findFirst().orElseThrow();
+      assertEquals("postcodeFormat", skipped.getId());
+      assertTrue(missingCountry.toString().contains("[postcodeFormat] postcode must match the format of the country => skipped"));
+
+      assertFalse(validator.validate(new PostalAddressMock("FR", "7500")).isValid());
+      assertThrows(IllegalBusinessObjectException.class, () -> buildObjectValidator(CyclicRulesMock.class));
+   }
+
+   @Test
+   public void testConstraintAnnotationOnUnsupportedType() {
+      assertThrows(IllegalBusinessObjectException.class, () -> buildObjectValidator(IllegalConstraintMock.class));
+   }
+
    private void assertResultsContains(Object[][] expectedResultsMatrix,
                                       ObjectResult actualResults) {
 
@@ -273,6 +398,74 @@ public class BValidatorAnnotationTest {
       }
    }
 
+   @Test
+   public void testIndexWrittenAtCompileTime() {
+      BusinessObjectIndex index = BusinessObjectIndex.load(CollectionBusinessMembers.class);
+
+      assertNotNull(index, "the index must be written by the annotation processor");
+      assertEquals(3, index.getEntries().size());
+      for (BusinessObjectIndex.Entry entry : index.getEntries()) {
+         assertEquals(BusinessObjectIndex.MEMBER, entry.getKind());
+         assertEquals(DefaultValidableMock.class.getName(), entry.getValue());
+      }
+      assertNull(BusinessObjectIndex.load(String.class));
+   }
+
+   @Test
+   public void testIndexedAndScannedValidatorsAgree() {
+      WithInheritance inheritance = BusinessObjectMocks.instantiateInheritanceWithInvalidParent();
+      assertEquals(
+            getRuleResultLines(new BValidatorAnnotationBuilder<>(WithInheritance.class, false).build().validate(inheritance)),
+            getRuleResultLines(new BValidatorAnnotationBuilder<>(WithInheritance.class).build().validate(inheritance)));
+      CollectionBusinessMembers collection = BusinessObjectMocks.instantiateBusinessMemberCollection();
+      assertEquals(
+            getRuleResultLines(new BValidatorAnnotationBuilder<>(CollectionBusinessMembers.class, false).build().validate(collection)),
+            getRuleResultLines(new BValidatorAnnotationBuilder<>(CollectionBusinessMembers.class).build().validate(collection)));
+   }
+
+   @Test
+   public void testIndexEscaping() throws Exception {
+      String fingerprint = BusinessObjectIndex.entry(BusinessObjectIndex.FINGERPRINT, "");
+      String entry = BusinessObjectIndex.entry(BusinessObjectIndex.MEMBER, "getItems", "first line\n\tsecond\\line");
+      BusinessObjectIndex index = BusinessObjectIndex.read(new StringReader(BusinessObjectIndex.HEADER + "\n"
+            + fingerprint + "\n" + entry + "\n"));
+
+      assertEquals(1, index.getEntries().size());
+      assertEquals("getItems", index.getEntries().get(0).getMethod());
+      assertEquals("first line\n\tsecond\\line", index.getEntries().get(0).getValue());
+      assertNull(BusinessObjectIndex.read(new StringReader("bvalid-index 1\n" + fingerprint + "\n" + entry)));
+      assertNull(BusinessObjectIndex.read(new StringReader(BusinessObjectIndex.HEADER + "\n" + entry)));
+   }
+
+   @Test
+   public void testIndexOnlyHoldsDeclaredMethods() {
+      BusinessObjectIndex index = BusinessObjectIndex.load(WithInheritance.class);
+
+      assertEquals(1, index.getEntries().size());
+      assertEquals("isSubtypeValid", index.getEntries().get(0).getMethod());
+      assertTrue(index.matches(WithInheritance.class.getDeclaredMethods()));
+      assertTrue(BusinessObjectIndex.load(ContainerBusinessMembers.class)
+            .matches(ContainerBusinessMembers.class.getDeclaredMethods()));
+      assertEquals(3, BusinessObjectIndex.load(DefaultValidableMock.class).getEntries().size());
+   }
+
+   @Test
+   public void testStaleIndexDoesNotMatch() throws Exception {
+      BusinessObjectIndex stale = BusinessObjectIndex.read(new StringReader(BusinessObjectIndex.HEADER + "\n"
+            + BusinessObjectIndex.entry(BusinessObjectIndex.FINGERPRINT, "isSubtypeValid(0)boolean:R") + "\n"
+            + BusinessObjectIndex.entry(BusinessObjectIndex.RULE, "isSubtypeValid") + "\n"));
+
+      assertTrue(stale.matches(WithInheritance.class.getDeclaredMethods()));
+      assertFalse(stale.matches(DefaultValidableMock.class.getDeclaredMethods()));
+      assertFalse(stale.matches(ContainerBusinessMembers.class.getDeclaredMethods()));
+   }
+
+   private List<String> getRuleResultLines(ObjectResult objectResult) {
+      List<String> lines = new ArrayList<>(List.of(objectResult.toString().split(System.lineSeparator())));
+      lines.sort(null);
+      return lines;
+   }
+
    private ObjectResult assertMemberResult(ObjectResult objectResult,
                                            String memberName) {
       ObjectResult targetedMemberResult = getMemberResult(objectResult, memberName);
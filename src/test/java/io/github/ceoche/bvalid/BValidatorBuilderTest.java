@@ -6,10 +6,15 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 
+import java.lang.ref.WeakReference;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -472,6 +477,154 @@ public class BValidatorBuilderTest {
         assertTrue(result.isValid());
     }
 
+    @Test
+    public void testPolymorphismThroughInterface(){
+        BValidator<Person> validator = new BValidatorManualBuilder<>(Person.class)
+                .setBusinessObjectName("person")
+                .addRule("nameValid", Person::isNameValid, "name is valid")
+                .addMember("name", Person::getName, new BValidatorManualBuilder<>(CharSequence.class)
+                        .addRule("shortName", name -> name.length() < 10, "name is short"))
+                .build();
+
+        ObjectResult result = validator.validate(new Person("John", null, 35, null, List.of()));
+        ObjectResult longNameResult = validator.validate(new Person("Maximilian-Alexander", null, 35, null, List.of()));
+
+        assertTrue(ObjectResultTest.getRuleResult(result, "person.name [shortName]").isValid());
+        assertFalse(ObjectResultTest.getRuleResult(longNameResult, "person.name [shortName]").isValid());
+    }
+
+    @Test
+    public void testPolymorphismPrefersClassOverInterface(){
+        BValidator<Person> validator = new BValidatorManualBuilder<>(Person.class)
+                .setBusinessObjectName("person")
+                .addRule("nameValid", Person::isNameValid, "name is valid")
+                .addMember("name", Person::getName,
+                        new BValidatorManualBuilder<>(CharSequence.class)
+                                .addRule("shortName", name -> name.length() < 10, "name is short"),
+                        new BValidatorManualBuilder<>(Object.class)
+                                .addRule("anyName", Objects::nonNull, "name is defined"),
+                        new BValidatorManualBuilder<>(String.class)
+                                .addRule("notBlankName", name -> !name.isBlank(), "name is not blank"))
+                .build();
+
+        ObjectResult result = validator.validate(new Person("John", null, 35, null, List.of()));
+
+        assertEquals(2, result.getNbOfTests());
+        assertTrue(ObjectResultTest.getRuleResult(result, "person.name [notBlankName]").isValid());
+    }
+
+    @Test
+    public void testContainerMembers(){
+        BValidatorManualBuilder<Phone> phoneBuilder = new BValidatorManualBuilder<>(Phone.class)
+                .addRule("countryCodeValid", Phone::isCountryCodeValid, "Country code must be valid");
+        BValidator<PhoneBook> validator = new BValidatorManualBuilder<>(PhoneBook.class)
+                .setBusinessObjectName("phoneBook")
+                .addMember("phonesByOwner", PhoneBook::getPhonesByOwner, phoneBuilder)
+                .addMember("pages", PhoneBook::getPages, phoneBuilder)
+                .addMember("mainPhone", PhoneBook::getMainPhone, phoneBuilder)
+                .addMember("stream", PhoneBook::streamPhones, phoneBuilder)
+                .addMember("archive", PhoneBook::getArchive, phoneBuilder)
+                .build();
+
+        ObjectResult result = validator.validate(createPhoneBook().setMainPhone(new Phone("0123456789", "33")));
+
+        assertEquals(11, result.getNbOfTests());
+        assertEquals(5, result.getNbOfFailures());
+        String report = result.toString();
+        assertTrue(report.contains("phoneBook.phonesByOwner[jane] [countryCodeValid]"));
+        assertTrue(report.contains("phoneBook.pages[0][1] [countryCodeValid]"));
+        assertTrue(report.contains("phoneBook.mainPhone [countryCodeValid]"));
+        assertTrue(report.contains("phoneBook.stream[1] [countryCodeValid]"));
+        assertTrue(report.contains("phoneBook.archive[1] [countryCodeValid]"));
+        assertTrue(validator.validate(new PhoneBook()).isValid());
+    }
+
+    @Test
+    public void testMapKeysMember(){
+        BValidator<PhoneBook> validator = new BValidatorManualBuilder<>(PhoneBook.class)
+                .setBusinessObjectName("phoneBook")
+                .addMemberWithMapKeys("phonesByOwner", PhoneBook::getPhonesByOwner,
+                        new BValidatorManualBuilder<>(Phone.class)
+                                .addRule("countryCodeValid", Phone::isCountryCodeValid, "Country code must be valid"),
+                        new BValidatorManualBuilder<>(CharSequence.class)
+                                .addRule("ownerValid", owner -> owner.length() > 3, "Owner name must be longer than 3"))
+                .build();
+
+        ObjectResult result = validator.validate(createPhoneBook().addPhone("jo", new Phone("0123456789", "+1")));
+
+        assertEquals(6, result.getNbOfTests());
+        assertEquals(2, result.getNbOfFailures());
+        assertTrue(result.toString().contains("phoneBook.phonesByOwner.keys[jo] [ownerValid]"));
+    }
+
+    @Test
+    public void testLazyPolymorphismBuildsOnFirstEncounter(){
+        BValidator<Graphic> validator = createGraphicValidatorBuilder().setLazy(true).build();
+        BusinessMemberObject<Graphic, ?> shapesList = getMember(validator, "shapesList");
+        assertTrue(shapesList.getValidators().isEmpty());
+
+        ObjectResult result = validator.validate(new Graphic()
+                .setName("graphic")
+                .addShapeToList(new Square().setName("squareInList").setSide(1)));
+
+        assertTrue(result.isValid());
+        assertEquals(Set.of(Square.class), shapesList.getValidators().keySet());
+        assertTrue(getMember(validator, "circle").getValidators().isEmpty());
+        assertTrue(shapesList.hasBatchRules());
+        assertEquals(RuleGroups.ALL, shapesList.getReachableGroups());
+        ObjectResult fullResult = validator.validate(createGraphic());
+        assertTrue(fullResult.isValid());
+        assertEquals(19, fullResult.getNbOfTests());
+        // all the validators of the member are built, its derived properties are now known
+        assertFalse(shapesList.hasBatchRules());
+        assertNotEquals(RuleGroups.ALL, shapesList.getReachableGroups());
+    }
+
+    @Test
+    public void testLazyValidatorsAreSharedAcrossThreads(){
+        BValidatorManualBuilder<Graphic> builder = createGraphicValidatorBuilder().setLazy(true);
+        builder.addMember("innerGraphic", Graphic::getInnerGraphic, builder);
+        BValidator<Graphic> validator = builder.build();
+
+        long nbOfValid = IntStream.range(0, 1000).parallel()
+                .mapToObj(i -> validator.validate(createGraphic().setInnerGraphic(createGraphic())))
+                .filter(ObjectResult::isValid)
+                .count();
+
+        assertEquals(1000, nbOfValid);
+        assertSame(getMember(validator, "shapesList").getValidators().get(Square.class),
+                getMember(validator, "shapesArray").getValidators().get(Square.class));
+        assertSame(validator, getMember(validator, "innerGraphic").getValidators().get(Graphic.class));
+    }
+
+    @Test
+    public void testLazyModeIsNotLeakedToSharedSubBuilders(){
+        BValidatorManualBuilder<Graphic> graphicBuilder = createGraphicValidatorBuilder();
+        BValidator<Graphic> lazyValidator = new BValidatorManualBuilder<>(Graphic.class)
+                .addRule("rule1", Graphic::isNameValid, "name is not null")
+                .addMember("innerGraphic", Graphic::getInnerGraphic, graphicBuilder)
+                .setLazy(true)
+                .build();
+        assertTrue(lazyValidator.validate(new Graphic().setName("graphic").setInnerGraphic(createGraphic())).isValid());
+
+        BValidator<Graphic> validator = graphicBuilder.build();
+        assertEquals(Set.of(Square.class, Rectangle.class, Circle.class), getMember(validator, "shapesList").getValidators().keySet());
+    }
+
+    @Test
+    public void testLazyEmptySubBuilderReportedOnFirstEncounter(){
+        BValidator<Graphic> validator = new BValidatorManualBuilder<>(Graphic.class)
+                .addRule("rule1", Graphic::isNameValid, "name is not null")
+                .addMember("circle", Graphic::getCircle, new BValidatorManualBuilder<>(Circle.class))
+                .setLazy(true)
+                .build();
+
+        assertTrue(validator.validate(new Graphic().setName("graphic")).isValid());
+        Throwable throwable = assertThrows(InvocationException.class, () -> validator.validate(new Graphic()
+                .setName("graphic").setCircle(new Circle().setName("circle").setRadius(1))));
+        assertInstanceOf(IllegalBusinessObjectException.class, throwable.getCause());
+    }
+
     @Test
     public void testEmptySubBuildersBuilders(){
         BValidatorManualBuilder<Graphic> shapeBValidatorManualBuilder = new BValidatorManualBuilder<>(Graphic.class)
@@ -549,6 +702,383 @@ public class BValidatorBuilderTest {
 
 
 
+    @Test
+    public void testRuleResultsAreShared(){
+        BValidator<Phone> bValidator = new BValidatorManualBuilder<>(Phone.class)
+                .setBusinessObjectName("phone")
+                .addRule("countryCodeValid", Phone::isCountryCodeValid, "country code is not valid")
+                .build();
+        RuleResult first = bValidator.validate(new Phone("01234567", "+33")).getRuleResults().get(0);
+        RuleResult second = bValidator.validate(new Phone("76543210", "+44")).getRuleResults().get(0);
+        RuleResult invalid = bValidator.validate(new Phone("76543210", "44")).getRuleResults().get(0);
+        assertSame(first, second);
+        assertNotSame(first, invalid);
+        assertEquals(new RuleResult("countryCodeValid", "country code is not valid", false), invalid);
+    }
+
+    @Test
+    public void testPrimitiveRules() {
+        BValidator<Person> bValidator = new BValidatorManualBuilder<>(Person.class)
+                .setBusinessObjectName("person")
+                .addIntRule("ageValid", Person::getAge, age -> age > 0 && age < 150, "age must be between 1 and 149")
+                .addLongRule(person -> person.getPhones().size(), count -> count <= 2, "at most 2 phones")
+                .addDoubleRule("ageRatioValid", person -> person.getAge() / 150.0, ratio -> ratio < 1.0, "age ratio must be lower than 1")
+                .build();
+
+        ObjectResult valid = bValidator.validate(new Person("John", null, 35, null, List.of()));
+        assertTrue(valid.isValid());
+        assertEquals(3, valid.getNbOfTests());
+
+        ObjectResult invalid = bValidator.validate(new Person("John", null, 151, null,
+                List.of(new Phone("1", "+33"), new Phone("2", "+33"), new Phone("3", "+33"))));
+        assertEquals(3, invalid.getNbOfFailures());
+        assertFalse(ObjectResultTest.getRuleResult(invalid, "person [ageValid]").isValid());
+        assertFalse(ObjectResultTest.getRuleResult(invalid, "person [ageRatioValid]").isValid());
+    }
+
+    @Test
+    public void testPrimitiveRulesWithOptions() {
+        AtomicInteger nbOfRatioCalls = new AtomicInteger();
+        BValidator<Person> bValidator = new BValidatorManualBuilder<>(Person.class)
+                .setBusinessObjectName("person")
+                .addIntRule("ageValid", Person::getAge, age -> age > 0 && age < 150, "age must be between 1 and 149",
+                        RuleOptions.defaults().withCost(5))
+                .addLongRule("phonesLimited", person -> person.getPhones().size(), count -> count <= 2, "at most 2 phones",
+                        RuleOptions.defaults().inGroups("contact"))
+                .addDoubleRule("ageRatioValid", person -> nbOfRatioCalls.incrementAndGet() / 150.0, ratio -> ratio < 1.0,
+                        "age ratio must be lower than 1", RuleOptions.defaults().requires("ageValid"))
+                .build();
+        Person person = new Person("John", null, 151, null,
+                List.of(new Phone("1", "+33"), new Phone("2", "+33"), new Phone("3", "+33")));
+
+        ObjectResult result = bValidator.validate(person);
+        assertEquals(2, result.getNbOfFailures());
+        assertFalse(ObjectResultTest.getRuleResult(result, "person [ageValid]").isValid());
+        assertFalse(ObjectResultTest.getRuleResult(result, "person [phonesLimited]").isValid());
+        assertEquals(0, nbOfRatioCalls.get());
+
+        ObjectResult contact = bValidator.validate(person, "contact");
+        assertEquals(1, contact.getNbOfTests());
+        assertEquals("phonesLimited", contact.getInvalidRules().get(0).getId());
+
+        BValidatorManualBuilder<Person> builder = new BValidatorManualBuilder<>(Person.class);
+        assertThrows(IllegalArgumentException.class, () -> builder.addIntRule("id", Person::getAge, age -> true, "rule", null));
+        assertThrows(IllegalArgumentException.class, () -> builder.addLongRule("id", object -> 1L, count -> true, "rule", null));
+        assertThrows(IllegalArgumentException.class, () -> builder.addDoubleRule("id", object -> 1.0, ratio -> true, "rule", null));
+    }
+
+    @Test
+    public void testPrimitiveRulesNotNull() {
+        BValidatorManualBuilder<Person> builder = new BValidatorManualBuilder<>(Person.class);
+        assertThrows(IllegalArgumentException.class, () -> builder.addIntRule(null, age -> true, "null getter"));
+        assertThrows(IllegalArgumentException.class, () -> builder.addLongRule(person -> 1L, null, "null rule"));
+        assertThrows(IllegalArgumentException.class, () -> builder.addDoubleRule("id", null, null, "null rule"));
+    }
+
+    @Test
+    public void testPropertyRulesShareOneGetterCall() {
+        AtomicInteger nbOfCalls = new AtomicInteger();
+        BValidator<Person> bValidator = new BValidatorManualBuilder<>(Person.class)
+                .setBusinessObjectName("person")
+                .addRule("nameValid", Person::isNameValid, "name must be defined")
+                .forProperty("zipCode", person -> {
+                    nbOfCalls.incrementAndGet();
+                    return person.getAddress() != null ? person.getAddress().getCity().getZipCode() : null;
+                })
+                    .addRule("zipCodeDefined", BasicRules::isDefined, "zip code must be defined")
+                    .addRule("zipCodePositive", zipCode -> zipCode == null || zipCode > 0, "zip code must be positive")
+                    .addRule("zipCodeLength", zipCode -> zipCode == null || zipCode < 100_000, "zip code must have 5 digits")
+                .end()
+                .build();
+
+        ObjectResult valid = bValidator.validate(new Person("John", new Address("street", new City("Paris", 75001), "France"), 35, null, List.of()));
+        assertTrue(valid.isValid());
+        assertEquals(4, valid.getNbOfTests());
+        assertEquals(1, nbOfCalls.get());
+
+        ObjectResult invalid = bValidator.validate(new Person("John", null, 35, null, List.of()));
+        assertEquals(2, nbOfCalls.get());
+        assertEquals(1, invalid.getNbOfFailures());
+        assertFalse(ObjectResultTest.getRuleResult(invalid, "person.zipCode [zipCodeDefined]").isValid());
+        assertTrue(ObjectResultTest.getRuleResult(invalid, "person.zipCode [zipCodePositive]").isValid());
+    }
+
+    @Test
+    public void testDispatchCacheDoesNotRetainDiscardedValidators() throws InterruptedException {
+        WeakReference<BValidator<?>> discarded = new WeakReference<>(buildAndUsePhoneValidator());
+
+        for (int i = 0; i < 50 && discarded.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertNull(discarded.get(), "the validator of Phone is held by the dispatch cached for Phone");
+    }
+
+    // validator of the phones of a discarded person validator, dispatched once
+    private BValidator<?> buildAndUsePhoneValidator() {
+        BValidator<Person> validator = new BValidatorManualBuilder<>(Person.class)
+                .addMember("phones", Person::getPhones, new BValidatorManualBuilder<>(Phone.class)
+                        .addRule("numberValid", Phone::isNumberValid, "Number must be defined"))
+                .build();
+        assertTrue(validator.validate(new Person("John", null, 35, null, List.of(new Phone("0123456789", "+33")))).isValid());
+        return getMember(validator, "phones").getValidators().get(Phone.class);
+    }
+
+    @Test
+    public void testPropertyRulesAreInheritedBySubtypeBuilder() {
+        BValidatorManualBuilder<Shape> shapeBuilder = new BValidatorManualBuilder<>(Shape.class)
+                .forProperty("name", Shape::getName)
+                    .addRule("nameDefined", BasicRules::isDefined, "name must be defined")
+                .end();
+        BValidator<Square> squareValidator = new BValidatorManualBuilder<>(shapeBuilder, Square.class)
+                .setBusinessObjectName("square")
+                .addRule("sideValid", Square::isSideValid, "side must be positive")
+                .build();
+
+        ObjectResult result = squareValidator.validate(new Square().setName("").setSide(1));
+        assertEquals(2, result.getNbOfTests());
+        assertFalse(ObjectResultTest.getRuleResult(result, "square.name [nameDefined]").isValid());
+    }
+
+    @Test
+    public void testPropertyRulesNotNull() {
+        BValidatorManualBuilder<Person> builder = new BValidatorManualBuilder<>(Person.class);
+        assertThrows(IllegalArgumentException.class, () -> builder.forProperty(null, Person::getName));
+        assertThrows(IllegalArgumentException.class, () -> builder.forProperty("name", null));
+        assertThrows(IllegalArgumentException.class, () -> builder.forProperty("name", Person::getName).addRule(null, "null rule"));
+        assertTrue(builder.isEmpty());
+    }
+
+    @Test
+    public void testRuleGroupsSkipMembersWithoutSelectedRules() {
+        AtomicInteger nbOfAddressCalls = new AtomicInteger();
+        BValidator<Person> bValidator = new BValidatorManualBuilder<>(Person.class)
+                .setBusinessObjectName("person")
+                .addRule("nameValid", Person::isNameValid, "name must be defined", "draft", "submission")
+                .addRule("ageValid", Person::isAgeValid, "age must be valid", "submission")
+                .addMember("address", person -> {
+                    nbOfAddressCalls.incrementAndGet();
+                    return person.getAddress();
+                }, new BValidatorManualBuilder<>(Address.class)
+                        .addRule("streetValid", Address::isStreetValid, "street must be valid", "submission"))
+                .addMember("phones", Person::getPhones, new BValidatorManualBuilder<>(Phone.class)
+                        .addRule("numberValid", Phone::isNumberValid, "number must be valid", "draft"))
+                .build();
+        Person person = createAllCorrectPerson();
+
+        ObjectResult draftResult = bValidator.validate(person, "draft");
+        assertTrue(draftResult.isValid());
+        assertEquals(1 + person.getPhones().size(), draftResult.getNbOfTests());
+        assertEquals(0, nbOfAddressCalls.get());
+
+        BValidator<Person> submissionValidator = bValidator.forGroups("submission");
+        assertEquals(3, submissionValidator.validate(person).getNbOfTests());
+        assertEquals(1, nbOfAddressCalls.get());
+
+        assertEquals(3 + person.getPhones().size(), bValidator.validate(person).getNbOfTests());
+        assertEquals(0, bValidator.validate(person, "unknown").getNbOfTests());
+        assertThrows(IllegalArgumentException.class, () -> bValidator.forGroups());
+        assertThrows(IllegalArgumentException.class, () -> bValidator.validate(person, (String) null));
+    }
+
+    @Test
+    public void testRuleOptionsOnEveryRuleKind() {
+        RuleOptions submission = RuleOptions.defaults().inGroups("submission");
+        BValidator<Person> bValidator = new BValidatorManualBuilder<>(Person.class)
+                .addRule("nameValid", Person::isNameValid, "name must be defined", submission)
+                .addContextRule("nameKnown", (person, context) -> false, "name must be known",
+                        submission.requires("nameValid").withCost(100))
+                .addBatchRule("ageKnown", persons -> new boolean[persons.size()], "age must be known",
+                        BValidatorManualBuilder.DEFAULT_BATCH_SIZE, RuleOptions.defaults().inGroups("lookup"))
+                .forProperty("name", Person::getName)
+                    .addRule("nameDefined", Objects::nonNull, "name must not be null", submission)
+                    .addRule("nameShort", name -> name.length() < 3, "name must be short", submission.requires("nameDefined"))
+                .end()
+                .build();
+
+        ObjectResult submissionResult = bValidator.validate(new Person(null, null, 35, null, List.of()), "submission");
+        assertEquals(2, submissionResult.getNbOfTests());
+        assertEquals(2, submissionResult.getNbOfSkippedRules());
+        assertEquals(1, bValidator.validate(new Person("John", null, 35, null, List.of()), "lookup").getNbOfFailures());
+
+        ObjectResult failFast = bValidator.failFast().validate(new Person("John", null, 35, null, List.of()), "submission");
+        assertEquals("nameValid", failFast.getRuleResults().get(0).getId());
+        assertEquals("nameKnown", failFast.getInvalidRules().get(0).getId());
+
+        BValidatorManualBuilder<Person> builder = new BValidatorManualBuilder<>(Person.class);
+        assertThrows(IllegalArgumentException.class, () -> builder.addRule("id", Person::isNameValid, "rule", (RuleOptions) null));
+        assertThrows(IllegalArgumentException.class, () -> builder.forProperty("name", Person::getName).addRule("id", Objects::nonNull, "rule", (RuleOptions) null));
+        assertThrows(IllegalArgumentException.class, () -> RuleOptions.defaults().withCost(0));
+        assertThrows(IllegalArgumentException.class, () -> RuleOptions.defaults().requires(""));
+        assertThrows(IllegalArgumentException.class, () -> RuleOptions.defaults().inGroups((String) null));
+        assertTrue(builder.isEmpty());
+    }
+
+    @Test
+    public void testSelectingUnknownGroupsDoesNotDeclareThem() {
+        BValidator<Person> bValidator = new BValidatorManualBuilder<>(Person.class)
+                .addRule("nameValid", Person::isNameValid, "name must be defined", "draft")
+                .build();
+        Person person = createAllCorrectPerson();
+        int nbOfGroups = bValidator.getRuleGroups().size();
+
+        for (int i = 0; i < 100; i++) {
+            assertEquals(0, bValidator.validate(person, "unknown" + i).getNbOfTests());
+        }
+        assertEquals(nbOfGroups, bValidator.getRuleGroups().size());
+        assertEquals(1, bValidator.validate(person, "draft", "unknown").getNbOfTests());
+        assertNotSame(bValidator.getRuleGroups(), new BValidatorManualBuilder<>(Person.class)
+                .addRule("nameValid", Person::isNameValid, "name must be defined", "draft")
+                .build().getRuleGroups());
+    }
+
+    @Test
+    public void testRuleGroupsDeclaredByLazyMembers() {
+        BValidator<Person> bValidator = new BValidatorManualBuilder<>(Person.class)
+                .addRule("nameValid", Person::isNameValid, "name must be defined")
+                .addMember("address", Person::getAddress, new BValidatorManualBuilder<>(Address.class)
+                        .addRule("streetValid", Address::isStreetValid, "street must be valid", "address"))
+                .setLazy(true)
+                .build();
+        Person person = createAllCorrectPerson();
+
+        assertEquals(1, bValidator.validate(person, "address").getNbOfTests());
+        assertEquals(1, bValidator.validate(person, "address").getNbOfTests());
+        assertEquals(1, bValidator.validate(person).getMemberResults().size());
+    }
+
+    @Test
+    public void testDependentRules() {
+        AtomicInteger nbOfCalls = new AtomicInteger();
+        BValidator<Person> validator = new BValidatorManualBuilder<>(Person.class)
+                .setBusinessObjectName("person")
+                .addDependentRule("nameCapitalized", person -> {
+                    nbOfCalls.incrementAndGet();
+                    return Character.isUpperCase(person.getName().charAt(0));
+                }, "Name must be capitalized", "nameValid")
+                .addDependentRule("nameShort", person -> person.getName().length() < 10, "Name must be short", "nameCapitalized")
+                .addRule("nameValid", Person::isNameValid, "Name must be defined")
+                .build();
+
+        ObjectResult valid = validator.validate(new Person("John", null, 35, null, List.of()));
+        assertEquals(3, valid.getNbOfTests());
+        assertEquals("nameValid", valid.getRuleResults().get(0).getId());
+
+        ObjectResult invalid = validator.validate(new Person("", null, 35, null, List.of()));
+        assertEquals(1, invalid.getNbOfTests());
+        assertEquals(1, invalid.getNbOfFailures());
+        assertEquals(2, invalid.getNbOfSkippedRules());
+        assertEquals(1, nbOfCalls.get());
+        assertTrue(invalid.getRuleResults().get(2).isSkipped());
+        assertTrue(invalid.getRuleResults().get(2).isValid());
+
+        CompactResults compact = validator.validateCompact(List.of(new Person("", null, 35, null, List.of())));
+        assertEquals(2, compact.get(0).getNbOfSkippedRules());
+        assertEquals(0, validator.validate(new Person("", null, 35, null, List.of()), ResultRetention.invalidOnly())
+                .getNbOfSkippedRules());
+    }
+
+    @Test
+    public void testDependentRulesInvalid() {
+        assertThrows(IllegalArgumentException.class, () -> new BValidatorManualBuilder<>(Person.class)
+                .addDependentRule("nameValid", Person::isNameValid, "Name must be defined"));
+        assertThrows(IllegalArgumentException.class, () -> new BValidatorManualBuilder<>(Person.class)
+                .addDependentRule("nameValid", Person::isNameValid, "Name must be defined", ""));
+        assertThrows(IllegalBusinessObjectException.class, () -> new BValidatorManualBuilder<>(Person.class)
+                .addDependentRule("nameValid", Person::isNameValid, "Name must be defined", "unknown")
+                .build());
+        assertThrows(IllegalBusinessObjectException.class, () -> new BValidatorManualBuilder<>(Person.class)
+                .addDependentRule("nameValid", Person::isNameValid, "Name must be defined", "nameValid")
+                .build());
+    }
+
+    @Test
+    public void testValidatePath() {
+        BValidator<Person> validator = createCompleteBuilder().build();
+        Person person = createPersonWithIncorrectEmailAndPhone();
+
+        ObjectResult phoneResult = validator.validatePath(person, "Person.phones[1]");
+        assertEquals("Person.phones[1]", phoneResult.getBusinessObjectName());
+        assertEquals(2, phoneResult.getNbOfTests());
+        assertEquals(1, phoneResult.getNbOfFailures());
+
+        ObjectResult cityResult = validator.validatePath(person, "Person.address.city");
+        assertEquals("Person.address.city", cityResult.getBusinessObjectName());
+        assertEquals(2, cityResult.getNbOfTests());
+        assertTrue(cityResult.isValid());
+
+        ObjectResult chainResult = validator.validatePath(person, "Person.address.city", true);
+        assertEquals("Person", chainResult.getBusinessObjectName());
+        assertEquals(3, chainResult.getRuleResults().size());
+        assertEquals(1, chainResult.getMemberResults().size());
+        ObjectResult addressResult = chainResult.getMemberResults().get(0);
+        assertEquals("address", addressResult.getBusinessObjectName());
+        assertEquals(2, addressResult.getRuleResults().size());
+        assertEquals("city", addressResult.getMemberResults().get(0).getBusinessObjectName());
+        assertEquals(7, chainResult.getNbOfTests());
+
+        assertEquals(validator.validate(person).getNbOfTests(), validator.validatePath(person, "Person").getNbOfTests());
+    }
+
+    @Test
+    public void testValidatePathInCyclicGraphValidatesTheMemberLikeARoot() {
+        BValidatorManualBuilder<FirstRecursiveObject> builder = new BValidatorManualBuilder<>(FirstRecursiveObject.class)
+                .setBusinessObjectName("first");
+        builder.addRule("rule1", FirstRecursiveObject::isAttr1Valid, "attr1 must be defined");
+        builder.addMember("next", FirstRecursiveObject::getFirstRecursiveObject, builder);
+        BValidator<FirstRecursiveObject> validator = builder.build();
+        FirstRecursiveObject root = new FirstRecursiveObject().setAttr1("");
+        FirstRecursiveObject next = new FirstRecursiveObject().setAttr1("next").setFirstRecursiveObject(root);
+        root.setFirstRecursiveObject(next);
+
+        ObjectResult nextResult = validator.validatePath(root, "first.next");
+
+        // the ancestors are not marked as visited: the member reaches back to the root like when validated alone
+        assertEquals(validator.validate(next).getNbOfTests(), nextResult.getNbOfTests());
+        assertEquals(3, nextResult.getNbOfTests());
+        assertFalse(nextResult.isValid());
+    }
+
+    @Test
+    public void testValidatePathToMapElementAndProperty() {
+        BValidator<PhoneBook> validator = new BValidatorManualBuilder<>(PhoneBook.class)
+                .setBusinessObjectName("phoneBook")
+                .addMember("phonesByOwner", PhoneBook::getPhonesByOwner, new BValidatorManualBuilder<>(Phone.class)
+                        .addRule("countryCodeValid", Phone::isCountryCodeValid, "Country code must be valid"))
+                .addMember("pages", PhoneBook::getPages, new BValidatorManualBuilder<>(Phone.class)
+                        .addRule("countryCodeValid", Phone::isCountryCodeValid, "Country code must be valid"))
+                .forProperty("nbOfPages", phoneBook -> phoneBook.getPages().size())
+                    .addRule("pagesLimit", nbOfPages -> nbOfPages < 10, "Phone book must have less than 10 pages")
+                .end()
+                .build();
+        PhoneBook phoneBook = createPhoneBook();
+
+        ObjectResult ownerResult = validator.validatePath(phoneBook, "phoneBook.phonesByOwner[jane]");
+        assertEquals("phoneBook.phonesByOwner[jane]", ownerResult.getBusinessObjectName());
+        assertFalse(ownerResult.isValid());
+        assertFalse(validator.validatePath(phoneBook, "phoneBook.pages[0][1]").isValid());
+        assertTrue(validator.validatePath(phoneBook, "phoneBook.pages[1][0]").isValid());
+        ObjectResult propertyResult = validator.validatePath(phoneBook, "phoneBook.nbOfPages");
+        assertEquals("phoneBook.nbOfPages", propertyResult.getBusinessObjectName());
+        assertEquals(1, propertyResult.getNbOfTests());
+    }
+
+    @Test
+    public void testValidatePathInvalid() {
+        BValidator<Person> validator = createCompleteBuilder().build();
+        Person person = createAllCorrectPerson();
+        assertThrows(IllegalArgumentException.class, () -> validator.validatePath(person, "person.phones[0]"));
+        assertThrows(IllegalArgumentException.class, () -> validator.validatePath(person, "Person.unknown"));
+        assertThrows(IllegalArgumentException.class, () -> validator.validatePath(person, "Person.phones"));
+        assertThrows(IllegalArgumentException.class, () -> validator.validatePath(person, "Person.phones[2]"));
+        assertThrows(IllegalArgumentException.class, () -> validator.validatePath(person, "Person.phones[x]"));
+        assertThrows(IllegalArgumentException.class, () -> validator.validatePath(person, "Person.address[0]"));
+        assertThrows(IllegalArgumentException.class, () -> validator.validatePath(person, "Person..address"));
+        assertThrows(IllegalArgumentException.class, () -> validator.validatePath(person, "Person.phones[0"));
+        assertThrows(IllegalArgumentException.class, () -> validator.validatePath(person, null));
+        assertThrows(NullPointerException.class, () -> validator.validatePath(null, "Person.address"));
+    }
+
     private void assertMemberResults(ObjectResult result, boolean expected) {
         for (ObjectResult memberResult : result.getMemberResults()) {
             assertEquals(expected, memberResult.isValid());
@@ -583,6 +1113,18 @@ public class BValidatorBuilderTest {
                 List.of(new Phone("123456789", "+11"), new Phone("987654321", "-22")));
     }
 
+    private <T> BusinessMemberObject<T, ?> getMember(BValidator<T> validator, String name) {
+        return validator.getMembers().stream().filter(member -> member.getName().equals(name)).findFirst().orElseThrow();
+    }
+
+    private PhoneBook createPhoneBook(){
+        return new PhoneBook()
+                .addPhone("john", new Phone("0123456789", "+33"))
+                .addPhone("jane", new Phone("0123456789", "33"))
+                .addPage(new Phone("0123456789", "+33"), new Phone("0123456789", "44"))
+                .addPage(new Phone("0123456789", "+44"));
+    }
+
     private Graphic createGraphic(){
         return new Graphic()
                 .setName("graphic")
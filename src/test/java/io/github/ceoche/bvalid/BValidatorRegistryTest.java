@@ -0,0 +1,110 @@
+package io.github.ceoche.bvalid;
+
+import io.github.ceoche.bvalid.mock.Phone;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static io.github.ceoche.bvalid.BusinessObjectMocks.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BValidatorRegistryTest {
+
+    @Test
+    public void testValidatorIsBuiltOnceUnderConcurrency() throws Exception {
+        BValidatorRegistry registry = new BValidatorRegistry();
+        AtomicInteger nbOfBuilds = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<BValidator<Phone>>> futures = IntStream.range(0, 32)
+                    .mapToObj(i -> executor.submit(() -> {
+                        start.await();
+                        return registry.getValidator(Phone.class, () -> {
+                            nbOfBuilds.incrementAndGet();
+                            return new BValidatorManualBuilder<>(Phone.class)
+                                    .addRule("countryCodeValid", Phone::isCountryCodeValid, "Country code must be valid");
+                        });
+                    }))
+                    .collect(Collectors.toList());
+            start.countDown();
+            Set<BValidator<Phone>> validators = ConcurrentHashMap.newKeySet();
+            for (Future<BValidator<Phone>> future : futures) {
+                validators.add(future.get(10, TimeUnit.SECONDS));
+            }
+            assertEquals(1, validators.size());
+            assertEquals(1, nbOfBuilds.get());
+            assertTrue(registry.contains(Phone.class));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testCrossDependentSuppliersDoNotDeadlock() throws Exception {
+        BValidatorRegistry registry = new BValidatorRegistry();
+        CyclicBarrier barrier = new CyclicBarrier(2);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<BValidator<Phone>> phoneValidator = executor.submit(() -> registry.getValidator(Phone.class, () -> {
+                await(barrier);
+                registry.getValidator(DefaultValidableMock.class);
+                return new BValidatorManualBuilder<>(Phone.class)
+                        .addRule("countryCodeValid", Phone::isCountryCodeValid, "Country code must be valid");
+            }));
+            Future<BValidator<DefaultValidableMock>> mockValidator = executor.submit(() -> registry.getValidator(DefaultValidableMock.class, () -> {
+                await(barrier);
+                registry.getValidator(Phone.class, () -> new BValidatorManualBuilder<>(Phone.class)
+                        .addRule("numberValid", Phone::isNumberValid, "Number must be valid"));
+                return new BValidatorAnnotationBuilder<>(DefaultValidableMock.class);
+            }));
+            assertSame(phoneValidator.get(10, TimeUnit.SECONDS), registry.getValidator(Phone.class));
+            assertSame(mockValidator.get(10, TimeUnit.SECONDS), registry.getValidator(DefaultValidableMock.class));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testAnnotatedValidatorIsMemoized() {
+        BValidatorRegistry registry = new BValidatorRegistry();
+        assertFalse(registry.contains(DefaultValidableMock.class));
+        BValidator<DefaultValidableMock> validator = registry.getValidator(DefaultValidableMock.class);
+        assertSame(validator, registry.getValidator(DefaultValidableMock.class));
+        assertNotSame(validator, new BValidatorRegistry().getValidator(DefaultValidableMock.class));
+        assertTrue(validator.validate(instantiateValid()).isValid());
+        assertThrows(IllegalBusinessObjectException.class, () -> registry.getValidator(IllegalBusinessObject.class));
+        assertFalse(registry.contains(IllegalBusinessObject.class));
+    }
+
+    @Test
+    public void testRegisteredSubValidatorsAreReused() {
+        BValidatorRegistry registry = new BValidatorRegistry();
+        BValidator<DefaultValidableMock> memberValidator = registry.getValidator(DefaultValidableMock.class);
+
+        BValidator<OnlyBusinessMembers> validator = registry.getValidator(OnlyBusinessMembers.class);
+        BValidator<OnlyBusinessMembers> unregisteredValidator = new BValidatorAnnotationBuilder<>(OnlyBusinessMembers.class).build();
+
+        assertSame(memberValidator, getMemberValidator(validator));
+        assertNotSame(memberValidator, getMemberValidator(unregisteredValidator));
+        OnlyBusinessMembers object = instantiateBusinessMemberInvalid();
+        assertEquals(unregisteredValidator.validate(object).toString(), validator.validate(object).toString());
+    }
+
+    private static void await(CyclicBarrier barrier) {
+        try {
+            barrier.await(10, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private BValidator<?> getMemberValidator(BValidator<OnlyBusinessMembers> validator) {
+        return validator.getMembers().iterator().next().getValidators().get(DefaultValidableMock.class);
+    }
+}
@@ -21,11 +21,20 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.NullAndEmptySource;
 import org.junit.jupiter.params.provider.ValueSource;
 
+import java.nio.CharBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
 
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class BasicRulesTest {
@@ -63,6 +72,24 @@ public class BasicRulesTest {
       assertFalse(BasicRules.isDefinedIfPresent("  "));
    }
 
+   @ParameterizedTest
+   @ValueSource(strings = {" \t\n", "\u0000 \r"})
+   void testPaddedBlankStringNotDefined(String blank) {
+      assertFalse(BasicRules.isDefined(blank));
+      assertFalse(BasicRules.isDefinedIfPresent(blank));
+      assertTrue(BasicRules.isDefined(blank + "a" + blank));
+   }
+
+   @Test
+   void testCharSequenceDefined() {
+      assertTrue(BasicRules.isDefined(CharBuffer.wrap("  defined ")));
+      assertFalse(BasicRules.isDefined(new StringBuilder(" \t ")));
+      assertFalse(BasicRules.isDefined((CharSequence) null));
+      assertTrue(BasicRules.isDefinedIfPresent((CharSequence) null));
+      assertTrue(BasicRules.isDefinedIfPresent(new StringBuilder("optional")));
+      assertFalse(BasicRules.isDefinedIfPresent(CharBuffer.wrap("   ")));
+   }
+
    @Test
    void testOneOrMoreElementArrayValid() {
       assertTrue(BasicRules.hasOneOrMoreElements(new Integer[]{1, null, 3}));
@@ -91,12 +118,20 @@ public class BasicRulesTest {
       assertTrue(BasicRules.hasDefinedElements(
             new NonNullList<>(Arrays.asList(1, 2, 3))
       ));
+      assertTrue(BasicRules.hasDefinedElements(List.of(1, 2, 3)));
+      assertTrue(BasicRules.hasDefinedElements(new TreeSet<>(Set.of("a", "b"))));
+      assertTrue(BasicRules.hasDefinedElements(Set.of("a", "b")));
    }
 
    @Test
    void testHasDefinedElementListInvalid() {
       assertFalse(BasicRules.hasDefinedElements((Collection<?>) null));
       assertFalse(BasicRules.hasDefinedElements(Arrays.asList(1, null, 3)));
+      assertFalse(BasicRules.hasDefinedElements(new HashSet<>(Arrays.asList(1, null, 3))));
+      assertFalse(BasicRules.hasDefinedElements(new LinkedList<>(Arrays.asList(1, null, 3))));
+      TreeSet<String> nullFirst = new TreeSet<>(Comparator.nullsFirst(Comparator.<String>naturalOrder()));
+      nullFirst.addAll(Arrays.asList("a", null));
+      assertFalse(BasicRules.hasDefinedElements(nullFirst));
    }
 
    @Test
@@ -107,6 +142,7 @@ public class BasicRulesTest {
    @Test
    void testHasDefinedElementArrayInvalid() {
       assertFalse(BasicRules.hasDefinedElements(new Integer[]{1, 2, null}));
+      assertFalse(BasicRules.hasDefinedElements((Object[]) null));
    }
 
    @Test
@@ -149,4 +185,23 @@ public class BasicRulesTest {
       assertFalse(BasicRules.matches(".*", null));
    }
 
+   @Test
+   void testPrecompiledPatternMatches() {
+      Pattern zipCode = Pattern.compile("\\d{5}");
+      assertTrue(BasicRules.matchesPattern(zipCode, "75001"));
+      assertFalse(BasicRules.matchesPattern(zipCode, "7500"));
+      assertTrue(BasicRules.matchesPattern(zipCode, new StringBuilder("69002")));
+      assertFalse(BasicRules.matchesPattern(null, "75001"));
+      assertFalse(BasicRules.matchesPattern(zipCode, null));
+   }
+
+   @Test
+   void testPatternCacheIsBounded() {
+      assertSame(BasicRules.getPattern("^[a-z]+$"), BasicRules.getPattern("^[a-z]+$"));
+      for (int i = 0; i < BasicRules.PATTERN_CACHE_SIZE * 2; i++) {
+         assertTrue(BasicRules.matches("^id" + i + "$", "id" + i));
+         assertTrue(BasicRules.getPatternCacheSize() <= BasicRules.PATTERN_CACHE_SIZE);
+      }
+   }
+
 }
@@ -0,0 +1,154 @@
+package io.github.ceoche.bvalid;
+
+import io.github.ceoche.bvalid.mock.Person;
+import io.github.ceoche.bvalid.mock.Phone;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BatchRuleTest {
+
+    @Test
+    public void testBatchRuleCalledPerChunk() {
+        List<Integer> chunkSizes = new ArrayList<>();
+        BValidator<Phone> validator = new BValidatorManualBuilder<>(Phone.class)
+                .setBusinessObjectName("phone")
+                .addRule("numberValid", Phone::isNumberValid, "Number must be defined")
+                .addBatchRule("countryCodeKnown", countryCodeLookup(chunkSizes), "Country code must be known", 2)
+                .build();
+
+        List<ObjectResult> results = validator.validate(List.of(new Phone("1", "+33"), new Phone("2", "33"),
+                new Phone("3", "+44"), new Phone("4", "+1"), new Phone("5", "1")));
+
+        assertEquals(List.of(2, 2, 1), chunkSizes);
+        assertEquals(5, results.size());
+        boolean[] expected = {true, false, true, true, false};
+        for (int index = 0; index < expected.length; index++) {
+            assertEquals(2, results.get(index).getNbOfTests());
+            assertEquals(expected[index], results.get(index).isValid());
+            assertEquals("countryCodeKnown", results.get(index).getRuleResults().get(1).getId());
+        }
+    }
+
+    @Test
+    public void testBatchRuleEvaluatedChunkByChunk() {
+        List<Integer> chunkSizes = new ArrayList<>();
+        List<String> events = new ArrayList<>();
+        BValidator<Phone> validator = new BValidatorManualBuilder<>(Phone.class)
+                .setBusinessObjectName("phone")
+                .addBatchRule("countryCodeKnown", phones -> {
+                    events.add("chunk");
+                    return countryCodeLookup(chunkSizes).test(phones);
+                }, "Country code must be known", 2)
+                .build();
+        List<Phone> phones = List.of(new Phone("1", "+33"), new Phone("2", "+44"), new Phone("3", "33"),
+                new Phone("4", "+1"), new Phone("5", "+1"));
+
+        validator.validate(phones, result -> events.add(result.getBusinessObjectName()));
+        assertEquals(List.of("chunk", "phone[0]", "phone[1]", "chunk", "phone[2]", "phone[3]", "chunk", "phone[4]"), events);
+
+        // the validation stops on the third phone, the last chunk is never evaluated
+        chunkSizes.clear();
+        List<ObjectResult> failFastResults = validator.failFast().validate(phones);
+        assertEquals(List.of(2, 2), chunkSizes);
+        assertEquals(3, failFastResults.size());
+        assertFalse(failFastResults.get(2).isValid());
+    }
+
+    @Test
+    public void testBatchRuleOnMemberCollection() {
+        List<Integer> chunkSizes = new ArrayList<>();
+        BValidator<Person> validator = new BValidatorManualBuilder<>(Person.class)
+                .setBusinessObjectName("person")
+                .addMember("phones", Person::getPhones, new BValidatorManualBuilder<>(Phone.class)
+                        .addBatchRule("countryCodeKnown", countryCodeLookup(chunkSizes), "Country code must be known"))
+                .build();
+
+        ObjectResult result = validator.validate(new Person("John", null, 35, null,
+                List.of(new Phone("1", "+33"), new Phone("2", "33"), new Phone("3", "+44"))));
+
+        assertEquals(List.of(3), chunkSizes);
+        assertEquals(3, result.getNbOfTests());
+        assertEquals(1, result.getNbOfFailures());
+        assertTrue(result.toString().contains("person.phones[1] [countryCodeKnown]"));
+    }
+
+    @Test
+    public void testBatchRuleOnSingleObject() {
+        List<Integer> chunkSizes = new ArrayList<>();
+        BValidator<Phone> validator = new BValidatorManualBuilder<>(Phone.class)
+                .addBatchRule("countryCodeKnown", countryCodeLookup(chunkSizes), "Country code must be known")
+                .build();
+
+        assertFalse(validator.validate(new Phone("1", "33")).isValid());
+        assertTrue(validator.validate(new Phone("1", "+33")).isValid());
+        assertEquals(List.of(1, 1), chunkSizes);
+    }
+
+    @Test
+    public void testBatchRuleNeverCalledWithFailingPrerequisite() {
+        List<Phone> phones = List.of(new Phone("1", "+33"), new Phone("", "+44"), new Phone("3", "33"));
+        List<Phone> checkedPhones = new ArrayList<>();
+        BatchRule<Phone> countryCodeLookup = chunk -> {
+            checkedPhones.addAll(chunk);
+            return countryCodeLookup(new ArrayList<>()).test(chunk);
+        };
+
+        BValidator<Phone> afterRule = new BValidatorManualBuilder<>(Phone.class)
+                .addBatchRule("countryCodeKnown", countryCodeLookup, "Country code must be known", 10,
+                        RuleOptions.defaults().requires("numberValid"))
+                .addRule("numberValid", Phone::isNumberValid, "Number must be defined")
+                .build();
+        List<ObjectResult> results = afterRule.validate(phones);
+        assertEquals(List.of(phones.get(0), phones.get(2)), checkedPhones);
+        assertEquals(List.of(true, false, false), List.of(results.get(0).isValid(), results.get(1).isValid(), results.get(2).isValid()));
+        assertEquals("numberValid", results.get(1).getInvalidRules().get(0).getId());
+
+        checkedPhones.clear();
+        List<Integer> chunkSizes = new ArrayList<>();
+        BValidator<Phone> afterBatchRule = new BValidatorManualBuilder<>(Phone.class)
+                .addBatchRule("countryCodeKnown", countryCodeLookup, "Country code must be known", 10,
+                        RuleOptions.defaults().requires("numberKnown"))
+                .addBatchRule("numberKnown", chunk -> {
+                    chunkSizes.add(chunk.size());
+                    boolean[] outcomes = new boolean[chunk.size()];
+                    for (int index = 0; index < outcomes.length; index++) {
+                        outcomes[index] = chunk.get(index).isNumberValid();
+                    }
+                    return outcomes;
+                }, "Number must be known")
+                .build();
+        afterBatchRule.validate(phones);
+        assertEquals(List.of(3), chunkSizes);
+        assertEquals(List.of(phones.get(0), phones.get(2)), checkedPhones);
+
+        checkedPhones.clear();
+        afterBatchRule.failFast().validate(phones);
+        assertEquals(List.of(phones.get(0), phones.get(2)), checkedPhones);
+    }
+
+    @Test
+    public void testBatchRuleInvalid() {
+        BValidatorManualBuilder<Phone> builder = new BValidatorManualBuilder<>(Phone.class);
+        assertThrows(IllegalArgumentException.class, () -> builder.addBatchRule("id", null, "null rule"));
+        assertThrows(IllegalArgumentException.class, () -> builder.addBatchRule("id", phones -> new boolean[phones.size()], "rule", 0));
+        assertTrue(builder.isEmpty());
+
+        BValidator<Phone> validator = builder.addBatchRule("id", phones -> new boolean[1], "wrong outcomes").build();
+        assertThrows(IllegalStateException.class, () -> validator.validate(List.of(new Phone("1", "+33"), new Phone("2", "+33"))));
+    }
+
+    private BatchRule<Phone> countryCodeLookup(List<Integer> chunkSizes) {
+        return phones -> {
+            chunkSizes.add(phones.size());
+            boolean[] outcomes = new boolean[phones.size()];
+            for (int index = 0; index < outcomes.length; index++) {
+                outcomes[index] = phones.get(index).isCountryCodeValid();
+            }
+            return outcomes;
+        };
+    }
+}
@@ -16,6 +16,7 @@
 
 package io.github.ceoche.bvalid;
 
+import java.math.BigDecimal;
 import java.util.*;
 import java.util.concurrent.LinkedTransferQueue;
 
@@ -75,6 +76,16 @@ public class BusinessObjectMocks {
       return collecBusinessMember;
    }
 
+   public static ContainerBusinessMembers instantiateBusinessMemberContainers() {
+      ContainerBusinessMembers containers = new ContainerBusinessMembers();
+      containers.getValidableMockMap().put("valid", instantiateValid());
+      containers.getValidableMockMap().put("invalid", instantiateInvalid());
+      containers.getValidableMockPages().add(new DefaultValidableMock[]{instantiateValid()});
+      containers.getValidableMockPages().add(new DefaultValidableMock[]{instantiateValid(), instantiateInvalid()});
+      containers.setOptionalValidableMock(instantiateValid());
+      return containers;
+   }
+
    public static ArrayBusinessMember instantiateBusinessMemberArray() {
       DefaultValidableMock validMock = (DefaultValidableMock) instantiateValid();
       DefaultValidableMock invalidMock = (DefaultValidableMock) instantiateInvalid();
@@ -244,6 +255,33 @@ public class BusinessObjectMocks {
       }
    }
 
+   @BusinessObject
+   public static class ContainerBusinessMembers {
+
+      private final Map<String, DefaultValidableMock> validableMockMap = new LinkedHashMap<>();
+      private final List<DefaultValidableMock[]> validableMockPages = new ArrayList<>();
+      private DefaultValidableMock optionalValidableMock;
+
+      @BusinessMember(name = "map")
+      public Map<String, DefaultValidableMock> getValidableMockMap() {
+         return validableMockMap;
+      }
+
+      @BusinessMember(name = "pages")
+      public List<DefaultValidableMock[]> getValidableMockPages() {
+         return validableMockPages;
+      }
+
+      @BusinessMember(name = "optional")
+      public Optional<DefaultValidableMock> getOptionalValidableMock() {
+         return Optional.ofNullable(optionalValidableMock);
+      }
+
+      public void setOptionalValidableMock(DefaultValidableMock optionalValidableMock) {
+         this.optionalValidableMock = optionalValidableMock;
+      }
+   }
+
    @BusinessObject(name = "without-assertions")
    public static class IllegalBusinessObject {
       private String name;
@@ -315,4 +353,124 @@ public class BusinessObjectMocks {
       }
 
    }
+
+   @BusinessObject(name = "constrained-mock")
+   public static class ConstrainedMock {
+
+      private String title;
+      private int age;
+      private BigDecimal price;
+      private List<String> tags = new ArrayList<>();
+
+      public ConstrainedMock(String title, int age, BigDecimal price, List<String> tags) {
+         this.title = title;
+         this.age = age;
+         this.price = price;
+         this.tags = tags;
+      }
+
+      @Defined(id = "R01")
+      @Matches(regexp = "[A-Z].*")
+      @Size(max = 20, description = "title must not exceed 20 characters")
+      public String getTitle() {
+         return title;
+      }
+
+      @Range(min = 0, max = 150)
+      public int getAge() {
+         return age;
+      }
+
+      @Range(min = 0)
+      public BigDecimal getPrice() {
+         return price;
+      }
+
+      @Size(min = 1, max = 3)
+      public List<String> getTags() {
+         return tags;
+      }
+   }
+
+   @BusinessObject(name = "grouped-mock")
+   public static class GroupedMock {
+
+      private final String title;
+      private final String summary;
+
+      public GroupedMock(String title, String summary) {
+         this.title = title;
+         this.summary = summary;
+      }
+
+      @Defined(groups = {"draft", "submission"})
+      public String getTitle() {
+         return title;
+      }
+
+      public String getSummary() {
+         return summary;
+      }
+
+      @BusinessRule(id = "summary", description = "summary must be defined", groups = "submission")
+      public boolean isSummaryValid() {
+         return BasicRules.isDefined(summary);
+      }
+
+      @BusinessRule(description = "title must not end with a dot")
+      public boolean isTitleValid() {
+         return title == null || !title.endsWith(".");
+      }
+   }
+
+   @BusinessObject(name = "postal-address")
+   public static class PostalAddressMock {
+
+      private final String country;
+      private final String postcode;
+
+      public PostalAddressMock(String country, String postcode) {
+         this.country = country;
+         this.postcode = postcode;
+      }
+
+      @BusinessRule(id = "postcodeFormat", description = "postcode must match the format of the country",
+            requires = {"countryDefined", "postcodeDefined"})
+      public boolean isPostcodeFormatValid() {
+         return "FR".equals(country) ? postcode.matches("[0-9]{5}") : postcode.length() < 10;
+      }
+
+      @BusinessRule(id = "countryDefined", description = "country must be defined")
+      public boolean isCountryValid() {
+         return BasicRules.isDefined(country);
+      }
+
+      @BusinessRule(id = "postcodeDefined", description = "postcode must be defined")
+      public boolean isPostcodeValid() {
+         return BasicRules.isDefined(postcode);
+      }
+   }
+
+   @BusinessObject(name = "cyclic-rules")
+   public static class CyclicRulesMock {
+
+      @BusinessRule(id = "first", description = "first rule", requires = "second")
+      public boolean isFirstValid() {
+         return true;
+      }
+
+      @BusinessRule(id = "second", description = "second rule", requires = "first")
+      public boolean isSecondValid() {
+         return true;
+      }
+   }
+
+   @BusinessObject
+   public static class IllegalConstraintMock {
+
+      @Matches(regexp = "[0-9]+")
+      public int getNumber() {
+         return 0;
+      }
+   }
 }
@@ -0,0 +1,75 @@
+package io.github.ceoche.bvalid;
+
+import io.github.ceoche.bvalid.mock.Phone;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CollectionRuleTest {
+
+    @Test
+    public void testSizeChecks() {
+        CollectionRule<Integer> rule = BasicRules.<Integer>collection().notEmpty().maxSize(3);
+        assertTrue(rule.test(List.of(1, 2, 3)));
+        assertFalse(rule.test(List.of()));
+        assertFalse(rule.test(List.of(1, 2, 3, 4)));
+        assertFalse(rule.test((Collection<Integer>) null));
+        assertTrue(BasicRules.<Integer>collection().test(List.of()));
+        assertFalse(BasicRules.<Integer>collection().minSize(2).test(new Integer[]{1}));
+        assertThrows(IllegalArgumentException.class, () -> BasicRules.collection().minSize(-1));
+        assertThrows(IllegalArgumentException.class, () -> BasicRules.collection().maxSize(-1));
+        assertThrows(IllegalArgumentException.class, () -> BasicRules.collection().minSize(3).maxSize(2));
+        assertThrows(IllegalArgumentException.class, () -> BasicRules.collection().maxSize(2).minSize(3));
+        assertThrows(IllegalArgumentException.class, () -> BasicRules.collection().maxSize(0).notEmpty());
+    }
+
+    @Test
+    public void testConfigurationDoesNotAlterTheRule() {
+        CollectionRule<String> rule = BasicRules.<String>collection().maxSize(2);
+        CollectionRule<String> stricter = rule.noNulls().allMatch(s -> s.length() == 1);
+        assertNotSame(rule, stricter);
+        assertTrue(rule.test(Arrays.asList("ab", null)));
+        assertFalse(stricter.test(Arrays.asList("ab", null)));
+    }
+
+    @Test
+    public void testElementChecks() {
+        CollectionRule<Phone> rule = BasicRules.<Phone>collection()
+                .noNulls()
+                .uniqueBy(Phone::getNumber)
+                .sortedBy(Comparator.comparing(Phone::getCountryCode))
+                .allMatch(Phone::isCountryCodeValid);
+        Phone french = new Phone("0123456789", "+33");
+        Phone english = new Phone("0987654321", "+44");
+        assertTrue(rule.test(List.of(french, english)));
+        assertTrue(rule.test(new LinkedHashSet<>(List.of(french, english))));
+        assertFalse(rule.test(Arrays.asList(french, null, english)));
+        assertFalse(rule.test(List.of(french, new Phone("0123456789", "+34"))));
+        assertFalse(rule.test(List.of(english, french)));
+        assertFalse(rule.test(new Phone[]{french, new Phone("0111111111", "44")}));
+    }
+
+    @Test
+    public void testNullElementsAreOnlyRejectedByNoNulls() {
+        CollectionRule<String> rule = BasicRules.<String>collection().uniqueBy(String::length).sortedBy(Comparator.naturalOrder());
+        assertTrue(rule.test(Arrays.asList("a", null, "bb")));
+        assertFalse(rule.noNulls().test(Arrays.asList("a", null, "bb")));
+    }
+
+    @Test
+    public void testSinglePassStopsAtFirstFailure() {
+        AtomicInteger nbOfChecks = new AtomicInteger();
+        CollectionRule<Integer> rule = BasicRules.<Integer>collection()
+                .noNulls()
+                .allMatch(i -> nbOfChecks.incrementAndGet() > 0 && i < 5);
+        List<Integer> numbers = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            numbers.add(i);
+        }
+        assertFalse(rule.test(numbers));
+        assertEquals(6, nbOfChecks.get());
+    }
+}
@@ -0,0 +1,87 @@
+package io.github.ceoche.bvalid;
+
+import io.github.ceoche.bvalid.mock.*;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CompactResultsTest {
+
+    private static BValidator<Person> personValidator;
+
+    @BeforeAll
+    public static void setUp() {
+        personValidator = new BValidatorManualBuilder<>(Person.class)
+                .setBusinessObjectName("person")
+                .addRule("nameValid", Person::isNameValid, "Name must not be empty")
+                .addMember("address", Person::getAddress, new BValidatorManualBuilder<>(Address.class)
+                        .addRule("cityValid", Address::isCityValid, "City must not be null")
+                        .addMember("city", Address::getCity, new BValidatorManualBuilder<>(City.class)
+                                .addRule("cityZipcodeValid", City::isZipCodeValid, "City zipcode must be valid")))
+                .addMember("phones", Person::getPhones, new BValidatorManualBuilder<>(Phone.class)
+                        .addRule("countryCodeValid", Phone::isCountryCodeValid, "Country code must be valid"))
+                .build();
+    }
+
+    @Test
+    public void testMaterializedResultsMatchObjectResults() {
+        List<Person> persons = createPersons();
+        List<ObjectResult> expected = personValidator.validate(persons);
+        CompactResults results = personValidator.validateCompact(persons);
+        assertEquals(expected.size(), results.size());
+        for (int index = 0; index < results.size(); index++) {
+            assertEquals(expected.get(index).toString(), results.get(index).toString());
+            assertEquals(expected.get(index).isValid(), results.isValid(index));
+            assertEquals(expected.get(index).getNbOfTests(), results.getNbOfTests(index));
+        }
+    }
+
+    @Test
+    public void testValidityWithoutMaterialization() {
+        CompactResults results = personValidator.validateCompact(createPersons());
+        assertFalse(results.isValid());
+        assertTrue(results.isValid(0));
+        assertFalse(results.isValid(1));
+        assertFalse(results.isValid(2));
+        assertFalse(ObjectResultTest.getRuleResult(results.get(1), "person[1].address.city [cityZipcodeValid]").isValid());
+        assertFalse(ObjectResultTest.getRuleResult(results.get(2), "person[2].phones[1] [countryCodeValid]").isValid());
+    }
+
+    @Test
+    public void testManyMapKeysAreNotAllInterned() {
+        BValidator<PhoneBook> phoneBookValidator = new BValidatorManualBuilder<>(PhoneBook.class)
+                .setBusinessObjectName("phoneBook")
+                .addMember("phonesByOwner", PhoneBook::getPhonesByOwner, new BValidatorManualBuilder<>(Phone.class)
+                        .addRule("countryCodeValid", Phone::isCountryCodeValid, "Country code must be valid"))
+                .build();
+        PhoneBook phoneBook = new PhoneBook();
+        for (int i = 0; i < 5000; i++) {
+            phoneBook.addPhone("owner" + i, new Phone(String.valueOf(i), i == 4999 ? "33" : "+33"));
+        }
+
+        CompactResults results = phoneBookValidator.validateCompact(List.of(phoneBook));
+        ObjectResult expected = phoneBookValidator.validate(List.of(phoneBook)).get(0);
+        assertEquals(expected.toString(), results.get(0).toString());
+        assertFalse(ObjectResultTest.getRuleResult(results.get(0), "phoneBook[0].phonesByOwner[owner4999] [countryCodeValid]").isValid());
+    }
+
+    @Test
+    public void testOutOfBounds() {
+        CompactResults results = personValidator.validateCompact(createPersons().toArray(new Person[0]));
+        assertThrows(IndexOutOfBoundsException.class, () -> results.get(3));
+        assertThrows(IndexOutOfBoundsException.class, () -> results.isValid(-1));
+    }
+
+    private List<Person> createPersons() {
+        return List.of(
+                new Person("John", new Address("Main Street", new City("Paris", 75000), "France"), 35,
+                        new Email[0], List.of(new Phone("123456789", "+33"))),
+                new Person("Jane", new Address("Main Street", new City("Paris", -1), "France"), 35,
+                        new Email[0], List.of()),
+                new Person("Jack", null, 35,
+                        new Email[0], List.of(new Phone("123456789", "+33"), new Phone("987654321", "33"))));
+    }
+}
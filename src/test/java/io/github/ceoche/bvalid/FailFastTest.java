@@ -0,0 +1,91 @@
+package io.github.ceoche.bvalid;
+
+import io.github.ceoche.bvalid.mock.Person;
+import io.github.ceoche.bvalid.mock.Phone;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FailFastTest {
+
+    @Test
+    public void testFailFastStopsAtFirstFailure() {
+        AtomicInteger nbOfAgeCalls = new AtomicInteger();
+        AtomicInteger nbOfNumberCalls = new AtomicInteger();
+        BValidator<Person> validator = new BValidatorManualBuilder<>(Person.class)
+                .setBusinessObjectName("person")
+                .addRule("nameValid", Person::isNameValid, "Name must be defined")
+                .addMember("phones", Person::getPhones, new BValidatorManualBuilder<>(Phone.class)
+                        .addRule("countryCodeValid", Phone::isCountryCodeValid, "Country code must be valid")
+                        .addRule("numberValid", counting(Phone::isNumberValid, nbOfNumberCalls), "Number must be defined"))
+                .addRule("ageValid", counting(Person::isAgeValid, nbOfAgeCalls), "Age must be valid")
+                .build();
+        Person person = new Person("John", null, 35, null,
+                List.of(new Phone("0123456789", "+33"), new Phone("0123456789", "33"), new Phone("0123456789", "44")));
+
+        ObjectResult complete = validator.validate(person);
+        assertEquals(8, complete.getNbOfTests());
+        assertEquals(2, complete.getNbOfFailures());
+
+        nbOfNumberCalls.set(0);
+        ObjectResult failFast = validator.failFast().validate(person);
+        assertFalse(failFast.isValid());
+        assertEquals(1, failFast.getNbOfFailures());
+        assertEquals(5, failFast.getNbOfTests());
+        assertEquals(1, nbOfNumberCalls.get());
+        assertEquals("countryCodeValid", failFast.getInvalidRules().get(0).getId());
+
+        List<ObjectResult> results = validator.failFast().validate(List.of(new Person("", null, 35, null, List.of()), person));
+        assertEquals(1, results.size());
+        assertTrue(validator.failFast().validate(new Person("John", null, 35, null, List.of())).isValid());
+    }
+
+    @Test
+    public void testFailFastRunsCheapRulesFirst() {
+        AtomicInteger nbOfExpensiveCalls = new AtomicInteger();
+        BValidator<Person> validator = new BValidatorManualBuilder<>(Person.class)
+                .addRule("lookup", counting(person -> false, nbOfExpensiveCalls), "Person must be known", 100)
+                .addRule("nameValid", Person::isNameValid, "Name must be defined")
+                .build();
+        Person person = new Person("", null, 35, null, List.of());
+
+        assertEquals("nameValid", validator.failFast().validate(person).getInvalidRules().get(0).getId());
+        assertEquals(0, nbOfExpensiveCalls.get());
+        assertEquals(2, validator.validate(person).getNbOfFailures());
+        assertThrows(IllegalArgumentException.class, () -> new BValidatorManualBuilder<>(Person.class)
+                .addRule("nameValid", Person::isNameValid, "Name must be defined", 0));
+    }
+
+    @Test
+    public void testFailFastRunsCheapRulesFirstWithPrerequisites() {
+        AtomicInteger nbOfExpensiveCalls = new AtomicInteger();
+        BValidator<Person> validator = new BValidatorManualBuilder<>(Person.class)
+                .addRule("lookup", counting(person -> false, nbOfExpensiveCalls), "Person must be known", 100)
+                .addDependentRule("nameCapitalized", person -> Character.isUpperCase(person.getName().charAt(0)),
+                        "Name must be capitalized", "nameValid")
+                .addRule("nameValid", Person::isNameValid, "Name must be defined")
+                .build();
+
+        ObjectResult result = validator.failFast().validate(new Person("john", null, 35, null, List.of()));
+        assertEquals(2, result.getNbOfTests());
+        assertEquals("nameValid", result.getRuleResults().get(0).getId());
+        assertEquals("nameCapitalized", result.getInvalidRules().get(0).getId());
+        assertEquals(0, nbOfExpensiveCalls.get());
+
+        ObjectResult prerequisiteFailure = validator.failFast().validate(new Person("", null, 35, null, List.of()));
+        assertEquals(1, prerequisiteFailure.getNbOfTests());
+        assertEquals("nameValid", prerequisiteFailure.getInvalidRules().get(0).getId());
+        assertEquals(0, nbOfExpensiveCalls.get());
+    }
+
+    private <T> Predicate<T> counting(Predicate<T> rule, AtomicInteger nbOfCalls) {
+        return object -> {
+            nbOfCalls.incrementAndGet();
+            return rule.test(object);
+        };
+    }
+}
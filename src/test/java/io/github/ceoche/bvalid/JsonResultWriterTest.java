@@ -0,0 +1,76 @@
+package io.github.ceoche.bvalid;
+
+import io.github.ceoche.bvalid.mock.Phone;
+import io.github.ceoche.bvalid.mock.Person;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class JsonResultWriterTest {
+
+    private static BValidator<Person> personValidator;
+
+    @BeforeAll
+    public static void setUp() {
+        personValidator = new BValidatorManualBuilder<>(Person.class)
+                .setBusinessObjectName("person")
+                .addRule("nameValid", Person::isNameValid, "Name must be \"defined\"")
+                .addMember("phones", Person::getPhones, new BValidatorManualBuilder<>(Phone.class)
+                        .addRule("countryCodeValid", Phone::isCountryCodeValid, "Country code must be valid"))
+                .build();
+    }
+
+    @Test
+    public void testWriteResult() throws IOException {
+        ObjectResult result = personValidator.validate(createPerson("John", "+33", "33"));
+        assertEquals("{\"name\":\"person\",\"valid\":false," +
+                        "\"rules\":[{\"id\":\"nameValid\",\"description\":\"Name must be \\\"defined\\\"\",\"valid\":true}]," +
+                        "\"members\":[" +
+                        "{\"name\":\"phones[0]\",\"valid\":true,\"rules\":[{\"id\":\"countryCodeValid\",\"description\":\"Country code must be valid\",\"valid\":true}],\"members\":[]}," +
+                        "{\"name\":\"phones[1]\",\"valid\":false,\"rules\":[{\"id\":\"countryCodeValid\",\"description\":\"Country code must be valid\",\"valid\":false}],\"members\":[]}" +
+                        "]}",
+                write(result, false));
+    }
+
+    @Test
+    public void testWriteInvalidOnly() throws IOException {
+        ObjectResult result = personValidator.validate(createPerson("John", "+33", "33"));
+        assertEquals("{\"name\":\"person\",\"valid\":false,\"rules\":[],\"members\":[" +
+                        "{\"name\":\"phones[1]\",\"valid\":false,\"rules\":[{\"id\":\"countryCodeValid\",\"description\":\"Country code must be valid\",\"valid\":false}],\"members\":[]}" +
+                        "]}",
+                write(result, true));
+    }
+
+    @Test
+    public void testWriteArrayWhileValidating() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JsonResultWriter writer = new JsonResultWriter(out, true)) {
+            writer.writeArray(personValidator, List.of(createPerson("John", "+33"), createPerson("", "+33")));
+        }
+        assertEquals("[{\"name\":\"person[0]\",\"valid\":true,\"rules\":[],\"members\":[]}," +
+                        "{\"name\":\"person[1]\",\"valid\":false,\"rules\":[{\"id\":\"nameValid\",\"description\":\"Name must be \\\"defined\\\"\",\"valid\":false}],\"members\":[]}]",
+                out.toString(StandardCharsets.UTF_8));
+    }
+
+    private String write(ObjectResult result, boolean invalidOnly) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JsonResultWriter writer = new JsonResultWriter(out, invalidOnly)) {
+            writer.write(result);
+        }
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private Person createPerson(String name, String... countryCodes) {
+        Phone[] phones = new Phone[countryCodes.length];
+        for (int i = 0; i < countryCodes.length; i++) {
+            phones[i] = new Phone("0123456789", countryCodes[i]);
+        }
+        return new Person(name, null, 35, null, List.of(phones));
+    }
+}
@@ -0,0 +1,44 @@
+package io.github.ceoche.bvalid;
+
+import java.util.regex.Pattern;
+
+/**
+ * Rough benchmark of {@link BasicRules#matches(String, String)} against compiling the pattern on each call, as done
+ * before patterns were cached. Not run by the test suite, launch it from the IDE or with
+ * {@code mvn test-compile exec:java -Dexec.mainClass=io.github.ceoche.bvalid.MatchesBenchmark
+ * -Dexec.classpathScope=test}.
+ */
+public class MatchesBenchmark {
+
+    private static final String EMAIL_REGEXP = "^[\\w.+-]+@[\\w-]+(\\.[\\w-]+)+$";
+
+    private static final Pattern EMAIL_PATTERN = Pattern.compile(EMAIL_REGEXP);
+
+    private static final String[] SUBJECTS = {"jules.verne@example.com", "invalid@", "h.g.wells@example.co.uk"};
+
+    private static final int ITERATIONS = 2_000_000;
+
+    public static void main(String[] args) {
+        for (int round = 0; round < 3; round++) {
+            run("compile on each call", MatchesBenchmark::compileOnEachCall);
+            run("matches(String, String)", subject -> BasicRules.matches(EMAIL_REGEXP, subject));
+            run("matchesPattern(Pattern, CharSequence)", subject -> BasicRules.matchesPattern(EMAIL_PATTERN, subject));
+        }
+    }
+
+    private static boolean compileOnEachCall(String subject) {
+        return Pattern.compile(EMAIL_REGEXP).matcher(subject).matches();
+    }
+
+    private static void run(String name, java.util.function.Predicate<String> matcher) {
+        int matches = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            if (matcher.test(SUBJECTS[i % SUBJECTS.length])) {
+                matches++;
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        System.out.printf("%-32s %6.1f ns/op (%d matches)%n", name, (double) elapsed / ITERATIONS, matches);
+    }
+}
@@ -7,6 +7,8 @@ import io.github.ceoche.bvalid.mock.Phone;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
+import java.io.IOException;
+import java.io.StringWriter;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -112,6 +114,74 @@ public class ObjectResultTest {
         assertFalse(getRuleResult(result, "person.phones[1] [countryCodeValid]").isValid());
     }
 
+    @Test
+    public void testInvalidOnlyRetention(){
+        Person person = new Person(null,null,null,null,
+                List.of(new Phone("123456789", "+33"), new Phone("987654321", "aa"))
+        );
+        ObjectResult result = personValidatorWithPhones.validate(person, ResultRetention.invalidOnly());
+        assertFalse(result.isValid());
+        assertEquals(4, result.getNbOfTests());
+        assertEquals(3, result.getNbOfOmittedResults());
+        assertEquals(1, result.getNbOfFailures());
+        assertEquals(1, result.getMemberResults().size());
+        assertEquals("phones[1]", result.getMemberResults().get(0).getBusinessObjectName());
+        assertFalse(getRuleResult(result, "person.phones[1] [countryCodeValid]").isValid());
+    }
+
+    @Test
+    public void testMaxViolationsRetention(){
+        Person person = new Person(null,null,null,null,
+                List.of(new Phone(null, "aa"), new Phone("987654321", "aa"))
+        );
+        BValidator<Person> validator = personValidatorWithPhones.withRetention(ResultRetention.maxViolations(2));
+        ObjectResult result = validator.validate(person);
+        assertFalse(result.isValid());
+        assertEquals(4, result.getNbOfTests());
+        assertEquals(3, result.getNbOfFailures());
+        assertEquals(2, result.getInvalidRules().size());
+        assertEquals(1, result.getMemberResults().size());
+        assertTrue(result.toString().contains("person 1 more invalid rule(s) omitted"));
+    }
+
+    @Test
+    public void testValidObjectWithInvalidOnlyRetention(){
+        Address address = new Address("street", new City("city",12345), "country");
+        ObjectResult result = addressValidator.validate(address, ResultRetention.invalidOnly());
+        assertTrue(result.isValid());
+        assertEquals(4, result.getNbOfTests());
+        assertTrue(result.getRuleResults().isEmpty());
+        assertTrue(result.getMemberResults().isEmpty());
+        assertEquals("", result.toString());
+    }
+
+    @Test
+    public void testNegativeMaxViolations(){
+        assertThrows(IllegalArgumentException.class, () -> ResultRetention.maxViolations(-1));
+    }
+
+    @Test
+    public void testWriteToMatchesToString() throws IOException {
+        Address address = new Address("street", new City("",-12345), "country");
+        ObjectResult result = addressValidator.validate(address);
+        StringWriter writer = new StringWriter();
+        result.writeTo(writer);
+        assertEquals(result.toString(), writer.toString());
+    }
+
+    @Test
+    public void testWriteToInvalidOnlyWithMaxLines() throws IOException {
+        Address address = new Address("", new City("",-12345), "country");
+        ObjectResult result = addressValidator.validate(address);
+        StringWriter writer = new StringWriter();
+        result.writeTo(writer, true, 2);
+        String[] lines = writer.toString().split(System.lineSeparator());
+        assertEquals(3, lines.length);
+        assertEquals("address [StreetValid] Street must not be empty => invalid", lines[0]);
+        assertEquals("address.city [cityNameValid] City name must not be empty => invalid", lines[1]);
+        assertEquals("[...] report truncated after 2 line(s)", lines[2]);
+    }
+
     // get RuleResult path from root, ex: "person.address.street[streetNameValid]"
 
     /**
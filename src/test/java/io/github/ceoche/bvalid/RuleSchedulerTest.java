@@ -0,0 +1,97 @@
+package io.github.ceoche.bvalid;
+
+import io.github.ceoche.bvalid.mock.Person;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RuleSchedulerTest {
+
+    @Test
+    public void testMeasuredRulesReorder() {
+        RuleScheduler scheduler = new RuleScheduler(rules(1, 1));
+        assertArrayEquals(new int[]{0, 1}, scheduler.getOrder());
+
+        for (int i = 0; i < RuleScheduler.SAMPLES_PER_UPDATE / 2; i++) {
+            scheduler.record(0, 100, true);
+            scheduler.record(1, 100, false);
+        }
+        assertArrayEquals(new int[]{1, 0}, scheduler.getOrder());
+        assertArrayEquals(new int[]{0, 1}, scheduler.getHintOrder());
+    }
+
+    @Test
+    public void testUnmeasuredRulesAreOrderedByCostHint() {
+        RuleScheduler scheduler = new RuleScheduler(rules(1, 10, 10000));
+
+        // the first rule never fails: the cheap unmeasured rule is tried before it, not the expensive one
+        for (int i = 0; i < RuleScheduler.SAMPLES_PER_UPDATE; i++) {
+            scheduler.record(0, 1000, true);
+        }
+        assertArrayEquals(new int[]{1, 0, 2}, scheduler.getOrder());
+
+        // once measured, the rule that never fails and costs more goes after the first one
+        for (int i = 0; i < RuleScheduler.SAMPLES_PER_UPDATE; i++) {
+            scheduler.record(1, 100_000, true);
+        }
+        assertArrayEquals(new int[]{0, 1, 2}, scheduler.getOrder());
+    }
+
+    @Test
+    public void testBatchRulesAreNotMeasured() {
+        BusinessRuleObject<?>[] rules = {
+                new BusinessRuleObject<>("rule", object -> true, "rule", RuleOptions.defaults()),
+                new BatchRuleObject<>("batchRule", objects -> new boolean[objects.size()], "batch rule", 10,
+                        RuleOptions.defaults().withCost(100))};
+        RuleScheduler scheduler = new RuleScheduler(rules);
+
+        // taking an outcome evaluated ahead looks cheap and the batch rule always fails, but it keeps its hint
+        for (int i = 0; i < RuleScheduler.SAMPLES_PER_UPDATE; i++) {
+            scheduler.record(0, 1000, i % 2 == 0);
+            scheduler.record(1, 10, false);
+        }
+        assertArrayEquals(new int[]{0, 1}, scheduler.getOrder());
+
+        RuleScheduler allPlainRules = new RuleScheduler(rules(1, 100));
+        for (int i = 0; i < RuleScheduler.SAMPLES_PER_UPDATE; i++) {
+            allPlainRules.record(0, 1000, i % 2 == 0);
+            allPlainRules.record(1, 10, false);
+        }
+        assertArrayEquals(new int[]{1, 0}, allPlainRules.getOrder());
+    }
+
+    @Test
+    public void testExplorationMeasuresRulesAfterTheFirstFailure() {
+        AtomicInteger nbOfLaterCalls = new AtomicInteger();
+        BValidator<Person> validator = new BValidatorManualBuilder<>(Person.class)
+                .addRule("nameValid", Person::isNameValid, "Name must be defined")
+                .addRule("ageValid", person -> {
+                    nbOfLaterCalls.incrementAndGet();
+                    return person.isAgeValid();
+                }, "Age must be valid", 10)
+                .build()
+                .failFast(true);
+        Person person = new Person("", null, 35, null, List.of());
+
+        int explorationPeriod = RuleScheduler.SAMPLING_PERIOD * RuleScheduler.EXPLORATION_PERIOD;
+        for (int i = 0; i < 2 * explorationPeriod; i++) {
+            ObjectResult result = validator.validate(person);
+            assertEquals(1, result.getNbOfTests());
+            assertEquals("nameValid", result.getInvalidRules().get(0).getId());
+        }
+        assertEquals(2, nbOfLaterCalls.get());
+        assertEquals(2, validator.failFast(false).validate(new Person("John", null, 35, null, List.of())).getNbOfTests());
+    }
+
+    private static BusinessRuleObject<?>[] rules(int... costs) {
+        BusinessRuleObject<?>[] rules = new BusinessRuleObject[costs.length];
+        for (int position = 0; position < costs.length; position++) {
+            rules[position] = new BusinessRuleObject<>("rule" + position, object -> true, "rule " + position,
+                    new String[0], new String[0], costs[position]);
+        }
+        return rules;
+    }
+}
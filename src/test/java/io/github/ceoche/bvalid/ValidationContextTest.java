@@ -0,0 +1,87 @@
+package io.github.ceoche.bvalid;
+
+import io.github.ceoche.bvalid.mock.Address;
+import io.github.ceoche.bvalid.mock.City;
+import io.github.ceoche.bvalid.mock.Person;
+import io.github.ceoche.bvalid.mock.Phone;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ValidationContextTest {
+
+    @Test
+    public void testMemoComputedOncePerValidation() {
+        AtomicInteger nbOfLookups = new AtomicInteger();
+        BValidator<Person> validator = new BValidatorManualBuilder<>(Person.class)
+                .setBusinessObjectName("person")
+                .addMember("phones", Person::getPhones, new BValidatorManualBuilder<>(Phone.class)
+                        .addContextRule("countryCodeKnown", (phone, context) -> context.<Set<String>>memo("countryCodes", () -> {
+                            nbOfLookups.incrementAndGet();
+                            return Set.of("+33", "+44");
+                        }).contains(phone.getCountryCode()), "Country code must be known")
+                        .addContextRule("noCountry", (phone, context) -> context.memo("unknown", () -> null) == null,
+                                "Null values are memoized"))
+                .build();
+
+        List<ObjectResult> results = validator.validate(List.of(
+                createPerson("John", "+33", "+44"), createPerson("Jane", "+1", "+33", "+44")));
+
+        assertEquals(1, nbOfLookups.get());
+        assertTrue(results.get(0).isValid());
+        assertEquals(1, results.get(1).getNbOfFailures());
+
+        validator.validate(createPerson("John", "+33"));
+        assertEquals(2, nbOfLookups.get());
+
+        ValidationScratch scratch = new ValidationScratch();
+        validator.validate(createPerson("John", "+33"), scratch);
+        validator.validate(createPerson("John", "+33"), scratch);
+        assertEquals(4, nbOfLookups.get());
+    }
+
+    @Test
+    public void testParentAccess() {
+        BValidator<Person> validator = new BValidatorManualBuilder<>(Person.class)
+                .setBusinessObjectName("person")
+                .addContextRule("isRoot", (person, context) -> context.getParent() == null && context.getRoot() == person,
+                        "Person must be the root")
+                .addMember("address", Person::getAddress, new BValidatorManualBuilder<>(Address.class)
+                        .addMember("city", Address::getCity, new BValidatorManualBuilder<>(City.class)
+                                .addContextRule("parents", (city, context) -> context.getParent() instanceof Address
+                                                && context.getParent(Person.class) == context.getRoot()
+                                                && context.getParent(Phone.class) == null,
+                                        "City must be held by an address of a person")))
+                .addMember("phones", Person::getPhones, new BValidatorManualBuilder<>(Phone.class)
+                        .addContextRule("ownerNamed", (phone, context) -> !context.getParent(Person.class).getName().isEmpty(),
+                                "Phone owner must be named"))
+                .build();
+        Person person = new Person("", new Address("Main Street", new City("Paris", 75000), "France"), 35, null,
+                List.of(new Phone("0123456789", "+33")));
+
+        ObjectResult result = validator.validate(person);
+        assertEquals(3, result.getNbOfTests());
+        assertEquals(1, result.getNbOfFailures());
+        assertEquals("ownerNamed", result.getInvalidRules().get(0).getId());
+        assertTrue(validator.validatePath(person, "person.address.city").isValid());
+    }
+
+    @Test
+    public void testContextRuleNotNull() {
+        BValidatorManualBuilder<Person> builder = new BValidatorManualBuilder<>(Person.class);
+        assertThrows(IllegalArgumentException.class, () -> builder.addContextRule("id", null, "null rule"));
+        assertTrue(builder.isEmpty());
+    }
+
+    private Person createPerson(String name, String... countryCodes) {
+        Phone[] phones = new Phone[countryCodes.length];
+        for (int i = 0; i < countryCodes.length; i++) {
+            phones[i] = new Phone("0123456789", countryCodes[i]);
+        }
+        return new Person(name, null, 35, null, List.of(phones));
+    }
+}
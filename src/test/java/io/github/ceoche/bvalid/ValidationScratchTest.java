@@ -0,0 +1,153 @@
+package io.github.ceoche.bvalid;
+
+import io.github.ceoche.bvalid.mock.Person;
+import io.github.ceoche.bvalid.mock.Phone;
+import io.github.ceoche.bvalid.mock.PhoneBook;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class ValidationScratchTest {
+
+    private static BValidator<Person> personValidator;
+
+    @BeforeAll
+    public static void setUp() {
+        personValidator = new BValidatorManualBuilder<>(Person.class)
+                .setBusinessObjectName("person")
+                .addRule("nameValid", Person::isNameValid, "Name must not be empty")
+                .addMember("phones", Person::getPhones, new BValidatorManualBuilder<>(Phone.class)
+                        .addRule("countryCodeValid", Phone::isCountryCodeValid, "Country code must be valid"))
+                .build();
+    }
+
+    @Test
+    public void testScratchIsFilledAndReset() {
+        ValidationScratch scratch = new ValidationScratch();
+
+        personValidator.validate(createPerson("", "+33", "33"), scratch);
+        assertFalse(scratch.isValid());
+        assertEquals(3, scratch.getNbOfTests());
+        assertEquals(2, scratch.getNbOfViolations());
+        assertEquals("person", scratch.getViolationPath(0));
+        assertEquals("nameValid", scratch.getViolation(0).getId());
+        assertEquals("person.phones[1]", scratch.getViolationPath(1));
+        assertSame(ObjectResultTest.getRuleResult(personValidator.validate(createPerson("", "+33", "33")),
+                "person.phones[1] [countryCodeValid]"), scratch.getViolation(1));
+        assertEquals("person [nameValid] Name must not be empty => invalid\n" +
+                "person.phones[1] [countryCodeValid] Country code must be valid => invalid\n", scratch.toString());
+
+        assertTrue(personValidator.validate(createPerson("John", "+33"), scratch).isValid());
+        assertEquals(2, scratch.getNbOfTests());
+        assertEquals(0, scratch.getNbOfViolations());
+        assertThrows(IndexOutOfBoundsException.class, () -> scratch.getViolation(0));
+    }
+
+    @Test
+    public void testScratchIsReusedAfterLargeValidation() {
+        String[] countryCodes = new String[200];
+        for (int i = 0; i < countryCodes.length; i++) {
+            countryCodes[i] = i == 150 ? "1" : "+" + i;
+        }
+        ValidationScratch scratch = new ValidationScratch();
+
+        personValidator.validate(createPerson("John", countryCodes), scratch);
+        assertEquals(201, scratch.getNbOfTests());
+        assertEquals("person.phones[150]", scratch.getViolationPath(0));
+
+        personValidator.validate(createPerson("John", "+33", "+1"), scratch);
+        assertTrue(scratch.isValid());
+        assertEquals(3, scratch.getNbOfTests());
+    }
+
+    @Test
+    public void testValidObjectDoesNotAllocateOnceWarmedUp() {
+        com.sun.management.ThreadMXBean allocationBean = getAllocationBean();
+        Person person = createPerson("John", "+33", "+1", "+44");
+        ValidationScratch scratch = new ValidationScratch();
+        long threadId = Thread.currentThread().getId();
+        for (int i = 0; i < 20_000; i++) {
+            personValidator.validate(person, scratch);
+        }
+
+        long before = allocationBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < 10_000; i++) {
+            personValidator.validate(person, scratch);
+        }
+        long allocated = allocationBean.getThreadAllocatedBytes(threadId) - before;
+
+        assertTrue(scratch.isValid());
+        // tolerate the few bytes allocated by the measure itself
+        assertTrue(allocated < 10_000, "Allocated " + allocated + " bytes for 10000 validations");
+    }
+
+    @Test
+    public void testMapAndNestedElementsAreNamedWithoutAllocation() {
+        com.sun.management.ThreadMXBean allocationBean = getAllocationBean();
+        BValidator<PhoneBook> phoneBookValidator = new BValidatorManualBuilder<>(PhoneBook.class)
+                .setBusinessObjectName("phoneBook")
+                .addMember("phonesByOwner", PhoneBook::getPhonesByOwner, new BValidatorManualBuilder<>(Phone.class)
+                        .addRule("countryCodeValid", Phone::isCountryCodeValid, "Country code must be valid"))
+                .addMember("pages", PhoneBook::getPages, new BValidatorManualBuilder<>(Phone.class)
+                        .addRule("countryCodeValid", Phone::isCountryCodeValid, "Country code must be valid"))
+                .build();
+        ValidationScratch scratch = new ValidationScratch();
+
+        phoneBookValidator.validate(new PhoneBook()
+                .addPhone("john", new Phone("0123456789", "33"))
+                .addPage(new Phone("0123456789", "+1"))
+                .addPage(new Phone("0123456789", "+1"), new Phone("0123456789", "44")), scratch);
+        assertEquals("phoneBook.phonesByOwner[john]", scratch.getViolationPath(0));
+        assertEquals("phoneBook.pages[1][1]", scratch.getViolationPath(1));
+
+        long small = measureAllocation(allocationBean, phoneBookValidator, createPhoneBook(2), scratch);
+        long large = measureAllocation(allocationBean, phoneBookValidator, createPhoneBook(20), scratch);
+
+        assertTrue(scratch.isValid());
+        // the iterator of the map entries may be allocated, but nothing per entry or per nested element
+        assertTrue(large - small < 10_000, "Allocated " + (large - small) + " more bytes for 10000 validations of 18 more entries and elements");
+    }
+
+    private static long measureAllocation(com.sun.management.ThreadMXBean allocationBean, BValidator<PhoneBook> validator,
+                                          PhoneBook phoneBook, ValidationScratch scratch) {
+        long threadId = Thread.currentThread().getId();
+        for (int i = 0; i < 20_000; i++) {
+            validator.validate(phoneBook, scratch);
+        }
+        long before = allocationBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < 10_000; i++) {
+            validator.validate(phoneBook, scratch);
+        }
+        return allocationBean.getThreadAllocatedBytes(threadId) - before;
+    }
+
+    private static PhoneBook createPhoneBook(int nbOfPhones) {
+        PhoneBook phoneBook = new PhoneBook();
+        for (int i = 0; i < nbOfPhones; i++) {
+            phoneBook.addPhone("owner" + i, new Phone("0123456789", "+" + i))
+                    .addPage(new Phone("0123456789", "+" + i), new Phone("0123456789", "+" + i));
+        }
+        return phoneBook;
+    }
+
+    private static com.sun.management.ThreadMXBean getAllocationBean() {
+        java.lang.management.ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        assumeTrue(threadBean instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean allocationBean = (com.sun.management.ThreadMXBean) threadBean;
+        assumeTrue(allocationBean.isThreadAllocatedMemorySupported() && allocationBean.isThreadAllocatedMemoryEnabled());
+        return allocationBean;
+    }
+
+    private Person createPerson(String name, String... countryCodes) {
+        Phone[] phones = new Phone[countryCodes.length];
+        for (int i = 0; i < countryCodes.length; i++) {
+            phones[i] = new Phone("0123456789", countryCodes[i]);
+        }
+        return new Person(name, null, 35, null, List.of(phones));
+    }
+}
@@ -0,0 +1,95 @@
+package io.github.ceoche.bvalid;
+
+import io.github.ceoche.bvalid.mock.Person;
+import io.github.ceoche.bvalid.mock.Phone;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ValidationSummaryTest {
+
+    private static BValidator<Person> personValidator;
+
+    @BeforeAll
+    public static void setUp() {
+        personValidator = new BValidatorManualBuilder<>(Person.class)
+                .setBusinessObjectName("person")
+                .addRule("nameValid", Person::isNameValid, "Name must not be empty")
+                .addMember("phones", Person::getPhones, new BValidatorManualBuilder<>(Phone.class)
+                        .addRule("countryCodeValid", Phone::isCountryCodeValid, "Country code must be valid"))
+                .build();
+    }
+
+    @Test
+    public void testSummaryCounters() {
+        ValidationSummary summary = new ValidationSummary();
+        personValidator.validate(List.of(createPerson("John", "+33", "33"), createPerson("", "+33")), summary);
+        personValidator.validate(createPerson("Jane"), summary);
+
+        assertEquals(3, summary.getNbOfValidations());
+        assertEquals(2, summary.getNbOfInvalidValidations());
+        assertEquals(3L, summary.getObjectCounts().get(Person.class));
+        assertEquals(3L, summary.getObjectCounts().get(Phone.class));
+        List<RuleStatistics> statistics = summary.getRuleStatistics();
+        assertEquals(2, statistics.size());
+        RuleStatistics nameStatistics = getStatistics(statistics, "nameValid");
+        assertEquals(3, nameStatistics.getNbOfTests());
+        assertEquals(1, nameStatistics.getNbOfFailures());
+        RuleStatistics countryCodeStatistics = getStatistics(statistics, "countryCodeValid");
+        assertEquals(3, countryCodeStatistics.getNbOfTests());
+        assertEquals(1, countryCodeStatistics.getNbOfFailures());
+    }
+
+    @Test
+    public void testPropertyValuesAreNotCountedAsObjects() {
+        BValidator<Person> validator = new BValidatorManualBuilder<>(Person.class)
+                .forProperty("name", Person::getName)
+                    .addRule("nameDefined", BasicRules::isDefined, "Name must be defined")
+                .end()
+                .forProperty("address", Person::getAddress)
+                    .addRule("addressDefined", BasicRules::isDefined, "Address must be defined")
+                .end()
+                .build();
+        ValidationSummary summary = new ValidationSummary();
+        validator.validate(createPerson("John"), summary);
+
+        assertEquals(1, summary.getNbOfValidations());
+        assertEquals(1, summary.getNbOfInvalidValidations());
+        assertEquals(Map.of(Person.class, 1L), summary.getObjectCounts());
+        assertEquals(1, getStatistics(summary.getRuleStatistics(), "addressDefined").getNbOfFailures());
+    }
+
+    @Test
+    public void testConcurrentFillAndMerge() {
+        ValidationSummary shared = new ValidationSummary();
+        IntStream.range(0, 1000).parallel()
+                .forEach(i -> personValidator.validate(createPerson(i % 10 == 0 ? "" : "John", "+33"), shared));
+        ValidationSummary other = new ValidationSummary();
+        personValidator.validate(createPerson("", "33"), other);
+
+        shared.merge(other);
+
+        assertEquals(1001, shared.getNbOfValidations());
+        assertEquals(101, shared.getNbOfInvalidValidations());
+        assertEquals(101, getStatistics(shared.getRuleStatistics(), "nameValid").getNbOfFailures());
+        assertEquals(1001, getStatistics(shared.getRuleStatistics(), "countryCodeValid").getNbOfTests());
+        assertEquals(1, getStatistics(shared.getRuleStatistics(), "countryCodeValid").getNbOfFailures());
+    }
+
+    private RuleStatistics getStatistics(List<RuleStatistics> statistics, String id) {
+        return statistics.stream().filter(s -> s.getId().equals(id)).findFirst().orElseThrow();
+    }
+
+    private Person createPerson(String name, String... countryCodes) {
+        Phone[] phones = new Phone[countryCodes.length];
+        for (int i = 0; i < countryCodes.length; i++) {
+            phones[i] = new Phone("0123456789", countryCodes[i]);
+        }
+        return new Person(name, null, 35, null, List.of(phones));
+    }
+}
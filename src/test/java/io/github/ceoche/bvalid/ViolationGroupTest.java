@@ -0,0 +1,96 @@
+package io.github.ceoche.bvalid;
+
+import io.github.ceoche.bvalid.mock.Person;
+import io.github.ceoche.bvalid.mock.Phone;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ViolationGroupTest {
+
+    private static BValidator<Person> personValidator;
+
+    @BeforeAll
+    public static void setUp() {
+        personValidator = new BValidatorManualBuilder<>(Person.class)
+                .setBusinessObjectName("person")
+                .addRule("nameValid", Person::isNameValid, "Name must not be empty")
+                .addMember("phones", Person::getPhones, new BValidatorManualBuilder<>(Phone.class)
+                        .addRule("countryCodeValid", Phone::isCountryCodeValid, "Country code must be valid"))
+                .build();
+    }
+
+    @Test
+    public void testRepeatedViolationsAreGrouped() {
+        Person person = createPerson("", "+33", "33", "+33", "33", "33", "33", "33", "33", "+33", "33");
+
+        List<ViolationGroup> groups = personValidator.validateAggregated(person);
+
+        assertEquals(2, groups.size());
+        assertEquals("person", groups.get(0).getPathPattern());
+        assertEquals("nameValid", groups.get(0).getRuleResult().getId());
+        assertEquals(0, groups.get(0).getIndexes().size());
+        ViolationGroup phones = groups.get(1);
+        assertEquals("person.phones[*]", phones.getPathPattern());
+        assertEquals("countryCodeValid", phones.getRuleResult().getId());
+        assertFalse(phones.getRuleResult().isValid());
+        assertEquals(7, phones.getNbOfViolations());
+        assertEquals("1,3-7,9", phones.getIndexes().toString());
+        assertTrue(phones.getIndexes().contains(5));
+        assertFalse(phones.getIndexes().contains(8));
+        assertArrayEquals(new int[]{1, 3, 4, 5, 6, 7, 9}, phones.getIndexes().toArray());
+        assertEquals("person.phones[*] [countryCodeValid] Country code must be valid => invalid (7 element(s): 1,3-7,9)",
+                phones.toString());
+    }
+
+    @Test
+    public void testAggregatedViewMatchesAggregatedStorage() {
+        List<Person> persons = List.of(createPerson("John", "33", "+33"), createPerson("", "33", "33"));
+
+        List<ViolationGroup> stored = personValidator.validateAggregated(persons);
+        List<ObjectResult> results = personValidator.validate(persons);
+
+        assertEquals(3, stored.size());
+        assertEquals("person[0].phones[*]", stored.get(0).getPathPattern());
+        assertEquals("0", stored.get(0).getIndexes().toString());
+        assertEquals("person[*]", stored.get(1).getPathPattern());
+        assertEquals("1", stored.get(1).getIndexes().toString());
+        assertEquals("person[1].phones[*]", stored.get(2).getPathPattern());
+        assertEquals("0-1", stored.get(2).getIndexes().toString());
+        assertEquals(stored.get(0).toString(), results.get(0).getViolationGroups().get(0).toString());
+        assertEquals(stored.subList(1, 3).toString(), results.get(1).getViolationGroups().toString());
+    }
+
+    @Test
+    public void testNamesEndingWithBracketsAreNotIndexes() {
+        BValidator<Person> slotValidator = new BValidatorManualBuilder<>(Person.class)
+                .setBusinessObjectName("slot[7]")
+                .addRule("nameValid", Person::isNameValid, "Name must not be empty")
+                .build();
+        Person person = createPerson("");
+
+        List<ViolationGroup> groups = slotValidator.validate(person).getViolationGroups();
+        assertEquals(1, groups.size());
+        assertEquals("slot[7]", groups.get(0).getPathPattern());
+        assertEquals(0, groups.get(0).getIndexes().size());
+        assertEquals(slotValidator.validateAggregated(person).toString(), groups.toString());
+    }
+
+    @Test
+    public void testValidObjectHasNoViolationGroup() {
+        Person person = createPerson("John", "+33", "+1");
+        assertTrue(personValidator.validateAggregated(person).isEmpty());
+        assertTrue(personValidator.validate(person).getViolationGroups().isEmpty());
+    }
+
+    private Person createPerson(String name, String... countryCodes) {
+        Phone[] phones = new Phone[countryCodes.length];
+        for (int i = 0; i < countryCodes.length; i++) {
+            phones[i] = new Phone("0123456789", countryCodes[i]);
+        }
+        return new Person(name, null, 35, null, List.of(phones));
+    }
+}
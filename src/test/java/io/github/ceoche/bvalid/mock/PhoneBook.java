@@ -0,0 +1,52 @@
+package io.github.ceoche.bvalid.mock;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+public class PhoneBook {
+
+    private final Map<String, Phone> phonesByOwner = new LinkedHashMap<>();
+
+    private final List<List<Phone>> pages = new ArrayList<>();
+
+    private Phone mainPhone;
+
+    public Map<String, Phone> getPhonesByOwner() {
+        return phonesByOwner;
+    }
+
+    public List<List<Phone>> getPages() {
+        return pages;
+    }
+
+    public Optional<Phone> getMainPhone() {
+        return Optional.ofNullable(mainPhone);
+    }
+
+    public Stream<Phone> streamPhones() {
+        return phonesByOwner.values().stream();
+    }
+
+    public Iterable<Phone> getArchive() {
+        return () -> pages.stream().flatMap(List::stream).iterator();
+    }
+
+    public PhoneBook addPhone(String owner, Phone phone) {
+        phonesByOwner.put(owner, phone);
+        return this;
+    }
+
+    public PhoneBook addPage(Phone... phones) {
+        pages.add(List.of(phones));
+        return this;
+    }
+
+    public PhoneBook setMainPhone(Phone mainPhone) {
+        this.mainPhone = mainPhone;
+        return this;
+    }
+}